@@ -0,0 +1,506 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plain-JDK stand-in for k6 where it is not installed: runs the scenarios of the k6 scripts in this directory
+ * with the same stages, request mix and think times, and writes the same k6-<scenario>-<LABEL>.json summaries
+ *   java k6-tests/LoadDriver.java create-booking LABEL=h2 RATE=100 DURATION=1m
+ *   java k6-tests/LoadDriver.java create-booking LABEL=h2 RATE=max VUS=16 DURATION=1m
+ *   java k6-tests/LoadDriver.java spike|load|citizen LABEL=virtual [VUS=2000] [SCALE=0.5]
+ * Each virtual user runs on its own virtual thread; latency is measured from send to the full response.
+ * RATE=max replaces the constant arrival rate with VUS users sending back to back, to find the sustained peak.
+ * SCALE shortens or stretches every stage. With no municipality catalog loaded (the app then accepts any name),
+ * bookings are spread over synthetic names so the 10-per-day capacity limit is not what gets measured.
+ */
+public class LoadDriver {
+
+    private static final Pattern QUOTED = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final int SYNTHETIC_MUNICIPALITIES = 300;
+
+    private final Map<String, String> env;
+    private final String baseUrl;
+    private final double scale;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final Stats stats = new Stats();
+
+    private LoadDriver(Map<String, String> env) {
+        this.env = env;
+        this.baseUrl = env.getOrDefault("BASE_URL", "http://localhost:8080/api");
+        this.scale = Double.parseDouble(env.getOrDefault("SCALE", "1"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: java LoadDriver.java <create-booking|spike|load|citizen> [KEY=value ...]");
+            System.exit(2);
+        }
+        Map<String, String> env = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            env.put(args[i].substring(0, eq), args[i].substring(eq + 1));
+        }
+        LoadDriver driver = new LoadDriver(env);
+        Map<String, Object> summary = switch (args[0]) {
+            case "create-booking" -> driver.createBookingThroughput();
+            case "spike" -> driver.spike();
+            case "load" -> driver.load();
+            case "citizen" -> driver.citizenFanIn();
+            default -> throw new IllegalArgumentException("Unknown scenario " + args[0]);
+        };
+        String json = toJson(summary);
+        System.out.println(json);
+        String label = env.getOrDefault("LABEL", "run");
+        Files.writeString(Path.of("k6-" + args[0] + "-" + label + ".json"), json);
+        System.exit(0);
+    }
+
+    // create-booking-throughput.js: POST /api/bookings with 5 items at a constant arrival rate
+    private Map<String, Object> createBookingThroughput() throws InterruptedException {
+        List<String> municipalities = municipalities();
+        AtomicLong created = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        Runnable iteration = () -> {
+            int status = post("/bookings", bookingJson(pick(municipalities), 2 + random().nextInt(88),
+                    pick(List.of("morning", "afternoon", "evening")), 5, false)).status;
+            if (status == 201) {
+                created.incrementAndGet();
+            } else if (status == 409) {
+                rejected.incrementAndGet();
+            }
+            stats.check(status == 201 || status == 409);
+        };
+
+        Duration duration = scaled(parseDuration(env.getOrDefault("DURATION", "1m")));
+        String rate = env.getOrDefault("RATE", "100");
+        long start = System.nanoTime();
+        if ("max".equals(rate)) {
+            runStages(List.of(new Stage(Duration.ZERO, intEnv("VUS", 50)), new Stage(duration, intEnv("VUS", 50))),
+                    vu -> iteration.run());
+        } else {
+            runArrivalRate(Integer.parseInt(rate), duration, 400, iteration);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", env.getOrDefault("LABEL", "run"));
+        result.put("targetRate", rate);
+        result.put("durationSeconds", seconds);
+        result.put("bookingsCreated", created.get());
+        result.put("bookingsPerSecond", created.get() / seconds);
+        result.put("rejected", rejected.get());
+        result.put("requests", stats.requests.get());
+        result.put("droppedIterations", stats.dropped.get());
+        result.put("p95Ms", stats.percentileMs(95));
+        result.put("p99Ms", stats.percentileMs(99));
+        result.put("errorRate", stats.errorRate());
+        return result;
+    }
+
+    // spike-test.js: 50% create, 30% staff list, 20% dashboard, 0.5 s think time
+    private Map<String, Object> spike() throws InterruptedException {
+        List<String> municipalities = List.of("Porto", "Lisboa", "Coimbra", "Braga", "Faro", "Aveiro", "Setúbal", "Évora");
+        List<Stage> stages = List.of(stage("10s", 10), stage("10s", 100), stage("30s", 100), stage("10s", 10),
+                stage("10s", 0));
+        long start = System.nanoTime();
+        runStages(stages, vu -> {
+            double scenario = random().nextDouble();
+            if (scenario < 0.5) {
+                int status = post("/bookings", bookingJson(pick(municipalities), 30 + random().nextInt(90),
+                        pick(List.of("morning", "afternoon", "evening")), 1, true)).status;
+                stats.check(status == 201 || status == 409);
+            } else if (scenario < 0.8) {
+                stats.check(get("/staff/bookings").status == 200);
+            } else {
+                stats.check(get("/staff/dashboard/summary").status == 200);
+            }
+            sleep(500);
+        });
+        return runSummary(start, stages);
+    }
+
+    // booking-load-test.js: 40% create, 30% staff list, 20% lookup by token, 10% staff transition, 1-3 s think time
+    private Map<String, Object> load() throws InterruptedException {
+        List<String> municipalities = List.of("Porto", "Lisboa", "Coimbra", "Braga", "Faro");
+        List<Stage> stages = List.of(stage("30s", 20), stage("1m", 20), stage("30s", 50), stage("1m", 50),
+                stage("30s", 0));
+        long start = System.nanoTime();
+        runStages(stages, vu -> {
+            int scenario = random().nextInt(100);
+            if (scenario < 40) {
+                Response response = post("/bookings", bookingJson(pick(municipalities), 30 + random().nextInt(60),
+                        pick(List.of("morning", "afternoon", "evening")), 1, false));
+                Matcher token = ACCESS_TOKEN.matcher(response.body);
+                boolean issued = response.status == 201 && token.find();
+                stats.check(issued);
+                if (issued) {
+                    vu.lastToken = token.group(1);
+                }
+            } else if (scenario < 70) {
+                stats.check(get("/staff/bookings").status == 200);
+            } else if (scenario < 90) {
+                String token = vu.lastToken != null ? vu.lastToken : "PORTO-2025-TESTTOKEN";
+                int status = get("/bookings/token/" + token).status;
+                stats.check(status == 200 || status == 404);
+            } else if (vu.lastToken != null) {
+                String operation = pick(List.of("assign", "start", "complete"));
+                int status = put("/staff/bookings/token/" + vu.lastToken + "/" + operation).status;
+                stats.check(status == 200 || status == 400);
+            }
+            sleep(1000 + random().nextInt(2000));
+        });
+        return runSummary(start, stages);
+    }
+
+    // citizen-fan-in.js: VUS citizens checking their bookings, 2% new bookings, 1-3 s think time
+    private Map<String, Object> citizenFanIn() throws InterruptedException {
+        int vus = intEnv("VUS", 2000);
+        List<String> municipalities = municipalities();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Response created = post("/bookings", bookingJson(municipalities.get(i % municipalities.size()),
+                    2 + i % 85, List.of("morning", "afternoon", "evening").get(i % 3), 1, false));
+            Matcher token = ACCESS_TOKEN.matcher(created.body);
+            if (created.status == 201 && token.find()) {
+                tokens.add(token.group(1));
+            }
+        }
+        stats.reset();
+
+        List<Stage> stages = List.of(stage("30s", vus), stage("1m", vus), stage("15s", 0));
+        long start = System.nanoTime();
+        runStages(stages, vu -> {
+            String token = pick(tokens);
+            if (random().nextDouble() < 0.02) {
+                int status = post("/bookings", bookingJson(pick(municipalities), 2 + random().nextInt(85),
+                        pick(List.of("morning", "afternoon", "evening")), 1, false)).status;
+                stats.check(status == 201 || status == 409);
+            } else if (random().nextDouble() < 0.5) {
+                stats.check(get("/bookings/" + token).status == 200);
+            } else {
+                stats.check(get("/bookings/" + token + "/details").status == 200);
+            }
+            sleep(1000 + random().nextInt(2000));
+        });
+        Map<String, Object> result = runSummary(start, stages);
+        result.put("maxVUs", vus);
+        return result;
+    }
+
+    private Map<String, Object> runSummary(long start, List<Stage> stages) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", env.getOrDefault("LABEL", "run"));
+        result.put("requests", stats.requests.get());
+        result.put("requestsPerSecond", stats.requests.get() / seconds);
+        result.put("p95Ms", stats.percentileMs(95));
+        result.put("p99Ms", stats.percentileMs(99));
+        result.put("failedRate", stats.failedRate());
+        result.put("errorRate", stats.errorRate());
+        return result;
+    }
+
+    // ramping-vus: each stage moves the number of users linearly to its target; users past the target stop
+    // after their current iteration, as with k6's graceful ramp-down
+    private void runStages(List<Stage> stages, VuIteration iteration) throws InterruptedException {
+        AtomicInteger target = new AtomicInteger();
+        Map<Integer, Boolean> active = new ConcurrentHashMap<>();
+        ExecutorService users = Executors.newVirtualThreadPerTaskExecutor();
+        long start = System.nanoTime();
+        long end = start + stages.stream().mapToLong(s -> s.duration.toNanos()).sum();
+        while (System.nanoTime() < end) {
+            target.set(targetAt(stages, System.nanoTime() - start));
+            for (int i = 0; i < target.get(); i++) {
+                int index = i;
+                if (active.putIfAbsent(index, Boolean.TRUE) == null) {
+                    users.submit(() -> {
+                        Vu vu = new Vu();
+                        try {
+                            while (index < target.get()) {
+                                iteration.run(vu);
+                            }
+                        } finally {
+                            active.remove(index);
+                        }
+                    });
+                }
+            }
+            Thread.sleep(100);
+        }
+        target.set(0);
+        users.shutdown();
+        users.awaitTermination(30, TimeUnit.SECONDS);
+        users.shutdownNow();
+    }
+
+    private static int targetAt(List<Stage> stages, long elapsedNanos) {
+        int from = stages.get(0).duration.isZero() ? stages.get(0).target : 0;
+        for (Stage stage : stages) {
+            long length = stage.duration.toNanos();
+            if (elapsedNanos < length) {
+                return (int) Math.round(from + (stage.target - from) * (double) elapsedNanos / length);
+            }
+            elapsedNanos -= length;
+            from = stage.target;
+        }
+        return from;
+    }
+
+    // constant-arrival-rate: iterations start on schedule whatever the response times, up to maxVus at once;
+    // iterations that find every user busy are dropped, as k6 does
+    private void runArrivalRate(int rate, Duration duration, int maxVus, Runnable iteration)
+            throws InterruptedException {
+        Semaphore vus = new Semaphore(maxVus);
+        ExecutorService users = Executors.newVirtualThreadPerTaskExecutor();
+        long start = System.nanoTime();
+        long iterations = duration.toNanos() * rate / 1_000_000_000L;
+        for (long i = 0; i < iterations; i++) {
+            long due = start + i * 1_000_000_000L / rate;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            if (!vus.tryAcquire()) {
+                stats.dropped.incrementAndGet();
+                continue;
+            }
+            users.submit(() -> {
+                try {
+                    iteration.run();
+                } finally {
+                    vus.release();
+                }
+            });
+        }
+        users.shutdown();
+        users.awaitTermination(60, TimeUnit.SECONDS);
+    }
+
+    private List<String> municipalities() {
+        List<String> names = new ArrayList<>();
+        Response response = get("/bookings/municipalities");
+        if (response.status == 200) {
+            Matcher matcher = QUOTED.matcher(response.body);
+            while (matcher.find()) {
+                names.add(matcher.group(1));
+            }
+        }
+        if (names.isEmpty()) {
+            for (int i = 1; i <= SYNTHETIC_MUNICIPALITIES; i++) {
+                names.add("Municipality " + i);
+            }
+        }
+        stats.reset();
+        return names;
+    }
+
+    private static String bookingJson(String municipality, int daysAhead, String timeSlot, int items,
+                                      boolean randomItems) {
+        StringBuilder json = new StringBuilder()
+                .append("{\"municipality\":\"").append(municipality)
+                .append("\",\"collectionDate\":\"").append(LocalDate.now().plusDays(daysAhead))
+                .append("\",\"timeSlot\":\"").append(timeSlot).append("\",\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            String name = randomItems ? "Item-" + Long.toString(random().nextLong() & Long.MAX_VALUE, 36).substring(0, 5)
+                    : "Item-" + i;
+            json.append(String.format(Locale.ROOT,
+                    "{\"name\":\"%s\",\"description\":\"Bulk waste item\",\"weight\":%.1f,\"volume\":%.1f}",
+                    name, 10.0 + i, 1.5));
+        }
+        return json.append("]}").toString();
+    }
+
+    private Response get(String path) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    private Response post(String path, String json) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    private Response put(String path) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    // Failed as k6 counts http_req_failed: no response, or a status of 400 or above
+    private Response send(HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(60)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            stats.record(System.nanoTime() - start, response.statusCode() >= 400);
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            stats.record(System.nanoTime() - start, true);
+            return new Response(0, "");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new IOException(e));
+        }
+    }
+
+    private Stage stage(String duration, int target) {
+        return new Stage(scaled(parseDuration(duration)), target);
+    }
+
+    private Duration scaled(Duration duration) {
+        return Duration.ofMillis(Math.round(duration.toMillis() * scale));
+    }
+
+    private int intEnv(String key, int defaultValue) {
+        return Integer.parseInt(env.getOrDefault(key, String.valueOf(defaultValue)));
+    }
+
+    private static Duration parseDuration(String text) {
+        Matcher matcher = Pattern.compile("(\\d+)([hms])").matcher(text);
+        Duration duration = Duration.ZERO;
+        while (matcher.find()) {
+            long amount = Long.parseLong(matcher.group(1));
+            duration = duration.plus(switch (matcher.group(2)) {
+                case "h" -> Duration.ofHours(amount);
+                case "m" -> Duration.ofMinutes(amount);
+                default -> Duration.ofSeconds(amount);
+            });
+        }
+        return duration;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(random().nextInt(values.size()));
+    }
+
+    private static String toJson(Map<String, Object> values) {
+        StringBuilder json = new StringBuilder("{\n");
+        values.forEach((key, value) -> {
+            json.append("  \"").append(key).append("\": ");
+            if (value instanceof String s) {
+                json.append('"').append(s).append('"');
+            } else if (value instanceof Double d) {
+                json.append(String.format(Locale.ROOT, "%.3f", d));
+            } else {
+                json.append(value);
+            }
+            json.append(",\n");
+        });
+        json.setLength(json.length() - 2);
+        return json.append("\n}").toString();
+    }
+
+    private record Stage(Duration duration, int target) {
+    }
+
+    private record Response(int status, String body) {
+    }
+
+    private interface VuIteration {
+        void run(Vu vu);
+    }
+
+    // Per-user state, like a k6 VU's globals
+    private static final class Vu {
+        private String lastToken;
+    }
+
+    private static final class Stats {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong checks = new AtomicLong();
+        private final AtomicLong checkFailures = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private long[] durations = new long[1 << 16];
+        private int count;
+
+        synchronized void record(long nanos, boolean isFailed) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = nanos;
+            requests.incrementAndGet();
+            if (isFailed) {
+                failed.incrementAndGet();
+            }
+        }
+
+        void check(boolean passed) {
+            checks.incrementAndGet();
+            if (!passed) {
+                checkFailures.incrementAndGet();
+            }
+        }
+
+        synchronized void reset() {
+            count = 0;
+            requests.set(0);
+            failed.set(0);
+            checks.set(0);
+            checkFailures.set(0);
+        }
+
+        // Linear interpolation between closest ranks, as k6 computes trend percentiles
+        synchronized double percentileMs(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            double rank = percentile / 100 * (count - 1);
+            int lower = (int) Math.floor(rank);
+            int upper = Math.min(lower + 1, count - 1);
+            double nanos = sorted[lower] + (sorted[upper] - sorted[lower]) * (rank - lower);
+            return nanos / 1_000_000;
+        }
+
+        double failedRate() {
+            return requests.get() == 0 ? 0 : (double) failed.get() / requests.get();
+        }
+
+        double errorRate() {
+            return checks.get() == 0 ? 0 : (double) checkFailures.get() / checks.get();
+        }
+    }
+}
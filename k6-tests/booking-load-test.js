@@ -5,6 +5,9 @@ import { Rate } from 'k6/metrics';
 // Custom metrics
 const errorRate = new Rate('errors');
 
+// Run label, e.g. the thread mode being measured (see compare-thread-modes.sh)
+const LABEL = __ENV.LABEL || 'run';
+
 // Test configuration
 export const options = {
   stages: [
@@ -14,6 +17,7 @@ export const options = {
     { duration: '1m', target: 50 },   // Stay at 50 users for 1 minute
     { duration: '30s', target: 0 },   // Ramp down to 0 users
   ],
+  summaryTrendStats: ['avg', 'p(95)', 'p(99)', 'max'],
   thresholds: {
     http_req_duration: ['p(95)<500', 'p(99)<1000'], // 95% of requests under 500ms, 99% under 1s
     http_req_failed: ['rate<0.1'],  // Less than 10% errors
@@ -171,6 +175,18 @@ export function handleSummary(data) {
   return {
     'stdout': textSummary(data, { indent: ' ', enableColors: true }),
     'k6-test-results.json': JSON.stringify(data),
+    [`k6-load-${LABEL}.json`]: JSON.stringify(runSummary(data), null, 2),
+  };
+}
+
+// Throughput and latency of the whole run, for comparing runs side by side
+function runSummary(data) {
+  return {
+    label: LABEL,
+    requestsPerSecond: data.metrics.http_reqs.values.rate,
+    p95Ms: data.metrics.http_req_duration.values['p(95)'],
+    p99Ms: data.metrics.http_req_duration.values['p(99)'],
+    failedRate: data.metrics.http_req_failed.values.rate,
   };
 }
 
@@ -0,0 +1,92 @@
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Rate } from 'k6/metrics';
+
+// Citizen fan-in: thousands of concurrent citizens checking their bookings, with a trickle of new ones.
+// Measures how many concurrent citizen connections one node sustains in each thread mode:
+//   k6 run -e VUS=2000 -e LABEL=virtual k6-tests/citizen-fan-in.js
+// Results are written to k6-citizen-<LABEL>.json (see compare-thread-modes.sh).
+
+const errorRate = new Rate('errors');
+
+const VUS = parseInt(__ENV.VUS || '2000');
+const LABEL = __ENV.LABEL || 'run';
+const SEED_BOOKINGS = 200;
+
+export const options = {
+  stages: [
+    { duration: '30s', target: VUS },  // Ramp up to the target concurrency
+    { duration: '1m', target: VUS },   // Hold it
+    { duration: '15s', target: 0 },    // Ramp down
+  ],
+  summaryTrendStats: ['avg', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_duration: ['p(99)<2000'],
+    errors: ['rate<0.01'],
+  },
+};
+
+const BASE_URL = 'http://localhost:8080/api';
+
+function bookingRequest(municipality, dayOffset) {
+  const date = new Date();
+  date.setDate(date.getDate() + 2 + (dayOffset % 85));
+  return {
+    municipality: municipality,
+    collectionDate: date.toISOString().split('T')[0],
+    timeSlot: ['morning', 'afternoon', 'evening'][dayOffset % 3],
+    items: [{ name: 'Sofa', description: 'Bulk waste item', weight: 30, volume: 2 }],
+  };
+}
+
+// Tokens the citizens will check, spread over the catalog so capacity limits are not hit
+export function setup() {
+  const response = http.get(`${BASE_URL}/bookings/municipalities`);
+  const municipalities = response.status === 200 ? JSON.parse(response.body) : ['Porto', 'Lisboa', 'Coimbra', 'Braga'];
+  const tokens = [];
+  for (let i = 0; i < SEED_BOOKINGS; i++) {
+    const created = http.post(`${BASE_URL}/bookings`,
+      JSON.stringify(bookingRequest(municipalities[i % municipalities.length], i)),
+      { headers: { 'Content-Type': 'application/json' } });
+    if (created.status === 201) {
+      tokens.push(JSON.parse(created.body).accessToken);
+    }
+  }
+  return { tokens: tokens, municipalities: municipalities };
+}
+
+export default function (data) {
+  const token = data.tokens[Math.floor(Math.random() * data.tokens.length)];
+  let response;
+  if (Math.random() < 0.02) {
+    const municipality = data.municipalities[Math.floor(Math.random() * data.municipalities.length)];
+    response = http.post(`${BASE_URL}/bookings`,
+      JSON.stringify(bookingRequest(municipality, Math.floor(Math.random() * 85))),
+      { headers: { 'Content-Type': 'application/json' }, tags: { name: 'CitizenCreate' } });
+    errorRate.add(!check(response, { 'create: 201 or 409': (r) => r.status === 201 || r.status === 409 }));
+  } else if (Math.random() < 0.5) {
+    response = http.get(`${BASE_URL}/bookings/${token}`, { tags: { name: 'CitizenStatus' } });
+    errorRate.add(!check(response, { 'status: 200': (r) => r.status === 200 }));
+  } else {
+    response = http.get(`${BASE_URL}/bookings/${token}/details`, { tags: { name: 'CitizenDetails' } });
+    errorRate.add(!check(response, { 'details: 200': (r) => r.status === 200 }));
+  }
+
+  // Citizens think between checks, so most connections sit idle most of the time
+  sleep(1 + Math.random() * 2);
+}
+
+export function handleSummary(data) {
+  const result = {
+    label: LABEL,
+    maxVUs: data.metrics.vus_max.values.max,
+    requestsPerSecond: data.metrics.http_reqs.values.rate,
+    p95Ms: data.metrics.http_req_duration.values['p(95)'],
+    p99Ms: data.metrics.http_req_duration.values['p(99)'],
+    failedRate: data.metrics.http_req_failed.values.rate,
+  };
+  return {
+    'stdout': JSON.stringify(result, null, 2) + '\n',
+    [`k6-citizen-${LABEL}.json`]: JSON.stringify(result, null, 2),
+  };
+}
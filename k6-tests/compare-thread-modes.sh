@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Runs the spike, load and citizen fan-in scenarios against the app in platform-thread and virtual-thread mode
+# and prints throughput and latency side by side. Needs jq, and k6 if installed; without k6 the same scenarios
+# run through LoadDriver.java (JDK only), with DRIVER_ARGS passed on (e.g. DRIVER_ARGS="SCALE=0.5 VUS=500").
+# Extra profiles (e.g. postgres) can be passed as the first argument:
+#   mvn -DskipTests package
+#   k6-tests/compare-thread-modes.sh postgres
+# With REACTIVE=1 the citizen scenario also runs against the reactive citizen API, which needs a jar built
+# with -Preactive and PostgreSQL (the spike and load scenarios call staff endpoints, which it does not serve):
+#   mvn -Preactive -DskipTests package
+#   REACTIVE=1 k6-tests/compare-thread-modes.sh postgres
+# Per-run results are kept as k6-<scenario>-<mode>.json in the working directory.
+set -euo pipefail
+
+BASE_PROFILES="${1:-}"
+JAR="$(ls target/zeromonos-*.jar | head -n 1)"
+HEALTH_URL="http://localhost:8080/actuator/health"
+
+run_scenario() {
+  local scenario="$1" mode="$2"
+  if command -v k6 > /dev/null; then
+    k6 run --quiet -e LABEL="$mode" "k6-tests/${scenario}.js"
+    return
+  fi
+  case "$scenario" in
+    spike-test) scenario=spike ;;
+    booking-load-test) scenario=load ;;
+    citizen-fan-in) scenario=citizen ;;
+  esac
+  # shellcheck disable=SC2086
+  java k6-tests/LoadDriver.java "$scenario" LABEL="$mode" ${DRIVER_ARGS:-}
+}
+
+run_mode() {
+  local mode="$1" profiles="$2" scenarios="${3:-spike-test booking-load-test citizen-fan-in}"
+  echo "=== ${mode}: profiles '${profiles}' ==="
+  java -jar "$JAR" --spring.profiles.active="$profiles" > "app-${mode}.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+
+  until curl -sf "$HEALTH_URL" > /dev/null; do
+    kill -0 "$pid" 2>/dev/null || { echo "App failed to start, see app-${mode}.log"; exit 1; }
+    sleep 1
+  done
+
+  for scenario in $scenarios; do
+    run_scenario "$scenario" "$mode"
+  done
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+MODES="platform virtual"
+run_mode platform "${BASE_PROFILES}"
+run_mode virtual "${BASE_PROFILES:+${BASE_PROFILES},}virtual"
+if [ "${REACTIVE:-0}" = 1 ]; then
+  MODES="$MODES reactive"
+  run_mode reactive "${BASE_PROFILES:+${BASE_PROFILES},}reactive" citizen-fan-in
+fi
+
+printf '\n%-8s %-9s %10s %10s %10s %8s\n' scenario mode "req/s" "p95 ms" "p99 ms" "failed"
+for scenario in spike load citizen; do
+  for mode in $MODES; do
+    [ -f "k6-${scenario}-${mode}.json" ] || continue
+    jq -r --arg s "$scenario" --arg m "$mode" \
+      '"\($s)\t\($m)\t\(.requestsPerSecond)\t\(.p95Ms)\t\(.p99Ms)\t\(.failedRate)"' "k6-${scenario}-${mode}.json" |
+      awk -F'\t' '{ printf "%-8s %-9s %10.1f %10.1f %10.1f %7.2f%%\n", $1, $2, $3, $4, $5, $6 * 100 }'
+  done
+done
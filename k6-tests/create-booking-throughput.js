@@ -0,0 +1,103 @@
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter, Rate } from 'k6/metrics';
+
+// Sustained booking-creation throughput (POST /api/bookings with 5 items each).
+// Compare insert batching across databases by running the same script against each profile:
+//   H2:         mvn spring-boot:run
+//   PostgreSQL: mvn spring-boot:run -Dspring-boot.run.profiles=postgres
+//   k6 run -e RATE=200 -e LABEL=h2 k6-tests/create-booking-throughput.js
+// Results are written to k6-create-booking-<LABEL>.json for side-by-side comparison.
+// Without k6, java k6-tests/LoadDriver.java create-booking LABEL=h2 RATE=200 runs the same scenario;
+// measured before/after numbers are in results/create-booking-batching.md.
+
+const created = new Counter('bookings_created');
+const rejected = new Counter('bookings_rejected');
+const errorRate = new Rate('errors');
+
+const RATE = parseInt(__ENV.RATE || '100');
+const DURATION = __ENV.DURATION || '1m';
+const LABEL = __ENV.LABEL || 'run';
+const ITEMS_PER_BOOKING = 5;
+
+export const options = {
+  scenarios: {
+    create_bookings: {
+      executor: 'constant-arrival-rate',
+      rate: RATE,
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 50,
+      maxVUs: 400,
+    },
+  },
+  summaryTrendStats: ['avg', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    http_req_duration: ['p(95)<500'],
+    errors: ['rate<0.01'],
+  },
+};
+
+const BASE_URL = 'http://localhost:8080/api';
+
+// Spread load over the whole catalog so the 10-per-day capacity limit is not what gets measured
+export function setup() {
+  const response = http.get(`${BASE_URL}/bookings/municipalities`);
+  const municipalities = response.status === 200 ? JSON.parse(response.body) : [];
+  return { municipalities: municipalities.length > 0 ? municipalities : ['Porto', 'Lisboa', 'Coimbra', 'Braga'] };
+}
+
+function generateBookingRequest(municipalities) {
+  const futureDate = new Date();
+  futureDate.setDate(futureDate.getDate() + Math.floor(Math.random() * 88) + 2);
+
+  const items = [];
+  for (let i = 0; i < ITEMS_PER_BOOKING; i++) {
+    items.push({ name: `Item-${i}`, description: 'Bulk waste item', weight: 10 + i, volume: 1.5 });
+  }
+
+  return {
+    municipality: municipalities[Math.floor(Math.random() * municipalities.length)],
+    collectionDate: futureDate.toISOString().split('T')[0],
+    timeSlot: ['morning', 'afternoon', 'evening'][Math.floor(Math.random() * 3)],
+    items: items,
+  };
+}
+
+export default function (data) {
+  const response = http.post(`${BASE_URL}/bookings`, JSON.stringify(generateBookingRequest(data.municipalities)), {
+    headers: { 'Content-Type': 'application/json' },
+    tags: { name: 'CreateBooking' },
+  });
+
+  if (response.status === 201) {
+    created.add(1);
+  } else if (response.status === 409) {
+    // Date full: a business rejection, not a failure of the write path
+    rejected.add(1);
+  }
+
+  const ok = check(response, {
+    'create booking: status 201 or 409': (r) => r.status === 201 || r.status === 409,
+  });
+  errorRate.add(!ok);
+}
+
+export function handleSummary(data) {
+  const seconds = data.state.testRunDurationMs / 1000;
+  const result = {
+    label: LABEL,
+    targetRate: RATE,
+    durationSeconds: seconds,
+    bookingsCreated: data.metrics.bookings_created ? data.metrics.bookings_created.values.count : 0,
+    bookingsPerSecond: data.metrics.bookings_created ? data.metrics.bookings_created.values.count / seconds : 0,
+    rejected: data.metrics.bookings_rejected ? data.metrics.bookings_rejected.values.count : 0,
+    p95Ms: data.metrics.http_req_duration.values['p(95)'],
+    p99Ms: data.metrics.http_req_duration.values['p(99)'],
+    errorRate: data.metrics.errors.values.rate,
+  };
+  return {
+    'stdout': JSON.stringify(result, null, 2) + '\n',
+    [`k6-create-booking-${LABEL}.json`]: JSON.stringify(result, null, 2),
+  };
+}
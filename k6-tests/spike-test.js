@@ -5,6 +5,9 @@ import { Rate } from 'k6/metrics';
 // Custom metrics
 const errorRate = new Rate('errors');
 
+// Run label, e.g. the thread mode being measured (see compare-thread-modes.sh)
+const LABEL = __ENV.LABEL || 'run';
+
 // Spike test configuration - quick burst of traffic
 export const options = {
   stages: [
@@ -14,6 +17,7 @@ export const options = {
     { duration: '10s', target: 10 },   // Scale down
     { duration: '10s', target: 0 },    // Ramp down completely
   ],
+  summaryTrendStats: ['avg', 'p(95)', 'p(99)', 'max'],
   thresholds: {
     http_req_duration: ['p(95)<1000', 'p(99)<2000'], // More lenient during spike
     http_req_failed: ['rate<0.2'],  // Allow up to 20% errors during spike
@@ -124,5 +128,17 @@ export function handleSummary(data) {
   
   return {
     'k6-spike-test-results.json': JSON.stringify(data),
+    [`k6-spike-${LABEL}.json`]: JSON.stringify(runSummary(data), null, 2),
+  };
+}
+
+// Throughput and latency of the whole run, for comparing runs side by side
+function runSummary(data) {
+  return {
+    label: LABEL,
+    requestsPerSecond: data.metrics.http_reqs.values.rate,
+    p95Ms: data.metrics.http_req_duration.values['p(95)'],
+    p99Ms: data.metrics.http_req_duration.values['p(99)'],
+    failedRate: data.metrics.http_req_failed.values.rate,
   };
 }
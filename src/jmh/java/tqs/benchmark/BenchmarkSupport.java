@@ -0,0 +1,47 @@
+package tqs.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+
+/**
+ * Shared helpers for the JMH benchmarks
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Services log at DEBUG by default; console output would dominate the measured time
+     */
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    /**
+     * In-memory stand-in for a Spring Data repository interface: only the methods the handler
+     * answers are supported, anything else fails loudly so a benchmark cannot silently measure a no-op
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T fake(Class<T> repositoryType, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            case "equals" -> proxy == args[0];
+                            default -> repositoryType.getSimpleName() + "Fake";
+                        };
+                    }
+                    Object result = handler.invoke(proxy, method, args);
+                    if (result == null && method.getReturnType() != void.class) {
+                        throw new UnsupportedOperationException(method.getName() + " is not faked");
+                    }
+                    return result;
+                });
+    }
+}
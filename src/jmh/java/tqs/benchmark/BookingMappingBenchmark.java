@@ -0,0 +1,74 @@
+package tqs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tqs.boundary.dto.BookingDetailedResponseDTO;
+import tqs.boundary.dto.BulkItemDTO;
+import tqs.data.Booking.Booking;
+import tqs.data.BookingStatus;
+import tqs.data.BulkItem.BulkItem;
+import tqs.data.StatusHistory.StatusHistory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO mapping on every booking response: entity to DTO (with and without sorted history)
+ * and the request items from DTO to entity
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingMappingBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int items;
+
+    @Param({"1", "4", "16"})
+    public int historyEntries;
+
+    private Booking booking;
+    private List<BulkItemDTO> itemDtos;
+
+    @Setup
+    public void setUp() {
+        booking = new Booking("Porto", LocalDate.now().plusDays(5), "morning");
+        booking.setId(1L);
+        booking.getStatusHistories().clear();
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        BookingStatus[] statuses = BookingStatus.values();
+        for (int i = 0; i < historyEntries; i++) {
+            StatusHistory history = new StatusHistory(statuses[i % statuses.length], booking);
+            // Out of order so the sort does real work
+            history.setDatetime(start.plusMinutes((i * 7L) % historyEntries));
+            booking.addStatusHistory(history);
+        }
+
+        itemDtos = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            BulkItem item = new BulkItem("Item " + i, "Bulk waste item", 1.5f, 2.0f);
+            booking.addBulkItem(item);
+            itemDtos.add(new BulkItemDTO("Item " + i, "Bulk waste item", 1.5f, 2.0f));
+        }
+    }
+
+    @Benchmark
+    public BookingDetailedResponseDTO fromEntityWithoutHistory() {
+        return BookingDetailedResponseDTO.fromEntity(booking, false);
+    }
+
+    @Benchmark
+    public BookingDetailedResponseDTO fromEntityWithSortedHistory() {
+        return BookingDetailedResponseDTO.fromEntity(booking);
+    }
+
+    @Benchmark
+    public List<BulkItem> bulkItemsToEntities() {
+        return itemDtos.stream().map(BulkItemDTO::toEntity).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package tqs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tqs.data.Booking.Booking;
+import tqs.data.BookingStatus;
+import tqs.data.state.BookingState;
+import tqs.data.state.BookingStateFactory;
+import tqs.data.state.BookingTransition;
+import tqs.data.state.InvalidStateTransitionException;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State pattern hot path: resolving the state object and walking a booking through its lifecycle
+ * Run with -prof gc: the table-driven transitions should report ~0 B/op (gc.alloc.rate.norm)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BookingStateBenchmark {
+
+    private Booking[] bookingsByStatus;
+    private Booking lifecycleBooking;
+    private BookingState[] states;
+    private BookingTransition[] transitions;
+
+    @Setup
+    public void setUp() {
+        BookingStatus[] statuses = BookingStatus.values();
+        bookingsByStatus = new Booking[statuses.length];
+        for (int i = 0; i < statuses.length; i++) {
+            bookingsByStatus[i] = new Booking("Porto", LocalDate.now().plusDays(5), "morning");
+            bookingsByStatus[i].setCurrentStatus(statuses[i]);
+        }
+        lifecycleBooking = new Booking("Porto", LocalDate.now().plusDays(5), "morning");
+        states = new BookingState[statuses.length];
+        for (int i = 0; i < statuses.length; i++) {
+            states[i] = BookingStateFactory.forStatus(statuses[i]);
+        }
+        transitions = BookingTransition.values();
+    }
+
+    /**
+     * One state lookup per status (divide by BookingStatus.values().length for a single lookup)
+     */
+    @Benchmark
+    public void getStateForEveryStatus(Blackhole blackhole) {
+        for (Booking booking : bookingsByStatus) {
+            blackhole.consume(BookingStateFactory.getState(booking));
+        }
+    }
+
+    /**
+     * RECEIVED -> ASSIGNED -> IN_PROGRESS -> COMPLETED on a reused booking (history reset each time)
+     */
+    @Benchmark
+    public BookingStatus fullLifecycle() {
+        lifecycleBooking.setCurrentStatus(BookingStatus.RECEIVED);
+        lifecycleBooking.getStatusHistories().clear();
+        lifecycleBooking.assign();
+        lifecycleBooking.start();
+        lifecycleBooking.complete();
+        return lifecycleBooking.getCurrentStatus();
+    }
+
+    /**
+     * RECEIVED -> ASSIGNED -> IN_PROGRESS -> COMPLETED on statuses alone, as the services do;
+     * no StatusHistory, so this is the state machine's own cost
+     */
+    @Benchmark
+    public BookingStatus tableLifecycle() {
+        BookingStatus status = BookingStatus.RECEIVED;
+        status = BookingStateFactory.forStatus(status).apply(BookingTransition.ASSIGN);
+        status = BookingStateFactory.forStatus(status).apply(BookingTransition.START);
+        return BookingStateFactory.forStatus(status).apply(BookingTransition.COMPLETE);
+    }
+
+    /**
+     * Every (status, transition) pair, legal or not, through the non-throwing API
+     */
+    @Benchmark
+    public void checkEveryTransition(Blackhole blackhole) {
+        for (BookingState state : states) {
+            for (BookingTransition transition : transitions) {
+                blackhole.consume(state.allows(transition) ? state.apply(transition) : state.rejection(transition));
+            }
+        }
+    }
+
+    /**
+     * An illegal move thrown and caught: the rejection is pre-built and stackless, so nothing is allocated
+     * and no stack is walked
+     */
+    @Benchmark
+    public String rejectedTransition() {
+        try {
+            return states[BookingStatus.COMPLETED.ordinal()].apply(BookingTransition.CANCEL).name();
+        } catch (InvalidStateTransitionException e) {
+            return e.getAttemptedAction();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package tqs.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tqs.data.Booking.BookingRepository;
+import tqs.data.CapacityLedger.CapacityLedger;
+import tqs.data.CapacityLedger.CapacityLedgerRepository;
+import tqs.service.BookingValidationService;
+import tqs.service.CapacityLedgerService;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Capacity reservation before each booking, against in-memory ledgers of growing size
+ * Measures the service logic only: the fakes answer from a HashMap, so no database time is included
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CapacityCheckBenchmark {
+
+    private static final int DAYS = 90;
+
+    // Ledger rows, one per (municipality, date)
+    @Param({"100", "10000", "100000"})
+    public int ledgerRows;
+
+    private BookingValidationService validationService;
+    private String municipality;
+    private LocalDate date;
+
+    private record Slot(String municipality, LocalDate date) {
+    }
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        Map<Slot, CapacityLedger> ledger = new HashMap<>();
+        for (int i = 0; i < ledgerRows; i++) {
+            String name = "Municipality " + (i / DAYS);
+            LocalDate day = firstDay.plusDays(i % DAYS);
+            ledger.put(new Slot(name, day), new CapacityLedger(name, day, i % 10));
+        }
+
+        // reserveSlot answers like the conditional UPDATE but leaves the row as it was, so every
+        // invocation sees the same ledger instead of filling the date after ten calls
+        CapacityLedgerRepository ledgerRepository = BenchmarkSupport.fake(CapacityLedgerRepository.class,
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "existsByMunicipalityAndCollectionDate" ->
+                            ledger.containsKey(new Slot((String) args[0], (LocalDate) args[1]));
+                    case "reserveSlot" -> {
+                        CapacityLedger row = ledger.get(new Slot((String) args[0], (LocalDate) args[1]));
+                        yield row != null && row.getActiveBookings() < (int) args[2] ? 1 : 0;
+                    }
+                    default -> null;
+                });
+        BookingRepository bookingRepository = BenchmarkSupport.fake(BookingRepository.class,
+                (proxy, method, args) -> method.getName().equals("countByMunicipalityAndCollectionDateAndCurrentStatusIn")
+                        ? 0L
+                        : null);
+
+        // JDBC is only used when a ledger row has to be created, which the probed row never needs
+        validationService = new BookingValidationService(
+                new CapacityLedgerService(ledgerRepository, bookingRepository, null));
+
+        // A row in the middle of the ledger, below capacity
+        int probe = ledgerRows / 2 - (ledgerRows / 2) % 10;
+        municipality = "Municipality " + (probe / DAYS);
+        date = firstDay.plusDays(probe % DAYS);
+    }
+
+    @Benchmark
+    public boolean reserveCapacity() {
+        return validationService.reserveCapacity(municipality, date);
+    }
+}
@@ -0,0 +1,53 @@
+package tqs.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.client.RestTemplate;
+import tqs.service.MunicipalityService;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Municipality validation on every booking, against a catalog the size of the real one (308 names)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MunicipalityValidationBenchmark {
+
+    private static final int CATALOG_SIZE = 308;
+
+    @Param({"Setúbal", "setubal", "  SETÚBAL ", "Atlantis"})
+    public String query;
+
+    private MunicipalityService municipalityService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        String[] names = new String[CATALOG_SIZE];
+        for (int i = 0; i < CATALOG_SIZE - 1; i++) {
+            names[i] = "Município " + i;
+        }
+        names[CATALOG_SIZE - 1] = "Setúbal";
+
+        RestTemplate catalogApi = new RestTemplate() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T getForObject(String url, Class<T> responseType, Object... uriVariables) {
+                return (T) names;
+            }
+        };
+        municipalityService = new MunicipalityService(catalogApi, new SimpleMeterRegistry(), "http://catalog.invalid", Duration.ofHours(6));
+        municipalityService.refreshCatalog();
+    }
+
+    @Benchmark
+    public boolean isValidMunicipality() {
+        return municipalityService.isValidMunicipality(query);
+    }
+}
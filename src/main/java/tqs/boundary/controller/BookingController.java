@@ -1,38 +1,58 @@
 package tqs.boundary.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import tqs.boundary.dto.BookingDetailedResponseDTO;
 import tqs.boundary.dto.BookingRequestDTO;
 import tqs.boundary.dto.BulkItemDTO;
+import tqs.boundary.sse.BookingStatusStreamRegistry;
 import tqs.data.Booking.Booking;
+import tqs.data.Booking.BookingStatusSnapshot;
 import tqs.data.BulkItem.BulkItem;
+import tqs.service.BookingMetrics;
 import tqs.service.BookingService;
 import tqs.service.MunicipalityService;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * REST Controller for citizen-facing booking operations
  * Handles booking creation and status checking
+ * Reactive nodes serve the same endpoints from ReactiveBookingController
  */
 @RestController
 @RequestMapping("/api/bookings")
+@Profile("!reactive")
 public class BookingController {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingController.class);
-    private static final String BOOKING_NOT_FOUND = "Booking not found with token: ";
+    static final String BOOKING_NOT_FOUND = "Booking not found with token: ";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final int DEFAULT_SUGGESTIONS = 10;
+    static final int MAX_SUGGESTIONS = 25;
 
     private final BookingService bookingService;
     private final MunicipalityService municipalityService;
+    private final BookingMetrics metrics;
+    private final BookingStatusStreamRegistry statusStreams;
+    private final BookingIdempotencyStore idempotencyStore;
 
-    public BookingController(BookingService bookingService, MunicipalityService municipalityService) {
+    public BookingController(BookingService bookingService, MunicipalityService municipalityService,
+                             BookingMetrics metrics, BookingStatusStreamRegistry statusStreams,
+                             BookingIdempotencyStore idempotencyStore) {
         this.bookingService = bookingService;
         this.municipalityService = municipalityService;
+        this.metrics = metrics;
+        this.statusStreams = statusStreams;
+        this.idempotencyStore = idempotencyStore;
     }
 
     /**
@@ -46,19 +66,45 @@ public class BookingController {
         return ResponseEntity.ok(municipalities);
     }
 
+    /**
+     * Suggest municipalities matching what the user has typed so far (prefix first, then close typos)
+     * GET /api/bookings/municipalities/suggest?q=set&limit=10
+     */
+    @GetMapping("/municipalities/suggest")
+    public ResponseEntity<List<String>> suggestMunicipalities(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(defaultValue = "" + DEFAULT_SUGGESTIONS) int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return ResponseEntity.ok(municipalityService.suggestMunicipalities(query, boundedLimit));
+    }
+
     /**
      * Create a new booking
      * POST /api/bookings
+     * A retry carrying the same Idempotency-Key header gets the original response instead of a second booking;
+     * the same key with a different body is rejected (422). Keys are scoped to the client's address
      */
     @PostMapping
-    public ResponseEntity<BookingDetailedResponseDTO> createBooking(@Valid @RequestBody BookingRequestDTO request) {
+    public ResponseEntity<BookingDetailedResponseDTO> createBooking(
+            @Valid @RequestBody BookingRequestDTO request,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest) {
+        if (idempotencyKey == null) {
+            return create(request);
+        }
+        return idempotencyStore.execute(httpRequest.getRemoteAddr(), idempotencyKey, request, () -> create(request));
+    }
+
+    private ResponseEntity<BookingDetailedResponseDTO> create(BookingRequestDTO request) {
         logger.info("Received booking creation request");
 
-        // Validate municipality
-        if (!municipalityService.isValidMunicipality(request.getMunicipality())) {
-            logger.warn("Invalid municipality in booking request");
-            throw new IllegalArgumentException("Invalid municipality. Please select a valid Portuguese municipality.");
-        }
+        // Validate municipality and store its canonical spelling
+        String municipality = municipalityService.resolveMunicipality(request.getMunicipality())
+                .orElseThrow(() -> {
+                    logger.warn("Invalid municipality in booking request");
+                    metrics.rejectedByMunicipality();
+                    return new IllegalArgumentException("Invalid municipality. Please select a valid Portuguese municipality.");
+                });
 
         // Convert DTOs to entities
         List<BulkItem> items = request.getItems().stream()
@@ -67,7 +113,7 @@ public class BookingController {
 
         // Create booking
         Booking booking = bookingService.createBooking(
-                request.getMunicipality(),
+                municipality,
                 request.getCollectionDate(),
                 request.getTimeSlot(),
                 items
@@ -88,7 +134,7 @@ public class BookingController {
     public ResponseEntity<BookingDetailedResponseDTO> getBookingByToken(@PathVariable String token) {
         logger.debug("Finding booking with token: {}", token);
 
-        Booking booking = bookingService.findByAccessToken(token)
+        Booking booking = bookingService.findByAccessToken(parseToken(token))
                 .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND + token));
 
         // Return without status history (simple view)
@@ -104,13 +150,30 @@ public class BookingController {
     public ResponseEntity<BookingDetailedResponseDTO> getBookingDetails(@PathVariable String token) {
         logger.debug("Finding booking details for token: {}", token);
 
-        Booking booking = bookingService.findByAccessToken(token)
+        Booking booking = bookingService.findByAccessToken(parseToken(token))
                 .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND + token));
 
         BookingDetailedResponseDTO response = BookingDetailedResponseDTO.fromEntity(booking);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Live status of a booking: a "status" event with each new history entry, closed after a final status
+     * A booking that is already completed or cancelled answers 204, which tells EventSource not to reconnect
+     * GET /api/bookings/{token}/stream
+     */
+    @GetMapping("/{token}/stream")
+    public ResponseEntity<SseEmitter> streamBookingStatus(@PathVariable String token) {
+        logger.debug("Opening status stream for token: {}", token);
+
+        BookingStatusSnapshot booking = bookingService.findStatusByAccessToken(parseToken(token))
+                .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND + token));
+        if (booking.currentStatus().isFinal()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(statusStreams.subscribe(booking.id()));
+    }
+
     /**
      * Cancel a booking (changes state to CANCELLED)
      * PUT /api/bookings/{token}/cancel
@@ -119,13 +182,23 @@ public class BookingController {
     public ResponseEntity<BookingDetailedResponseDTO> cancelBooking(@PathVariable String token) {
         logger.info("Received booking cancellation request");
 
-        Booking booking = bookingService.findByAccessToken(token)
-                .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND + token));
-
-        Booking cancelled = bookingService.cancelBooking(booking.getId());
+        Booking cancelled = bookingService.cancelBookingByToken(parseToken(token));
         BookingDetailedResponseDTO response = BookingDetailedResponseDTO.fromEntity(cancelled, false);
 
         logger.info("Booking cancelled successfully");
         return ResponseEntity.ok(response);
     }
+
+    // Tokens are UUIDs from here on; a malformed one is answered like an unknown one, without a lookup
+    static UUID parseToken(String token) {
+        // fromString also takes shortened groups ("1-2-3-4-5"), which no issued token has
+        if (token.length() == 36) {
+            try {
+                return UUID.fromString(token);
+            } catch (IllegalArgumentException e) {
+                logger.debug("Malformed token: {}", token);
+            }
+        }
+        throw new IllegalArgumentException(BOOKING_NOT_FOUND + token);
+    }
 }
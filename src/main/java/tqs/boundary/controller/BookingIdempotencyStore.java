@@ -0,0 +1,258 @@
+package tqs.boundary.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import tqs.boundary.dto.BookingDetailedResponseDTO;
+import tqs.boundary.dto.BookingRequestDTO;
+import tqs.service.BookingMetrics;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Responses to booking requests sent with an Idempotency-Key, so a client retrying after a dropped
+ * connection gets the booking it already made instead of a second one
+ * The first request with a key does the work; duplicates arriving meanwhile wait for its response.
+ * A key is bound to the body it was first sent with, so reusing it for a different booking is rejected.
+ * Keys are scoped to the client that sent them: a response, access token included, is only ever replayed
+ * to the same client, and another client using the same key and body gets a booking of its own.
+ * Failed requests are forgotten so they can be retried. Keys are kept for a fixed time, and the oldest
+ * completed ones are dropped first when the store is full; requests still in flight are never dropped, so
+ * a new key is refused while the store is full of them. Held per instance, like the access token index
+ */
+@Component
+public class BookingIdempotencyStore {
+
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long waitTimeoutMillis;
+    private final BookingMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoTime;
+
+    // Insertion order is expiry order, since every key lives for the same time
+    private final Map<ClientKey, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public BookingIdempotencyStore(@Value("${booking.idempotency.ttl:PT24H}") Duration ttl,
+                                   @Value("${booking.idempotency.max-entries:10000}") int maxEntries,
+                                   @Value("${booking.idempotency.wait-timeout:PT10S}") Duration waitTimeout,
+                                   BookingMetrics metrics,
+                                   ObjectMapper objectMapper) {
+        this(ttl, maxEntries, waitTimeout, metrics, objectMapper, System::nanoTime);
+    }
+
+    BookingIdempotencyStore(Duration ttl, int maxEntries, Duration waitTimeout, BookingMetrics metrics,
+                            ObjectMapper objectMapper, LongSupplier nanoTime) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Runs the request unless the same client already made one with the same key, in which case its
+     * response is returned
+     * @param client identity of the caller (its remote address, the only one an anonymous citizen has)
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws IdempotencyKeyReusedException if the key was first sent with a different body
+     * @throws IllegalStateException if the first request with the key is still running after the wait timeout,
+     * or if the store is full of requests still in flight
+     */
+    public ResponseEntity<BookingDetailedResponseDTO> execute(String client, String key, BookingRequestDTO request,
+                                                              Supplier<ResponseEntity<BookingDetailedResponseDTO>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Invalid Idempotency-Key: must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        ClientKey clientKey = new ClientKey(client, key);
+        byte[] fingerprint = fingerprint(request);
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> response = new CompletableFuture<>();
+        Entry earlier = claim(clientKey, fingerprint, response);
+        if (earlier != null) {
+            if (!MessageDigest.isEqual(earlier.fingerprint(), fingerprint)) {
+                throw new IdempotencyKeyReusedException();
+            }
+            return replay(earlier.response());
+        }
+
+        try {
+            ResponseEntity<BookingDetailedResponseDTO> result = action.get();
+            response.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            release(clientKey, response);
+            response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Same as execute, for callers that must not block (the reactive controller): a duplicate of a request still
+     * in flight gets a future of its response instead of a thread waiting for it, and the action returns a future
+     * @see #execute
+     */
+    public CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> executeAsync(
+            String client, String key, BookingRequestDTO request,
+            Supplier<CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Invalid Idempotency-Key: must be 1 to " + MAX_KEY_LENGTH + " characters"));
+        }
+        ClientKey clientKey = new ClientKey(client, key);
+        byte[] fingerprint = fingerprint(request);
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> response = new CompletableFuture<>();
+        Entry earlier;
+        try {
+            earlier = claim(clientKey, fingerprint, response);
+        } catch (IllegalStateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (earlier != null) {
+            if (!MessageDigest.isEqual(earlier.fingerprint(), fingerprint)) {
+                return CompletableFuture.failedFuture(new IdempotencyKeyReusedException());
+            }
+            // A copy, so the timeout fails this duplicate only and not the shared response
+            return earlier.response().copy()
+                    .orTimeout(waitTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .handle((original, failure) -> {
+                        if (failure != null) {
+                            throw waitFailure(failure instanceof CompletionException ? failure.getCause() : failure);
+                        }
+                        return replayed(original);
+                    });
+        }
+
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error e) {
+            release(clientKey, response);
+            response.completeExceptionally(e);
+            throw e;
+        }
+        return result.whenComplete((created, failure) -> {
+            if (failure != null) {
+                release(clientKey, response);
+                response.completeExceptionally(failure instanceof CompletionException ? failure.getCause() : failure);
+            } else {
+                response.complete(created);
+            }
+        });
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    // Registers the key for this request, or returns the entry of the request that got there first
+    private synchronized Entry claim(ClientKey key, byte[] fingerprint,
+                                     CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> response) {
+        long now = nanoTime.getAsLong();
+        evictOldest(now, Integer.MAX_VALUE);
+        Entry earlier = entries.get(key);
+        if (earlier != null) {
+            return earlier;
+        }
+        if (!evictOldest(now, maxEntries - 1)) {
+            throw new IllegalStateException("Too many requests with an Idempotency-Key in progress, please retry");
+        }
+        entries.put(key, new Entry(fingerprint, response, now + ttlNanos));
+        return null;
+    }
+
+    // Drops expired keys, then the oldest live ones until at most the given number remain
+    // Entries still in flight are skipped: dropping one would let a retry create a second booking
+    // Returns false if in-flight entries alone keep the store above that number
+    private boolean evictOldest(long now, int keep) {
+        Iterator<Entry> oldestFirst = entries.values().iterator();
+        while (oldestFirst.hasNext()) {
+            Entry entry = oldestFirst.next();
+            if (!entry.response().isDone()) {
+                continue;
+            }
+            if (entry.expiresAt() - now > 0 && entries.size() <= keep) {
+                return true;
+            }
+            oldestFirst.remove();
+        }
+        return entries.size() <= keep;
+    }
+
+    private synchronized void release(ClientKey key, CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> response) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.response() == response) {
+            entries.remove(key);
+        }
+    }
+
+    private ResponseEntity<BookingDetailedResponseDTO> replay(
+            CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> earlier) {
+        ResponseEntity<BookingDetailedResponseDTO> original;
+        try {
+            original = earlier.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw waitFailure(e.getCause());
+        } catch (TimeoutException e) {
+            throw waitFailure(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the request with this Idempotency-Key");
+        }
+        return replayed(original);
+    }
+
+    // A duplicate fails the way the first request did, or as still in progress if it timed out waiting
+    private static RuntimeException waitFailure(Throwable failure) {
+        if (failure instanceof TimeoutException) {
+            return new IllegalStateException("A request with this Idempotency-Key is still being processed");
+        }
+        if (failure instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new IllegalStateException("The request with this Idempotency-Key failed", failure);
+    }
+
+    private ResponseEntity<BookingDetailedResponseDTO> replayed(ResponseEntity<BookingDetailedResponseDTO> original) {
+        metrics.replayedCreation();
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+
+    // SHA-256 of the request as JSON (fields in declaration order), so equal bodies give equal fingerprints
+    private byte[] fingerprint(BookingRequestDTO request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint booking request", e);
+        }
+    }
+
+    private record ClientKey(String client, String key) {
+    }
+
+    private record Entry(byte[] fingerprint, CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> response,
+                         long expiresAt) {
+    }
+}
@@ -0,0 +1,86 @@
+package tqs.boundary.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tqs.boundary.dto.RecordingStatusDTO;
+import tqs.service.FlightRecordingService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * REST Controller for staff diagnostics
+ * Starts, stops and downloads a Java Flight Recorder recording (open with JDK Mission Control or `jfr print`)
+ * Servlet nodes only: reactive nodes serve the citizen API alone
+ */
+@RestController
+@RequestMapping("/api/staff/recordings")
+@Profile("!reactive")
+public class FlightRecordingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingController.class);
+
+    private final FlightRecordingService recordingService;
+
+    public FlightRecordingController(FlightRecordingService recordingService) {
+        this.recordingService = recordingService;
+    }
+
+    /**
+     * Status of the current (or last) recording
+     * GET /api/staff/recordings
+     */
+    @GetMapping
+    public ResponseEntity<RecordingStatusDTO> getRecording() {
+        return ResponseEntity.ok(RecordingStatusDTO.fromRecording(recordingService.getCurrent()));
+    }
+
+    /**
+     * Start a recording
+     * POST /api/staff/recordings
+     */
+    @PostMapping
+    public ResponseEntity<RecordingStatusDTO> startRecording() {
+        logger.info("Staff requested a flight recording");
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(RecordingStatusDTO.fromRecording(recordingService.start()));
+    }
+
+    /**
+     * Stop the running recording, keeping its data for download
+     * POST /api/staff/recordings/stop
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<RecordingStatusDTO> stopRecording() {
+        return ResponseEntity.ok(RecordingStatusDTO.fromRecording(recordingService.stop()));
+    }
+
+    /**
+     * Download the recorded data as a .jfr file (works while the recording is still running)
+     * GET /api/staff/recordings/dump
+     */
+    @GetMapping("/dump")
+    public ResponseEntity<StreamingResponseBody> dumpRecording() {
+        Path file = recordingService.dump();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,12 @@
+package tqs.boundary.controller;
+
+/**
+ * Exception thrown when an Idempotency-Key is sent again with a different request body
+ * The client made a new request under an old key; replaying the first response would hide that
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException() {
+        super("This Idempotency-Key was already used for a different booking request", null, false, false);
+    }
+}
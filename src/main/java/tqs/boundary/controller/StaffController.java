@@ -1,48 +1,69 @@
 package tqs.boundary.controller;
 
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import tqs.boundary.dto.BookingDetailedResponseDTO;
+import tqs.boundary.dto.BookingPageDTO;
+import tqs.boundary.dto.BookingSummaryDTO;
+import tqs.boundary.dto.BulkTransitionRequestDTO;
+import tqs.boundary.dto.BulkTransitionResponseDTO;
+import tqs.boundary.sse.SummaryStreamBroadcaster;
 import tqs.data.Booking.Booking;
+import tqs.data.Booking.BookingCursor;
 import tqs.data.BookingStatus;
 import tqs.service.BookingService;
+import tqs.service.BookingSummaryService;
+import tqs.service.BulkTransitionService;
 
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
-import java.util.stream.Collectors;
 
 /**
  * REST Controller for staff operations
  * Handles booking state transitions and listing
+ * Servlet nodes only: reactive nodes serve the citizen API alone
  */
 @RestController
 @RequestMapping("/api/staff/bookings")
+@Profile("!reactive")
 public class StaffController {
 
     private static final Logger logger = LoggerFactory.getLogger(StaffController.class);
 
     private final BookingService bookingService;
+    private final BookingSummaryService summaryService;
+    private final BulkTransitionService bulkTransitionService;
+    private final SummaryStreamBroadcaster summaryStream;
 
-    public StaffController(BookingService bookingService) {
+    public StaffController(BookingService bookingService, BookingSummaryService summaryService,
+                           BulkTransitionService bulkTransitionService, SummaryStreamBroadcaster summaryStream) {
         this.bookingService = bookingService;
+        this.summaryService = summaryService;
+        this.bulkTransitionService = bulkTransitionService;
+        this.summaryStream = summaryStream;
     }
 
     /**
-     * List all bookings
-     * GET /api/staff/bookings
+     * List bookings one keyset page at a time, optionally filtered
+     * GET /api/staff/bookings?municipality=&status=&cursor=&size=
      */
     @GetMapping
-    public ResponseEntity<List<BookingDetailedResponseDTO>> getAllBookings() {
-        logger.debug("Listing all bookings");
-
-        List<BookingDetailedResponseDTO> bookings = bookingService.getAllBookings().stream()
-                .map(b -> BookingDetailedResponseDTO.fromEntity(b, false))
-                .toList();
-
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<BookingPageDTO> getBookings(
+            @RequestParam(required = false) String municipality,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BookingService.DEFAULT_PAGE_SIZE) int size) {
+        logger.debug("Listing bookings (municipality: {}, status: {})", municipality, status);
+
+        Slice<Booking> page = bookingService.getBookingsPage(
+                municipality, status, BookingCursor.decode(cursor), size);
+        return ResponseEntity.ok(BookingPageDTO.fromSlice(page));
     }
 
     /**
@@ -55,9 +76,7 @@ public class StaffController {
 
         // Service methods throw IllegalArgumentException if not found
         // This is caught by GlobalExceptionHandler and returns 404
-        Booking booking = bookingService.getAllBookings().stream()
-                .filter(b -> b.getId().equals(id))
-                .findFirst()
+        Booking booking = bookingService.findBookingDetails(id)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found with ID: " + id));
 
         BookingDetailedResponseDTO response = BookingDetailedResponseDTO.fromEntity(booking);
@@ -69,23 +88,34 @@ public class StaffController {
      * GET /api/staff/bookings/summary
      */
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Object>> getSummary() {
-        logger.debug("Generating bookings summary for dashboard");
-
-        List<Booking> bookings = bookingService.getAllBookings();
+    public ResponseEntity<BookingSummaryDTO> getSummary() {
+        logger.debug("Reading materialized bookings summary for dashboard");
 
-        Map<String, Long> byStatus = bookings.stream()
-                .collect(Collectors.groupingBy(b -> b.getCurrentStatus().name(), Collectors.counting()));
+        BookingSummaryDTO summary = BookingSummaryDTO.fromAggregates(summaryService.getSummary());
+        return ResponseEntity.ok(summary);
+    }
 
-        Map<String, Long> byMunicipality = bookings.stream()
-                .collect(Collectors.groupingBy(Booking::getMunicipality, Collectors.counting()));
+    /**
+     * Live dashboard summary: a "snapshot" event with the full summary, then "delta" events with the
+     * counters that changed, at most one per flush interval
+     * GET /api/staff/bookings/summary/stream
+     */
+    @GetMapping(value = "/summary/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSummary() {
+        logger.debug("Dashboard subscribed to summary stream");
+        return summaryStream.subscribe();
+    }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("total", bookings.size());
-        result.put("byStatus", byStatus);
-        result.put("byMunicipality", byMunicipality);
+    /**
+     * Recompute the dashboard summary from the bookings table (recovery)
+     * POST /api/staff/bookings/summary/rebuild
+     */
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<BookingSummaryDTO> rebuildSummary() {
+        logger.info("Rebuilding bookings summary");
 
-        return ResponseEntity.ok(result);
+        BookingSummaryDTO summary = BookingSummaryDTO.fromAggregates(summaryService.rebuild());
+        return ResponseEntity.ok(summary);
     }
 
     /**
@@ -93,14 +123,11 @@ public class StaffController {
      * GET /api/staff/bookings/municipality/{municipality}
      */
     @GetMapping("/municipality/{municipality}")
-    public ResponseEntity<List<BookingDetailedResponseDTO>> getBookingsByMunicipality(@PathVariable String municipality) {
-        logger.debug("Finding bookings for municipality: {}", municipality);
-
-        List<BookingDetailedResponseDTO> bookings = bookingService.getBookingsByMunicipality(municipality).stream()
-                .map(b -> BookingDetailedResponseDTO.fromEntity(b, false))
-                .toList();
-
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<BookingPageDTO> getBookingsByMunicipality(
+            @PathVariable String municipality,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BookingService.DEFAULT_PAGE_SIZE) int size) {
+        return getBookings(municipality, null, cursor, size);
     }
 
     /**
@@ -108,14 +135,11 @@ public class StaffController {
      * GET /api/staff/bookings/status/{status}
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<BookingDetailedResponseDTO>> getBookingsByStatus(@PathVariable BookingStatus status) {
-        logger.debug("Finding bookings with status: {}", status);
-
-        List<BookingDetailedResponseDTO> bookings = bookingService.getBookingsByStatus(status).stream()
-                .map(b -> BookingDetailedResponseDTO.fromEntity(b, false))
-                .toList();
-
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<BookingPageDTO> getBookingsByStatus(
+            @PathVariable BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BookingService.DEFAULT_PAGE_SIZE) int size) {
+        return getBookings(null, status, cursor, size);
     }
 
     /**
@@ -123,16 +147,12 @@ public class StaffController {
      * GET /api/staff/bookings/municipality/{municipality}/status/{status}
      */
     @GetMapping("/municipality/{municipality}/status/{status}")
-    public ResponseEntity<List<BookingDetailedResponseDTO>> getBookingsByMunicipalityAndStatus(
+    public ResponseEntity<BookingPageDTO> getBookingsByMunicipalityAndStatus(
             @PathVariable String municipality, 
-            @PathVariable BookingStatus status) {
-        logger.debug("Finding bookings for municipality: {} with status: {}", municipality, status);
-
-        List<BookingDetailedResponseDTO> bookings = bookingService.getBookingsByMunicipalityAndStatus(municipality, status).stream()
-                .map(b -> BookingDetailedResponseDTO.fromEntity(b, false))
-                .toList();
-
-        return ResponseEntity.ok(bookings);
+            @PathVariable BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BookingService.DEFAULT_PAGE_SIZE) int size) {
+        return getBookings(municipality, status, cursor, size);
     }
 
     /**
@@ -191,4 +211,23 @@ public class StaffController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Apply many transitions in one request (e.g. assigning a whole day's route)
+     * Each entry succeeds or fails on its own; results come back in request order
+     * POST /api/staff/bookings/transitions
+     */
+    @PostMapping("/transitions")
+    public ResponseEntity<BulkTransitionResponseDTO> applyTransitions(
+            @Valid @RequestBody BulkTransitionRequestDTO request) {
+        logger.info("Applying {} bulk transitions", request.getTransitions().size());
+
+        List<BulkTransitionService.Command> commands = request.getTransitions().stream()
+                .map(item -> new BulkTransitionService.Command(item.getBookingId(), item.getAction()))
+                .toList();
+        BulkTransitionResponseDTO response = BulkTransitionResponseDTO.fromResults(
+                bulkTransitionService.applyAll(commands));
+
+        return ResponseEntity.ok(response);
+    }
 }
@@ -37,7 +37,7 @@ public class BookingDetailedResponseDTO {
         
         BookingDetailedResponseDTO dto = new BookingDetailedResponseDTO();
         dto.setId(booking.getId());
-        dto.setAccessToken(booking.getAccessToken());
+        dto.setAccessToken(booking.getAccessToken().toString());
         dto.setMunicipality(booking.getMunicipality());
         dto.setCollectionDate(booking.getCollectionDate());
         dto.setTimeSlot(booking.getTimeSlot());
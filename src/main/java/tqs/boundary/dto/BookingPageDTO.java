@@ -0,0 +1,81 @@
+package tqs.boundary.dto;
+
+import org.springframework.data.domain.Slice;
+import tqs.data.Booking.Booking;
+import tqs.data.Booking.BookingCursor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a staff booking listing
+ * nextCursor is passed back as ?cursor= to fetch the following page; null on the last page
+ */
+public class BookingPageDTO {
+
+    private List<BookingDetailedResponseDTO> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+
+    // Constructors
+    public BookingPageDTO() {
+    }
+
+    // Static factory method to create DTO from a keyset slice (without status history)
+    public static BookingPageDTO fromSlice(Slice<Booking> slice) {
+        BookingPageDTO dto = new BookingPageDTO();
+        List<Booking> bookings = slice.getContent();
+        dto.setItems(bookings.stream()
+                .map(b -> BookingDetailedResponseDTO.fromEntity(b, false))
+                .toList());
+        dto.setSize(slice.getSize());
+        dto.setHasMore(slice.hasNext());
+        if (slice.hasNext() && !bookings.isEmpty()) {
+            dto.setNextCursor(BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return dto;
+    }
+
+    // Getters and Setters
+    public List<BookingDetailedResponseDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BookingDetailedResponseDTO> items) {
+        this.items = items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingPageDTO{" +
+                "items=" + items +
+                ", size=" + size +
+                ", hasMore=" + hasMore +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package tqs.boundary.dto;
+
+import tqs.data.BookingAggregate.AggregateDimension;
+import tqs.data.BookingAggregate.BookingAggregate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the operations dashboard summary
+ * Booking counts in total, by status and by municipality
+ */
+public class BookingSummaryDTO {
+
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byMunicipality;
+
+    // Constructors
+    public BookingSummaryDTO() {
+        this.byStatus = new HashMap<>();
+        this.byMunicipality = new HashMap<>();
+    }
+
+    // Static factory method to create DTO from the materialized aggregate rows
+    public static BookingSummaryDTO fromAggregates(List<BookingAggregate> aggregates) {
+        BookingSummaryDTO dto = new BookingSummaryDTO();
+        for (BookingAggregate aggregate : aggregates) {
+            if (aggregate.getDimension() == AggregateDimension.STATUS) {
+                dto.byStatus.put(aggregate.getDimensionKey(), aggregate.getBookingCount());
+                // Every booking has exactly one status, so status counts add up to the total
+                dto.total += aggregate.getBookingCount();
+            } else {
+                dto.byMunicipality.put(aggregate.getDimensionKey(), aggregate.getBookingCount());
+            }
+        }
+        return dto;
+    }
+
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, Long> getByMunicipality() {
+        return byMunicipality;
+    }
+
+    public void setByMunicipality(Map<String, Long> byMunicipality) {
+        this.byMunicipality = byMunicipality;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingSummaryDTO{" +
+                "total=" + total +
+                ", byStatus=" + byStatus +
+                ", byMunicipality=" + byMunicipality +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package tqs.boundary.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for applying several booking transitions in one request
+ * Represents what staff SEND to POST /api/staff/bookings/transitions
+ */
+public class BulkTransitionRequestDTO {
+
+    public static final int MAX_TRANSITIONS = 1000;
+
+    @NotEmpty(message = "At least one transition is required")
+    @Size(max = MAX_TRANSITIONS, message = "At most " + MAX_TRANSITIONS + " transitions per request")
+    @Valid
+    private List<TransitionItemDTO> transitions;
+
+    // Constructors
+    public BulkTransitionRequestDTO() {
+    }
+
+    public BulkTransitionRequestDTO(List<TransitionItemDTO> transitions) {
+        this.transitions = transitions;
+    }
+
+    // Getters and Setters
+    public List<TransitionItemDTO> getTransitions() {
+        return transitions;
+    }
+
+    public void setTransitions(List<TransitionItemDTO> transitions) {
+        this.transitions = transitions;
+    }
+}
@@ -0,0 +1,55 @@
+package tqs.boundary.dto;
+
+import tqs.service.BulkTransitionService;
+
+import java.util.List;
+
+/**
+ * DTO for the response of a bulk transition request
+ * results are in the same order as the requested transitions
+ */
+public class BulkTransitionResponseDTO {
+
+    private int succeeded;
+    private int failed;
+    private List<TransitionResultDTO> results;
+
+    // Constructors
+    public BulkTransitionResponseDTO() {
+    }
+
+    // Static factory method to create DTO from service results
+    public static BulkTransitionResponseDTO fromResults(List<BulkTransitionService.Result> results) {
+        BulkTransitionResponseDTO dto = new BulkTransitionResponseDTO();
+        dto.setResults(results.stream().map(TransitionResultDTO::fromResult).toList());
+        int succeeded = (int) results.stream().filter(BulkTransitionService.Result::isSuccess).count();
+        dto.setSucceeded(succeeded);
+        dto.setFailed(results.size() - succeeded);
+        return dto;
+    }
+
+    // Getters and Setters
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<TransitionResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<TransitionResultDTO> results) {
+        this.results = results;
+    }
+}
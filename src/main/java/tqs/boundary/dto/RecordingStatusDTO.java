@@ -0,0 +1,97 @@
+package tqs.boundary.dto;
+
+import jdk.jfr.Recording;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * DTO describing the staff flight recording
+ */
+public class RecordingStatusDTO {
+
+    private long id;
+    private String name;
+    private String state;
+    private Instant startTime;
+    private Instant stopTime;
+    private long elapsedSeconds;
+    private long sizeBytes;
+
+    // Constructors
+    public RecordingStatusDTO() {
+    }
+
+    // Static factory method to create DTO from a JFR recording
+    public static RecordingStatusDTO fromRecording(Recording recording) {
+        RecordingStatusDTO dto = new RecordingStatusDTO();
+        dto.id = recording.getId();
+        dto.name = recording.getName();
+        dto.state = recording.getState().name();
+        dto.startTime = recording.getStartTime();
+        dto.stopTime = recording.getStopTime();
+        if (dto.startTime != null) {
+            Instant end = dto.stopTime != null ? dto.stopTime : Instant.now();
+            dto.elapsedSeconds = Duration.between(dto.startTime, end).toSeconds();
+        }
+        dto.sizeBytes = recording.getSize();
+        return dto;
+    }
+
+    // Getters and Setters
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public Instant getStopTime() {
+        return stopTime;
+    }
+
+    public void setStopTime(Instant stopTime) {
+        this.stopTime = stopTime;
+    }
+
+    public long getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    public void setElapsedSeconds(long elapsedSeconds) {
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+}
@@ -0,0 +1,71 @@
+package tqs.boundary.dto;
+
+import tqs.data.BookingAggregate.BookingAggregate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for one dashboard stream update: the current value of every counter that changed
+ * A counter that dropped to zero is sent as 0, so clients can remove it
+ * Values are absolute rather than increments, so applying an update twice is harmless
+ */
+public class SummaryDeltaDTO {
+
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byMunicipality;
+
+    // Constructors
+    public SummaryDeltaDTO() {
+        this.byStatus = new HashMap<>();
+        this.byMunicipality = new HashMap<>();
+    }
+
+    /**
+     * @param statusRows every status counter (a handful of rows, and the total is their sum)
+     * @param municipalityRows the rows found for the changed municipalities
+     * @param changedMunicipalities the municipalities that changed, including ones with no row left
+     */
+    public static SummaryDeltaDTO fromAggregates(List<BookingAggregate> statusRows,
+                                                 List<BookingAggregate> municipalityRows,
+                                                 Collection<String> changedMunicipalities) {
+        SummaryDeltaDTO dto = new SummaryDeltaDTO();
+        for (BookingAggregate row : statusRows) {
+            dto.byStatus.put(row.getDimensionKey(), row.getBookingCount());
+            dto.total += row.getBookingCount();
+        }
+        changedMunicipalities.forEach(municipality -> dto.byMunicipality.put(municipality, 0L));
+        for (BookingAggregate row : municipalityRows) {
+            dto.byMunicipality.put(row.getDimensionKey(), row.getBookingCount());
+        }
+        return dto;
+    }
+
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, Long> getByMunicipality() {
+        return byMunicipality;
+    }
+
+    public void setByMunicipality(Map<String, Long> byMunicipality) {
+        this.byMunicipality = byMunicipality;
+    }
+}
@@ -0,0 +1,51 @@
+package tqs.boundary.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for one entry of a bulk transition request
+ * action is one of: assign, start, complete, cancel
+ */
+public class TransitionItemDTO {
+
+    @NotNull(message = "Booking id is required")
+    private Long bookingId;
+
+    @NotBlank(message = "Action is required")
+    private String action;
+
+    // Constructors
+    public TransitionItemDTO() {
+    }
+
+    public TransitionItemDTO(Long bookingId, String action) {
+        this.bookingId = bookingId;
+        this.action = action;
+    }
+
+    // Getters and Setters
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    @Override
+    public String toString() {
+        return "TransitionItemDTO{" +
+                "bookingId=" + bookingId +
+                ", action='" + action + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,73 @@
+package tqs.boundary.dto;
+
+import tqs.data.BookingStatus;
+import tqs.service.BulkTransitionService;
+
+/**
+ * DTO for the outcome of one entry of a bulk transition request
+ * On failure, error explains why and status is the booking's current status when known
+ */
+public class TransitionResultDTO {
+
+    private Long bookingId;
+    private String action;
+    private boolean success;
+    private BookingStatus status;
+    private String error;
+
+    // Constructors
+    public TransitionResultDTO() {
+    }
+
+    // Static factory method to create DTO from a service result
+    public static TransitionResultDTO fromResult(BulkTransitionService.Result result) {
+        TransitionResultDTO dto = new TransitionResultDTO();
+        dto.setBookingId(result.bookingId());
+        dto.setAction(result.action());
+        dto.setSuccess(result.isSuccess());
+        dto.setStatus(result.status());
+        dto.setError(result.error());
+        return dto;
+    }
+
+    // Getters and Setters
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,185 @@
+package tqs.boundary.sse;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tqs.boundary.dto.StatusHistoryDTO;
+import tqs.service.BookingStatusChangedEvent;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Per-booking Server-Sent Events channels for citizens watching their booking
+ * Subscriptions are async servlet requests, so an idle one holds no thread, only its entry here;
+ * a transition costs one map lookup, and the writes run on virtual threads so a slow client
+ * never holds up the transaction that published the change
+ * Each stream writes through its own queue, one send at a time, so a client sees the changes in the
+ * order they committed and the stream only closes after the final status has been sent
+ */
+@Component
+public class BookingStatusStreamRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatusStreamRegistry.class);
+
+    static final String STATUS_EVENT = "status";
+
+    private final Supplier<SseEmitter> emitterFactory;
+    private final int maxPerBooking;
+    private final ExecutorService senders;
+
+    private final Map<Long, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @Autowired
+    public BookingStatusStreamRegistry(@Value("${booking.stream.timeout:PT30M}") Duration timeout,
+                                       @Value("${booking.stream.max-per-booking:5}") int maxPerBooking) {
+        this(timeout, maxPerBooking, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    BookingStatusStreamRegistry(Duration timeout, int maxPerBooking, ExecutorService senders) {
+        this(() -> new SseEmitter(timeout.toMillis()), maxPerBooking, senders);
+    }
+
+    BookingStatusStreamRegistry(Supplier<SseEmitter> emitterFactory, int maxPerBooking, ExecutorService senders) {
+        this.emitterFactory = emitterFactory;
+        this.maxPerBooking = maxPerBooking;
+        this.senders = senders;
+    }
+
+    /**
+     * Registers a client for one booking; each later status change arrives as a "status" event
+     * @throws IllegalStateException if the booking already has the maximum number of open streams
+     */
+    public SseEmitter subscribe(Long bookingId) {
+        SseEmitter emitter = emitterFactory.get();
+        Subscription subscription = new Subscription(bookingId, emitter);
+        subscribers.compute(bookingId, (id, subscriptions) -> {
+            Set<Subscription> set = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet(2);
+            if (set.size() >= maxPerBooking) {
+                throw new IllegalStateException("Too many open status streams for this booking");
+            }
+            set.add(subscription);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscription));
+        logger.debug("Status stream opened for booking {} ({} open)", bookingId, subscriberCount.get());
+        return emitter;
+    }
+
+    /**
+     * Sends the new history entry to the booking's subscribers once the transition has committed
+     * A final status closes the streams, since nothing can follow it
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent event) {
+        Set<Subscription> subscriptions = subscribers.get(event.bookingId());
+        if (subscriptions == null) {
+            return;
+        }
+        StatusHistoryDTO entry = new StatusHistoryDTO(event.status().name(), event.datetime());
+        boolean last = event.status().isFinal();
+        for (Subscription subscription : subscriptions) {
+            subscription.send(emitter -> {
+                emitter.send(SseEmitter.event().name(STATUS_EVENT).data(entry, MediaType.APPLICATION_JSON));
+                if (last) {
+                    emitter.complete();
+                }
+            });
+        }
+    }
+
+    /**
+     * Comment line keeping idle connections open through proxies
+     */
+    @Scheduled(fixedDelayString = "${booking.stream.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        subscribers.values().forEach(subscriptions -> subscriptions.forEach(subscription ->
+                subscription.send(emitter -> emitter.send(SseEmitter.event().comment("keep-alive")))));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+    }
+
+    // Empty sets are dropped, so the map only holds bookings someone is watching
+    private void remove(Subscription subscription) {
+        subscribers.computeIfPresent(subscription.bookingId, (id, subscriptions) -> {
+            if (subscriptions.remove(subscription)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Send {
+        void to(SseEmitter emitter) throws IOException;
+    }
+
+    /**
+     * One open stream and its pending writes
+     * Writes are queued and drained by at most one sender task at a time, so they never overlap or reorder
+     */
+    private final class Subscription {
+
+        private final Long bookingId;
+        private final SseEmitter emitter;
+        private final Queue<Send> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscription(Long bookingId, SseEmitter emitter) {
+            this.bookingId = bookingId;
+            this.emitter = emitter;
+        }
+
+        void send(Send send) {
+            pending.add(send);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Send send;
+                while ((send = pending.poll()) != null) {
+                    try {
+                        send.to(emitter);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away (write failed, or the emitter already completed)
+                        remove(this);
+                    }
+                }
+                draining.set(false);
+                // A write queued after the last poll but before the flag cleared still needs a sender
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
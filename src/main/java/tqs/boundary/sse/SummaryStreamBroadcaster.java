@@ -0,0 +1,179 @@
+package tqs.boundary.sse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tqs.boundary.dto.BookingSummaryDTO;
+import tqs.boundary.dto.SummaryDeltaDTO;
+import tqs.data.BookingAggregate.AggregateDimension;
+import tqs.service.BookingSummaryService;
+import tqs.service.SummaryChangedEvent;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes dashboard summary changes to every connected staff dashboard over Server-Sent Events
+ * Committed counter changes are only marked here; a scheduled flush reads the changed counters once
+ * and sends the same serialized update to all clients, so a burst of bookings costs one read and
+ * one event per flush interval however many changes or clients there are
+ */
+@Component
+public class SummaryStreamBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryStreamBroadcaster.class);
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String DELTA_EVENT = "delta";
+
+    private final BookingSummaryService summaryService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final Set<String> changedMunicipalities = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean statusChanged = new AtomicBoolean();
+    private final AtomicBoolean resetPending = new AtomicBoolean();
+
+    public SummaryStreamBroadcaster(BookingSummaryService summaryService,
+                                    ObjectMapper objectMapper,
+                                    @Value("${summary.stream.timeout:PT30M}") Duration timeout) {
+        this.summaryService = summaryService;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Registers a client and sends it the full summary; updates follow as "delta" events
+     * The client is registered before the snapshot is read, so no committed change can fall in between
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+
+        send(emitter, SNAPSHOT_EVENT, serialize(BookingSummaryDTO.fromAggregates(summaryService.getSummary())));
+        logger.debug("Dashboard stream subscribed ({} clients)", emitters.size());
+        return emitter;
+    }
+
+    /**
+     * Marks a counter as changed once its transaction has committed (immediately outside a transaction)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSummaryChanged(SummaryChangedEvent event) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        if (event.isAll()) {
+            resetPending.set(true);
+        } else if (event.dimension() == AggregateDimension.STATUS) {
+            statusChanged.set(true);
+        } else {
+            changedMunicipalities.add(event.key());
+        }
+    }
+
+    /**
+     * Sends at most one update per interval with everything that changed since the last one
+     */
+    @Scheduled(fixedDelayString = "${summary.stream.flush-interval:PT0.25S}")
+    public void flush() {
+        if (emitters.isEmpty()) {
+            resetPending.set(false);
+            statusChanged.set(false);
+            changedMunicipalities.clear();
+            return;
+        }
+
+        // Clear the marks before reading, so a change committed during the read is sent next time
+        if (resetPending.getAndSet(false)) {
+            statusChanged.set(false);
+            changedMunicipalities.clear();
+            broadcast(SNAPSHOT_EVENT, serialize(BookingSummaryDTO.fromAggregates(summaryService.getSummary())));
+            return;
+        }
+        List<String> municipalities = drainChangedMunicipalities();
+        boolean statuses = statusChanged.getAndSet(false);
+        if (!statuses && municipalities.isEmpty()) {
+            return;
+        }
+
+        SummaryDeltaDTO delta = SummaryDeltaDTO.fromAggregates(
+                summaryService.getStatusCounts(),
+                municipalities.isEmpty() ? List.of() : summaryService.getMunicipalityCounts(municipalities),
+                municipalities);
+        broadcast(DELTA_EVENT, serialize(delta));
+    }
+
+    /**
+     * Comment line keeping idle connections open through proxies
+     */
+    @Scheduled(fixedDelayString = "${summary.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                drop(emitter);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    private List<String> drainChangedMunicipalities() {
+        List<String> drained = new ArrayList<>();
+        for (Iterator<String> it = changedMunicipalities.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    private void broadcast(String eventName, String json) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, eventName, json);
+        }
+    }
+
+    private void send(SseEmitter emitter, String eventName, String json) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(json, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away (write failed, or the emitter already completed)
+            drop(emitter);
+        }
+    }
+
+    // The container completes the emitter itself after a failed write; we only stop sending to it
+    private void drop(SseEmitter emitter) {
+        emitters.remove(emitter);
+    }
+
+    private String serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize dashboard update", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package tqs.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps read-only transactions from filling the second-level cache
+ * They read from the replica, so an entity they load may predate a transition the primary has already
+ * committed and evicted; cached, it would then be served until the region expires. They still read the
+ * cache (CacheMode.GET): entries are only ever put by read-write transactions, which use the primary
+ */
+class ReadOnlyCacheModeJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        // Set on every transaction, since open-in-view reuses one session across them
+        entityManager.unwrap(Session.class).setCacheMode(definition.isReadOnly() ? CacheMode.GET : CacheMode.NORMAL);
+        return super.beginTransaction(entityManager, definition);
+    }
+}
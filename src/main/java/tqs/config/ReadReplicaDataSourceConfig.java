@@ -0,0 +1,87 @@
+package tqs.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to a read replica when replica.datasource.url is set
+ * Connections are handed out lazily, so the physical one is picked on first use, once the
+ * transaction's read-only flag is known: read-only ones from the replica pool, the rest from the primary
+ * Read-only transactions then also stop putting entities into the second-level cache (ReadOnlyCacheModeJpaDialect)
+ * Without the property the auto-configured single datasource is used unchanged
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.datasource.url")
+public class ReadReplicaDataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaDataSourceConfig.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.datasource.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primary,
+                                              @Value("${replica.datasource.url}") String url,
+                                              @Value("${replica.datasource.username:}") String username,
+                                              @Value("${replica.datasource.password:}") String password) {
+        // Credentials default to the primary's
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username.isEmpty() ? primary.determineUsername() : username)
+                .password(password.isEmpty() ? primary.determinePassword() : password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        logger.info("Read-only transactions are routed to the read replica");
+        return readWriteRouting(primary, replica);
+    }
+
+    /**
+     * Installs ReadOnlyCacheModeJpaDialect on the entity manager factory, which hands it to the transaction manager
+     */
+    @Bean
+    public static BeanPostProcessor readOnlyCacheModeDialect() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReadOnlyCacheModeJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    static DataSource readWriteRouting(DataSource primary, DataSource replica) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(replica);
+        return routing;
+    }
+}
@@ -3,14 +3,17 @@ package tqs.config;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
 
 /**
  * Configuration for RestTemplate used for external API calls
+ * Reactive nodes use WebClient instead, and have no RestTemplateBuilder
  */
 @Configuration
+@Profile("!reactive")
 public class RestTemplateConfig {
 
     @Bean
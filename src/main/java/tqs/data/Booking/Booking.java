@@ -3,13 +3,21 @@ package tqs.data.Booking;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.type.SqlTypes;
 
 import tqs.data.BookingStatus;
 import tqs.data.BulkItem.BulkItem;
 import tqs.data.StatusHistory.StatusHistory;
 import tqs.data.state.BookingState;
 import tqs.data.state.BookingStateFactory;
+import tqs.data.state.BookingTransition;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -19,13 +27,21 @@ import java.util.UUID;
 
 /**
  * Entity representing a booking for garbage collection service
+ * Held in the second-level cache; status transitions evict it (BookingRepositoryCustomImpl)
  */
 @Entity
 @Table(name = "bookings")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "booking")
+@NaturalIdCache(region = "booking-token")
 public class Booking {
 
+    static final int BATCH_SIZE = 200;
+
+    // Pooled sequence (one nextval per 50 ids) so inserts can be batched; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Municipality is mandatory")
@@ -40,8 +56,11 @@ public class Booking {
     @Column(nullable = false)
     private String timeSlot;
 
+    // Citizen lookups resolve the token through the natural-id cache, then the entity from the entity cache
+    // Stored as a native uuid (16 bytes) rather than its 36-character text form
+    @NaturalId
     @Column(unique = true, nullable = false, updatable = false)
-    private String accessToken;
+    private UUID accessToken;
 
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
@@ -50,24 +69,27 @@ public class Booking {
     @NotNull
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private BookingStatus currentStatus;
 
     @Version
     @Column(nullable = false)
     private Long version = 0L;
 
-    @Transient
-    private BookingState state;
-
+    // Batch fetching: touching one lazy collection loads it for up to BATCH_SIZE loaded bookings at once
     @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = BATCH_SIZE)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "booking-items")
     private List<BulkItem> bulkItems = new ArrayList<>();
 
     @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = BATCH_SIZE)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "booking-history")
     private List<StatusHistory> statusHistories = new ArrayList<>();
 
     // Constructors
     public Booking() {
-        this.accessToken = UUID.randomUUID().toString();
+        this.accessToken = UUID.randomUUID();
         this.currentStatus = BookingStatus.RECEIVED;
         addStatusHistory(new StatusHistory(this.currentStatus, this));
     }
@@ -112,11 +134,11 @@ public class Booking {
         this.timeSlot = timeSlot;
     }
 
-    public String getAccessToken() {
+    public UUID getAccessToken() {
         return accessToken;
     }
 
-    public void setAccessToken(String accessToken) {
+    public void setAccessToken(UUID accessToken) {
         this.accessToken = accessToken;
     }
 
@@ -134,7 +156,6 @@ public class Booking {
 
     public void setCurrentStatus(BookingStatus currentStatus) {
         this.currentStatus = currentStatus;
-        this.state = null; // Reset state to force recreation
     }
 
     public Long getVersion() {
@@ -146,44 +167,30 @@ public class Booking {
     }
 
     private BookingState getState() {
-        if (state == null) {
-            state = BookingStateFactory.getState(this);
-        }
-        return state;
+        return BookingStateFactory.getState(this);
     }
 
-    // State transition methods - delegate to state object
+    // State transition methods - delegate to the (shared) state object
 
     public void assign() {
-        BookingStatus oldStatus = this.currentStatus;
-        getState().assign();
-        if (oldStatus != this.currentStatus) {
-            addStatusHistory(new StatusHistory(this.currentStatus, this));
-        }
+        transition(BookingTransition.ASSIGN);
     }
 
     public void start() {
-        BookingStatus oldStatus = this.currentStatus;
-        getState().start();
-        if (oldStatus != this.currentStatus) {
-            addStatusHistory(new StatusHistory(this.currentStatus, this));
-        }
+        transition(BookingTransition.START);
     }
 
     public void complete() {
-        BookingStatus oldStatus = this.currentStatus;
-        getState().complete();
-        if (oldStatus != this.currentStatus) {
-            addStatusHistory(new StatusHistory(this.currentStatus, this));
-        }
+        transition(BookingTransition.COMPLETE);
     }
 
     public void cancel() {
-        BookingStatus oldStatus = this.currentStatus;
-        getState().cancel();
-        if (oldStatus != this.currentStatus) {
-            addStatusHistory(new StatusHistory(this.currentStatus, this));
-        }
+        transition(BookingTransition.CANCEL);
+    }
+
+    private void transition(BookingTransition transition) {
+        this.currentStatus = getState().apply(transition);
+        addStatusHistory(new StatusHistory(this.currentStatus, this));
     }
 
     public List<BulkItem> getBulkItems() {
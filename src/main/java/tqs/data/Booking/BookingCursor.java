@@ -0,0 +1,43 @@
+package tqs.data.Booking;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (collectionDate, id) ordering of bookings
+ * Travels to clients as an opaque URL-safe token
+ */
+public record BookingCursor(LocalDate collectionDate, Long id) {
+
+    private static final String SEPARATOR = ":";
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getCollectionDate(), booking.getId());
+    }
+
+    public String encode() {
+        String raw = collectionDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token cursor previously returned by {@link #encode()}, or null/blank for the first page
+     * @return the decoded cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static BookingCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new BookingCursor(LocalDate.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token);
+        }
+    }
+}
@@ -1,21 +1,25 @@
 package tqs.data.Booking;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import tqs.data.BookingStatus;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Repository interface for Booking entity
  */
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    
-    Optional<Booking> findByAccessToken(String accessToken);
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
+        BookingRepositoryCustom {
     
     List<Booking> findByMunicipality(String municipality);
     
@@ -26,6 +30,40 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByCollectionDate(LocalDate collectionDate);
     
     List<Booking> findByMunicipalityAndCollectionDate(String municipality, LocalDate collectionDate);
+
+    long countByMunicipalityAndCollectionDateAndCurrentStatusIn(String municipality, LocalDate collectionDate,
+                                                                 Collection<BookingStatus> statuses);
     
-    boolean existsByAccessToken(String accessToken);
+    boolean existsByAccessToken(UUID accessToken);
+
+    // Dashboard aggregate rebuild: rows of [key, count]
+    @Query("SELECT b.currentStatus, COUNT(b) FROM Booking b GROUP BY b.currentStatus")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT b.municipality, COUNT(b) FROM Booking b GROUP BY b.municipality")
+    List<Object[]> countGroupedByMunicipality();
+
+    // Detail fetch plans: both collections are bags, so they are joined in separate queries
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.bulkItems WHERE b.id = :id")
+    Optional<Booking> findWithBulkItemsById(@Param("id") Long id);
+
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.statusHistories WHERE b.id = :id")
+    Optional<Booking> findWithStatusHistoriesById(@Param("id") Long id);
+
+    // List fetch plan: initialises the items of a whole page of already-loaded bookings in one query
+    @Query("SELECT DISTINCT b FROM Booking b LEFT JOIN FETCH b.bulkItems WHERE b.id IN :ids")
+    List<Booking> findWithBulkItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Transition fast path: narrow read, then compare-and-set on (status, version)
+    @Query("SELECT new tqs.data.Booking.BookingStatusSnapshot(b.id, b.currentStatus, b.version, b.municipality, b.collectionDate) "
+            + "FROM Booking b WHERE b.id = :id")
+    Optional<BookingStatusSnapshot> findStatusSnapshotById(@Param("id") Long id);
+
+    @Query("SELECT new tqs.data.Booking.BookingStatusSnapshot(b.id, b.currentStatus, b.version, b.municipality, b.collectionDate) "
+            + "FROM Booking b WHERE b.accessToken = :token")
+    Optional<BookingStatusSnapshot> findStatusSnapshotByAccessToken(@Param("token") UUID token);
+
+    @Query("SELECT new tqs.data.Booking.BookingStatusSnapshot(b.id, b.currentStatus, b.version, b.municipality, b.collectionDate) "
+            + "FROM Booking b WHERE b.id IN :ids")
+    List<BookingStatusSnapshot> findStatusSnapshotsByIdIn(@Param("ids") Collection<Long> ids);
 }
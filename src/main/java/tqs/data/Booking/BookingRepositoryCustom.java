@@ -0,0 +1,29 @@
+package tqs.data.Booking;
+
+import tqs.data.BookingStatus;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Booking repository operations that work with the second-level cache directly
+ */
+public interface BookingRepositoryCustom {
+
+    /**
+     * Looks a booking up by its natural id, so repeated lookups are served from the natural-id and entity caches
+     */
+    Optional<Booking> findByAccessToken(UUID accessToken);
+
+    /**
+     * Moves a booking to the target status only if it is still in the expected status and version
+     * @return 1 if the transition was applied, 0 if another transition got there first
+     */
+    int compareAndSetStatus(Long id, BookingStatus expected, Long version, BookingStatus target);
+
+    /**
+     * Drops the cached state and status history of bookings whose rows were changed outside the entity
+     */
+    void evictFromCache(Collection<Long> bookingIds);
+}
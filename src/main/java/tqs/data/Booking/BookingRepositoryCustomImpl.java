@@ -0,0 +1,79 @@
+package tqs.data.Booking;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import tqs.data.BookingStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache-aware part of BookingRepository
+ * Transitions update the row with plain SQL and evict only the bookings they touched: a JPQL bulk
+ * update would make Hibernate drop the whole Booking region on every transition
+ */
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    static final String COMPARE_AND_SET_SQL =
+            "UPDATE bookings SET current_status = ?, version = version + 1 "
+                    + "WHERE id = ? AND current_status = ? AND version = ?";
+
+    private static final String STATUS_HISTORIES_ROLE = Booking.class.getName() + ".statusHistories";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingRepositoryCustomImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<Booking> findByAccessToken(UUID accessToken) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Booking.class).loadOptional(accessToken);
+    }
+
+    @Override
+    public int compareAndSetStatus(Long id, BookingStatus expected, Long version, BookingStatus target) {
+        // Same contract as a @Modifying(flushAutomatically, clearAutomatically) query
+        entityManager.flush();
+        int updated = jdbcTemplate.update(COMPARE_AND_SET_SQL, target.name(), id, expected.name(), version);
+        entityManager.clear();
+        if (updated == 1) {
+            evictFromCache(List.of(id));
+        }
+        return updated;
+    }
+
+    @Override
+    public void evictFromCache(Collection<Long> bookingIds) {
+        evict(bookingIds);
+        // And again after the transaction ends, in case a concurrent read cached the old row in between
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> ids = List.copyOf(bookingIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(ids);
+                }
+            });
+        }
+    }
+
+    // The new history row is inserted through its own entity, so the cached collection must go too
+    private void evict(Collection<Long> bookingIds) {
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        for (Long id : bookingIds) {
+            cache.evictEntityData(Booking.class, id);
+            cache.evictCollectionData(STATUS_HISTORIES_ROLE, id);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package tqs.data.Booking;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import tqs.data.BookingStatus;
+
+/**
+ * Composable filters for booking listings
+ * Only the filters actually requested end up in the WHERE clause, so each combination can use its own index
+ */
+public final class BookingSpecifications {
+
+    // Stable keyset order: collectionDate first, id as tie-breaker
+    public static final Sort KEYSET_ORDER = Sort.by(Sort.Order.asc("collectionDate"), Sort.Order.asc("id"));
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> hasMunicipality(String municipality) {
+        return (root, query, cb) -> municipality == null ? null : cb.equal(root.get("municipality"), municipality);
+    }
+
+    public static Specification<Booking> hasStatus(BookingStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("currentStatus"), status);
+    }
+
+    /**
+     * Rows strictly after the cursor in {@link #KEYSET_ORDER}
+     */
+    public static Specification<Booking> after(BookingCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            return cb.or(
+                    cb.greaterThan(root.get("collectionDate"), cursor.collectionDate()),
+                    cb.and(
+                            cb.equal(root.get("collectionDate"), cursor.collectionDate()),
+                            cb.greaterThan(root.get("id"), cursor.id())));
+        };
+    }
+}
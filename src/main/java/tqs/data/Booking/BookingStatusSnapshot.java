@@ -0,0 +1,13 @@
+package tqs.data.Booking;
+
+import tqs.data.BookingStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the booking columns a status transition needs
+ * Read with one narrow query instead of loading the entity and its collections
+ */
+public record BookingStatusSnapshot(Long id, BookingStatus currentStatus, Long version,
+                                    String municipality, LocalDate collectionDate) {
+}
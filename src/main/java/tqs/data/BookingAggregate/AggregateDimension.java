@@ -0,0 +1,9 @@
+package tqs.data.BookingAggregate;
+
+/**
+ * Enum representing the dimensions the dashboard counts bookings by
+ */
+public enum AggregateDimension {
+    STATUS,         // Keyed by BookingStatus name
+    MUNICIPALITY    // Keyed by municipality name
+}
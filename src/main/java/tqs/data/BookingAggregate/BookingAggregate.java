@@ -0,0 +1,119 @@
+package tqs.data.BookingAggregate;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Entity holding a materialized booking count for one dashboard dimension value
+ * e.g. (STATUS, "ASSIGNED") or (MUNICIPALITY, "Porto")
+ * A value's count is split over several shard rows; the count is their sum
+ */
+@Entity
+@Table(name = "booking_aggregates",
+        uniqueConstraints = @UniqueConstraint(name = "uk_booking_aggregates_dimension_key_shard",
+                columnNames = {"dimension", "dimension_key", "shard"}))
+public class BookingAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private AggregateDimension dimension;
+
+    @NotBlank
+    @Column(name = "dimension_key", nullable = false)
+    private String dimensionKey;
+
+    @Column(nullable = false)
+    private int shard;
+
+    @Column(nullable = false)
+    private long bookingCount;
+
+    // Constructors
+    public BookingAggregate() {
+    }
+
+    public BookingAggregate(AggregateDimension dimension, String dimensionKey, long bookingCount) {
+        this(dimension, dimensionKey, 0, bookingCount);
+    }
+
+    public BookingAggregate(AggregateDimension dimension, String dimensionKey, int shard, long bookingCount) {
+        this.dimension = dimension;
+        this.dimensionKey = dimensionKey;
+        this.shard = shard;
+        this.bookingCount = bookingCount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public AggregateDimension getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(AggregateDimension dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getDimensionKey() {
+        return dimensionKey;
+    }
+
+    public void setDimensionKey(String dimensionKey) {
+        this.dimensionKey = dimensionKey;
+    }
+
+    public int getShard() {
+        return shard;
+    }
+
+    public void setShard(int shard) {
+        this.shard = shard;
+    }
+
+    public long getBookingCount() {
+        return bookingCount;
+    }
+
+    public void setBookingCount(long bookingCount) {
+        this.bookingCount = bookingCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BookingAggregate)) return false;
+        BookingAggregate that = (BookingAggregate) o;
+        return id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "BookingAggregate{" +
+                "id=" + id +
+                ", dimension=" + dimension +
+                ", dimensionKey='" + dimensionKey + '\'' +
+                ", shard=" + shard +
+                ", bookingCount=" + bookingCount +
+                '}';
+    }
+}
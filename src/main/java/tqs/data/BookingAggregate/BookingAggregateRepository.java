@@ -0,0 +1,51 @@
+package tqs.data.BookingAggregate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for BookingAggregate entity
+ */
+@Repository
+public interface BookingAggregateRepository extends JpaRepository<BookingAggregate, Long> {
+
+    // Counters summed over their shards; the returned aggregates are not managed entities (no id)
+    @Query("SELECT new tqs.data.BookingAggregate.BookingAggregate(a.dimension, a.dimensionKey, SUM(a.bookingCount)) " +
+           "FROM BookingAggregate a " +
+           "GROUP BY a.dimension, a.dimensionKey HAVING SUM(a.bookingCount) > :bookingCount")
+    List<BookingAggregate> findTotalsGreaterThan(@Param("bookingCount") long bookingCount);
+
+    @Query("SELECT new tqs.data.BookingAggregate.BookingAggregate(a.dimension, a.dimensionKey, SUM(a.bookingCount)) " +
+           "FROM BookingAggregate a " +
+           "WHERE a.dimension = :dimension GROUP BY a.dimension, a.dimensionKey")
+    List<BookingAggregate> findTotalsByDimension(@Param("dimension") AggregateDimension dimension);
+
+    @Query("SELECT new tqs.data.BookingAggregate.BookingAggregate(a.dimension, a.dimensionKey, SUM(a.bookingCount)) " +
+           "FROM BookingAggregate a " +
+           "WHERE a.dimension = :dimension AND a.dimensionKey IN :dimensionKeys " +
+           "GROUP BY a.dimension, a.dimensionKey")
+    List<BookingAggregate> findTotalsByDimensionAndDimensionKeyIn(@Param("dimension") AggregateDimension dimension,
+                                                                  @Param("dimensionKeys") Collection<String> dimensionKeys);
+
+    /**
+     * Atomically adds delta to one shard of a counter
+     * @return 1 if the row was updated, 0 if it does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE BookingAggregate a SET a.bookingCount = a.bookingCount + :delta " +
+           "WHERE a.dimension = :dimension AND a.dimensionKey = :dimensionKey AND a.shard = :shard")
+    int addToCount(@Param("dimension") AggregateDimension dimension,
+                   @Param("dimensionKey") String dimensionKey,
+                   @Param("shard") int shard,
+                   @Param("delta") long delta);
+
+    @Modifying
+    @Query("DELETE FROM BookingAggregate a")
+    int deleteAllRows();
+}
@@ -8,5 +8,12 @@ public enum BookingStatus {
     ASSIGNED,       // Booking has been assigned to a worker
     IN_PROGRESS,    // Collection is in progress
     COMPLETED,      // Collection has been completed
-    CANCELLED       // Booking has been cancelled
+    CANCELLED;      // Booking has been cancelled
+
+    /**
+     * Whether no further transition can happen from this status
+     */
+    public boolean isFinal() {
+        return this == COMPLETED || this == CANCELLED;
+    }
 }
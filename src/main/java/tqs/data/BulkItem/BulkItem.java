@@ -6,6 +6,8 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import tqs.data.Booking.Booking;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.validator.constraints.Length;
 
 /**
@@ -13,10 +15,13 @@ import org.hibernate.validator.constraints.Length;
  */
 @Entity
 @Table(name = "bulk_items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bulk-item")
 public class BulkItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bulk_item_seq")
+    @SequenceGenerator(name = "bulk_item_seq", sequenceName = "bulk_items_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Item name is mandatory")
@@ -0,0 +1,99 @@
+package tqs.data.CapacityLedger;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Entity holding the number of active bookings for a municipality on a given collection date
+ * One row per (municipality, collectionDate), updated atomically on admission and release
+ */
+@Entity
+@Table(name = "capacity_ledger",
+        uniqueConstraints = @UniqueConstraint(name = "uk_capacity_ledger_municipality_date",
+                columnNames = {"municipality", "collection_date"}))
+public class CapacityLedger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Municipality is mandatory")
+    @Column(nullable = false)
+    private String municipality;
+
+    @NotNull(message = "Collection date is mandatory")
+    @Column(name = "collection_date", nullable = false)
+    private LocalDate collectionDate;
+
+    @Column(nullable = false)
+    private int activeBookings;
+
+    // Constructors
+    public CapacityLedger() {
+    }
+
+    public CapacityLedger(String municipality, LocalDate collectionDate, int activeBookings) {
+        this.municipality = municipality;
+        this.collectionDate = collectionDate;
+        this.activeBookings = activeBookings;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMunicipality() {
+        return municipality;
+    }
+
+    public void setMunicipality(String municipality) {
+        this.municipality = municipality;
+    }
+
+    public LocalDate getCollectionDate() {
+        return collectionDate;
+    }
+
+    public void setCollectionDate(LocalDate collectionDate) {
+        this.collectionDate = collectionDate;
+    }
+
+    public int getActiveBookings() {
+        return activeBookings;
+    }
+
+    public void setActiveBookings(int activeBookings) {
+        this.activeBookings = activeBookings;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CapacityLedger)) return false;
+        CapacityLedger that = (CapacityLedger) o;
+        return id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CapacityLedger{" +
+                "id=" + id +
+                ", municipality='" + municipality + '\'' +
+                ", collectionDate=" + collectionDate +
+                ", activeBookings=" + activeBookings +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+package tqs.data.CapacityLedger;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Repository interface for CapacityLedger entity
+ */
+@Repository
+public interface CapacityLedgerRepository extends JpaRepository<CapacityLedger, Long> {
+
+    Optional<CapacityLedger> findByMunicipalityAndCollectionDate(String municipality, LocalDate collectionDate);
+
+    boolean existsByMunicipalityAndCollectionDate(String municipality, LocalDate collectionDate);
+
+    /**
+     * Atomically takes one slot if the ledger is still below capacity
+     * @return 1 if the slot was taken, 0 if the ledger is full or missing
+     */
+    @Modifying
+    @Query("UPDATE CapacityLedger c SET c.activeBookings = c.activeBookings + 1 " +
+           "WHERE c.municipality = :municipality AND c.collectionDate = :collectionDate " +
+           "AND c.activeBookings < :capacity")
+    int reserveSlot(@Param("municipality") String municipality,
+                    @Param("collectionDate") LocalDate collectionDate,
+                    @Param("capacity") int capacity);
+
+    /**
+     * Atomically gives back one slot, never going below zero
+     * @return 1 if a slot was released, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE CapacityLedger c SET c.activeBookings = c.activeBookings - 1 " +
+           "WHERE c.municipality = :municipality AND c.collectionDate = :collectionDate " +
+           "AND c.activeBookings > 0")
+    int releaseSlot(@Param("municipality") String municipality,
+                    @Param("collectionDate") LocalDate collectionDate);
+
+    @Modifying
+    @Query("UPDATE CapacityLedger c SET c.activeBookings = " +
+           "CASE WHEN c.activeBookings > :slots THEN c.activeBookings - :slots ELSE 0 END " +
+           "WHERE c.municipality = :municipality AND c.collectionDate = :collectionDate " +
+           "AND c.activeBookings > 0")
+    int releaseSlots(@Param("municipality") String municipality,
+                     @Param("collectionDate") LocalDate collectionDate,
+                     @Param("slots") int slots);
+}
@@ -5,7 +5,11 @@ import jakarta.validation.constraints.NotNull;
 import tqs.data.BookingStatus;
 import tqs.data.Booking.Booking;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
@@ -14,15 +18,19 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "status_history")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "status-history")
 public class StatusHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "status_history_seq")
+    @SequenceGenerator(name = "status_history_seq", sequenceName = "status_history_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Status is mandatory")
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private BookingStatus status;
 
     @CreationTimestamp
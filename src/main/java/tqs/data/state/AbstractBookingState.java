@@ -1,37 +1,61 @@
 package tqs.data.state;
 
-import tqs.data.Booking.Booking;
+import tqs.data.BookingStatus;
 
 /**
  * Abstract base class for all booking states
- * Provides default implementations that throw InvalidStateTransitionException
- * Subclasses override only the transitions they allow
+ * Each state is a row of the transition table: the target status for every allowed transition,
+ * and a pre-built rejection for every other one, both indexed by transition ordinal
+ * Subclasses only declare which transitions they allow
  */
 public abstract class AbstractBookingState implements BookingState {
 
-    protected final Booking booking;
+    private final BookingStatus status;
+    private final BookingStatus[] targets;
+    private final InvalidStateTransitionException[] rejections;
+
+    protected AbstractBookingState(BookingStatus status, BookingTransition... allowed) {
+        this.status = status;
+        BookingTransition[] transitions = BookingTransition.values();
+        this.targets = new BookingStatus[transitions.length];
+        this.rejections = new InvalidStateTransitionException[transitions.length];
+        for (BookingTransition transition : allowed) {
+            targets[transition.ordinal()] = transition.getTarget();
+        }
+        for (BookingTransition transition : transitions) {
+            if (targets[transition.ordinal()] == null) {
+                rejections[transition.ordinal()] =
+                        new InvalidStateTransitionException(getStateName(), transition.getAction());
+            }
+        }
+    }
 
-    protected AbstractBookingState(Booking booking) {
-        this.booking = booking;
+    @Override
+    public BookingStatus getStatus() {
+        return status;
     }
 
     @Override
-    public void assign() {
-        throw new InvalidStateTransitionException(getStateName(), "assign");
+    public boolean allows(BookingTransition transition) {
+        return targets[transition.ordinal()] != null;
     }
 
     @Override
-    public void start() {
-        throw new InvalidStateTransitionException(getStateName(), "start");
+    public BookingStatus apply(BookingTransition transition) {
+        BookingStatus target = targets[transition.ordinal()];
+        if (target == null) {
+            throw rejections[transition.ordinal()];
+        }
+        return target;
     }
 
     @Override
-    public void complete() {
-        throw new InvalidStateTransitionException(getStateName(), "complete");
+    public InvalidStateTransitionException rejection(BookingTransition transition) {
+        return rejections[transition.ordinal()];
     }
 
     @Override
-    public void cancel() {
-        throw new InvalidStateTransitionException(getStateName(), "cancel");
+    public String getStateName() {
+        return status.name();
     }
 }
@@ -1,33 +1,35 @@
 package tqs.data.state;
 
+import tqs.data.BookingStatus;
+
 /**
  * State interface for the State pattern implementation
+ * States are stateless singletons: they describe what can happen from a status,
+ * and the caller stores the resulting status
  */
 public interface BookingState {
 
     /**
-     * Transition to ASSIGNED state
-     * @throws InvalidStateTransitionException if transition is not allowed
+     * The status this state represents
      */
-    void assign();
+    BookingStatus getStatus();
 
     /**
-     * Transition to IN_PROGRESS state
-     * @throws InvalidStateTransitionException if transition is not allowed
+     * Whether the transition is legal from this state
      */
-    void start();
+    boolean allows(BookingTransition transition);
 
     /**
-     * Transition to COMPLETED state
-     * @throws InvalidStateTransitionException if transition is not allowed
+     * Status reached by applying the transition from this state
+     * @throws InvalidStateTransitionException if transition is not allowed (a shared, pre-built instance)
      */
-    void complete();
+    BookingStatus apply(BookingTransition transition);
 
     /**
-     * Transition to CANCELLED state
-     * @throws InvalidStateTransitionException if transition is not allowed
+     * Pre-built rejection for an illegal transition, for callers that report errors without throwing
+     * @return the rejection, or null if the transition is allowed
      */
-    void cancel();
+    InvalidStateTransitionException rejection(BookingTransition transition);
 
     /**
      * Get the name of the current state
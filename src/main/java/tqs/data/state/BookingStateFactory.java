@@ -1,32 +1,53 @@
 package tqs.data.state;
 
+import tqs.data.BookingStatus;
 import tqs.data.Booking.Booking;
 
 /**
- * Factory for creating appropriate BookingState instances based on current status
+ * Factory returning the BookingState for a status
+ * States are stateless, so there is exactly one instance per status and lookups never allocate
  */
 public class BookingStateFactory {
 
+    // Indexed by BookingStatus ordinal
+    private static final BookingState[] STATES = new BookingState[BookingStatus.values().length];
+
+    static {
+        for (BookingStatus status : BookingStatus.values()) {
+            STATES[status.ordinal()] = switch (status) {
+                case RECEIVED -> ReceivedState.INSTANCE;
+                case ASSIGNED -> AssignedState.INSTANCE;
+                case IN_PROGRESS -> InProgressState.INSTANCE;
+                case COMPLETED -> CompletedState.INSTANCE;
+                case CANCELLED -> CancelledState.INSTANCE;
+            };
+        }
+    }
+
     private BookingStateFactory() {
     }
 
     /**
-     * Creates and returns the appropriate state object for the given booking
-     * @param booking the booking to create state for
+     * Returns the state object for the given booking's current status
+     * @param booking the booking to get the state for
      * @return the appropriate BookingState implementation
-     * @throws IllegalArgumentException if status is null or unknown
+     * @throws IllegalArgumentException if booking or status is null
      */
     public static BookingState getState(Booking booking) {
         if (booking == null || booking.getCurrentStatus() == null) {
             throw new IllegalArgumentException("Booking and status cannot be null");
         }
+        return STATES[booking.getCurrentStatus().ordinal()];
+    }
 
-        return switch (booking.getCurrentStatus()) {
-            case RECEIVED -> new ReceivedState(booking);
-            case ASSIGNED -> new AssignedState(booking);
-            case IN_PROGRESS -> new InProgressState(booking);
-            case COMPLETED -> new CompletedState();
-            case CANCELLED -> new CancelledState();
-        };
+    /**
+     * Returns the state object for the given status
+     * @throws IllegalArgumentException if status is null
+     */
+    public static BookingState forStatus(BookingStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        return STATES[status.ordinal()];
     }
 }
@@ -0,0 +1,61 @@
+package tqs.data.state;
+
+import tqs.data.BookingStatus;
+
+import java.util.Optional;
+
+/**
+ * Transitions of the booking state machine, so a transition can be checked and applied
+ * from a status alone without loading the booking entity
+ * Which transitions are legal from which status is declared by the BookingState implementations
+ */
+public enum BookingTransition {
+
+    ASSIGN("assign", BookingStatus.ASSIGNED),
+    START("start", BookingStatus.IN_PROGRESS),
+    COMPLETE("complete", BookingStatus.COMPLETED),
+    CANCEL("cancel", BookingStatus.CANCELLED);
+
+    private final String action;
+    private final BookingStatus target;
+
+    // values() returns a fresh copy on every call
+    private static final BookingTransition[] ALL = values();
+
+    BookingTransition(String action, BookingStatus target) {
+        this.action = action;
+        this.target = target;
+    }
+
+    /**
+     * Looks a transition up by its action name as used in the API paths ("assign", "start", ...)
+     */
+    public static Optional<BookingTransition> fromAction(String action) {
+        for (BookingTransition transition : ALL) {
+            if (transition.action.equalsIgnoreCase(action)) {
+                return Optional.of(transition);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public BookingStatus getTarget() {
+        return target;
+    }
+
+    public boolean isAllowedFrom(BookingStatus status) {
+        return BookingStateFactory.forStatus(status).allows(this);
+    }
+
+    /**
+     * Target status when leaving the given status
+     * @throws InvalidStateTransitionException if the transition is not allowed from that status
+     */
+    public BookingStatus apply(BookingStatus from) {
+        return BookingStateFactory.forStatus(from).apply(this);
+    }
+}
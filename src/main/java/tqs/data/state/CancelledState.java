@@ -1,17 +1,16 @@
 package tqs.data.state;
 
+import tqs.data.BookingStatus;
+
 /**
  * State representing a cancelled booking
  * No transitions allowed (terminal state)
  */
-public class CancelledState extends AbstractBookingState {
+public final class CancelledState extends AbstractBookingState {
 
-    public CancelledState() {
-        super(null); // Terminal state doesn't need booking reference
-    }
+    public static final CancelledState INSTANCE = new CancelledState();
 
-    @Override
-    public String getStateName() {
-        return "CANCELLED";
+    private CancelledState() {
+        super(BookingStatus.CANCELLED);
     }
 }
@@ -1,17 +1,16 @@
 package tqs.data.state;
 
+import tqs.data.BookingStatus;
+
 /**
  * State representing a completed booking
  * No transitions allowed (terminal state)
  */
-public class CompletedState extends AbstractBookingState {
+public final class CompletedState extends AbstractBookingState {
 
-    public CompletedState() {
-        super(null); // Terminal state doesn't need booking reference
-    }
+    public static final CompletedState INSTANCE = new CompletedState();
 
-    @Override
-    public String getStateName() {
-        return "COMPLETED";
+    private CompletedState() {
+        super(BookingStatus.COMPLETED);
     }
 }
@@ -1,32 +1,16 @@
 package tqs.data.state;
 
 import tqs.data.BookingStatus;
-import tqs.data.Booking.Booking;
 
 /**
  * State representing a booking that is currently being collected
- * Valid transitions: COMPLETED, CANCELLED
+ * Valid transitions: COMPLETED, CANCELLED (e.g., emergency cancellation)
  */
-public class InProgressState extends AbstractBookingState {
+public final class InProgressState extends AbstractBookingState {
 
-    public InProgressState(Booking booking) {
-        super(booking);
-    }
-
-    @Override
-    public void complete() {
-        // Valid transition: IN_PROGRESS -> COMPLETED
-        booking.setCurrentStatus(BookingStatus.COMPLETED);
-    }
-
-    @Override
-    public void cancel() {
-        // Valid transition: IN_PROGRESS -> CANCELLED (e.g., emergency cancellation)
-        booking.setCurrentStatus(BookingStatus.CANCELLED);
-    }
+    public static final InProgressState INSTANCE = new InProgressState();
 
-    @Override
-    public String getStateName() {
-        return "IN_PROGRESS";
+    private InProgressState() {
+        super(BookingStatus.IN_PROGRESS, BookingTransition.COMPLETE, BookingTransition.CANCEL);
     }
 }
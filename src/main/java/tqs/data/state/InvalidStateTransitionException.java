@@ -2,6 +2,8 @@ package tqs.data.state;
 
 /**
  * Exception thrown when an invalid state transition is attempted
+ * An illegal move is an expected business outcome, not a bug, so no stack trace is captured;
+ * the states throw one pre-built instance per (state, action) pair
  */
 public class InvalidStateTransitionException extends RuntimeException {
 
@@ -9,7 +11,8 @@ public class InvalidStateTransitionException extends RuntimeException {
     private final String attemptedAction;
 
     public InvalidStateTransitionException(String currentState, String attemptedAction) {
-        super(String.format("Cannot perform action '%s' in state '%s'", attemptedAction, currentState));
+        super(String.format("Cannot perform action '%s' in state '%s'", attemptedAction, currentState),
+                null, false, false);
         this.currentState = currentState;
         this.attemptedAction = attemptedAction;
     }
@@ -0,0 +1,169 @@
+package tqs.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory cache from access tokens to booking ids, so token lookups go to the database by primary key
+ * Built from a scan of the bookings table once the application is ready, then kept up to date with the
+ * bookings this instance creates, as they commit. It only knows this instance's view of the table, so it
+ * never answers that a token does not exist: tokens it does not know are looked up by token
+ */
+@Component
+public class AccessTokenIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessTokenIndex.class);
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM bookings";
+    private static final String SCAN_SQL = "SELECT id, access_token FROM bookings";
+    // Rows per round trip, so the scan never holds the whole table in the driver
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Null until the first build
+    private volatile TokenTable table;
+    // Bookings added before or during a scan, replayed into the new table; null once built and not rebuilding.
+    // Collecting from the start covers bookings created before the first build whose commit the scan misses
+    private List<Entry> addedDuringRebuild = new ArrayList<>();
+
+    public AccessTokenIndex(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${booking.token-index.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Read-write on purpose: a lagging read replica could miss the newest bookings
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces the index with a fresh scan of the bookings table
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            if (addedDuringRebuild == null) {
+                addedDuringRebuild = new ArrayList<>();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TokenTable fresh = null;
+        try {
+            fresh = transactionTemplate.execute(status -> scan());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (fresh != null) {
+                    for (Entry entry : addedDuringRebuild) {
+                        fresh.put(entry.high(), entry.low(), entry.bookingId());
+                    }
+                    table = fresh;
+                }
+                // A failed first build keeps collecting for the next attempt
+                if (table != null) {
+                    addedDuringRebuild = null;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.info("Indexed {} access tokens in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Whether lookups can be answered from the index
+     */
+    public boolean isReady() {
+        return table != null;
+    }
+
+    /**
+     * Booking id for a token; empty if the index does not know it, which does not mean it was never issued
+     * Never waits: while a booking is being added or a rebuild swapped in, it answers empty and the caller
+     * queries by token, so it is safe to call from an event loop
+     */
+    public OptionalLong find(UUID accessToken) {
+        if (!lock.readLock().tryLock()) {
+            return OptionalLong.empty();
+        }
+        try {
+            long id = table == null ? 0
+                    : table.get(accessToken.getMostSignificantBits(), accessToken.getLeastSignificantBits());
+            return id == 0 ? OptionalLong.empty() : OptionalLong.of(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a booking once the transaction that created it has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokenIssued(AccessTokenIssuedEvent event) {
+        add(event.accessToken(), event.bookingId());
+    }
+
+    public void add(UUID accessToken, Long bookingId) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = new Entry(accessToken.getMostSignificantBits(), accessToken.getLeastSignificantBits(), bookingId);
+        lock.writeLock().lock();
+        try {
+            if (table != null) {
+                table.put(entry.high(), entry.low(), entry.bookingId());
+            }
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private TokenTable scan() {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        TokenTable fresh = new TokenTable(count == null ? 0 : (int) Math.min(count, Integer.MAX_VALUE));
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(SCAN_SQL);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            UUID token = rs.getObject(2, UUID.class);
+            fresh.put(token.getMostSignificantBits(), token.getLeastSignificantBits(), rs.getLong(1));
+        });
+        return fresh;
+    }
+
+    private record Entry(long high, long low, long bookingId) {
+    }
+}
@@ -0,0 +1,9 @@
+package tqs.service;
+
+import java.util.UUID;
+
+/**
+ * Application event: a booking was created with this access token
+ */
+public record AccessTokenIssuedEvent(UUID accessToken, Long bookingId) {
+}
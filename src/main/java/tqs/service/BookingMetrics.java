@@ -0,0 +1,78 @@
+package tqs.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import tqs.data.state.BookingTransition;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Business counters for the booking lifecycle, exported with the HTTP timers at /actuator/prometheus
+ * Meters are registered once here, so recording is a plain increment on the request path
+ */
+@Component
+public class BookingMetrics {
+
+    // Not ".created": Prometheus reserves the _created suffix and would drop it
+    public static final String BOOKINGS_CREATED = "zeromonos.bookings.accepted";
+    public static final String BOOKINGS_REJECTED = "zeromonos.bookings.rejected";
+    public static final String BOOKING_TRANSITIONS = "zeromonos.booking.transitions";
+    public static final String REPLAYED_CREATIONS = "zeromonos.bookings.replayed";
+
+    private final Counter created;
+    private final Counter rejectedByCapacity;
+    private final Counter rejectedByMunicipality;
+    private final Counter replayedCreations;
+    private final Map<BookingTransition, Counter> transitions = new EnumMap<>(BookingTransition.class);
+
+    public BookingMetrics(MeterRegistry registry) {
+        this.created = Counter.builder(BOOKINGS_CREATED)
+                .description("Bookings successfully created")
+                .register(registry);
+        this.rejectedByCapacity = rejected(registry, "capacity");
+        this.rejectedByMunicipality = rejected(registry, "municipality");
+        this.replayedCreations = Counter.builder(REPLAYED_CREATIONS)
+                .description("Booking requests answered from an earlier request with the same Idempotency-Key")
+                .register(registry);
+        for (BookingTransition transition : BookingTransition.values()) {
+            transitions.put(transition, Counter.builder(BOOKING_TRANSITIONS)
+                    .description("Booking state transitions applied")
+                    .tag("action", transition.getAction())
+                    .tag("target", transition.getTarget().name())
+                    .register(registry));
+        }
+    }
+
+    public void bookingCreated() {
+        created.increment();
+    }
+
+    public void rejectedByCapacity() {
+        rejectedByCapacity.increment();
+    }
+
+    public void rejectedByMunicipality() {
+        rejectedByMunicipality.increment();
+    }
+
+    public void replayedCreation() {
+        replayedCreations.increment();
+    }
+
+    public void transitionApplied(BookingTransition transition) {
+        transitionsApplied(transition, 1);
+    }
+
+    public void transitionsApplied(BookingTransition transition, long count) {
+        transitions.get(transition).increment(count);
+    }
+
+    private static Counter rejected(MeterRegistry registry, String reason) {
+        return Counter.builder(BOOKINGS_REJECTED)
+                .description("Booking requests rejected before anything was stored")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
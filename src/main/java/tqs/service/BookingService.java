@@ -2,42 +2,81 @@ package tqs.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tqs.data.Booking.Booking;
+import tqs.data.Booking.BookingCursor;
+import tqs.data.Booking.BookingSpecifications;
 import tqs.data.Booking.BookingRepository;
+import tqs.data.Booking.BookingStatusSnapshot;
 import tqs.data.BookingStatus;
 import tqs.data.BulkItem.BulkItem;
+import tqs.data.StatusHistory.StatusHistory;
 import tqs.data.StatusHistory.StatusHistoryRepository;
+import tqs.data.state.BookingTransition;
+import tqs.service.jfr.BookingCreatedEvent;
+import tqs.service.jfr.BookingTransitionEvent;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongFunction;
 
 /**
  * Service responsible for orchestrating booking operations
  * This service orchestrates business logic, delegates validation to BookingValidationService
+ * Query methods run in read-only transactions: no flush, no entity snapshots, and the read replica when configured
  */
 @Service
 @Transactional
 public class BookingService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
+    private static final String BOOKING_NOT_FOUND = "Booking not found with id: ";
+
+    // Listing page sizes
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
 
     private final BookingRepository bookingRepository;
     private final StatusHistoryRepository statusHistoryRepository;
     private final BookingValidationService validationService;
+    private final CapacityLedgerService capacityLedgerService;
+    private final BookingSummaryService summaryService;
+    private final BookingMetrics metrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccessTokenIndex tokenIndex;
 
     public BookingService(BookingRepository bookingRepository,
                           StatusHistoryRepository statusHistoryRepository,
-                          BookingValidationService validationService) {
+                          BookingValidationService validationService,
+                          CapacityLedgerService capacityLedgerService,
+                          BookingSummaryService summaryService,
+                          BookingMetrics metrics,
+                          ApplicationEventPublisher eventPublisher,
+                          AccessTokenIndex tokenIndex) {
         this.bookingRepository = bookingRepository;
         this.statusHistoryRepository = statusHistoryRepository;
         this.validationService = validationService;
+        this.capacityLedgerService = capacityLedgerService;
+        this.summaryService = summaryService;
+        this.metrics = metrics;
+        this.eventPublisher = eventPublisher;
+        this.tokenIndex = tokenIndex;
     }
 
     public Booking createBooking(String municipality, LocalDate collectionDate, String timeSlot, List<BulkItem> items) {
         logger.info("Creating booking for a specific municipality and date");
+        BookingCreatedEvent event = new BookingCreatedEvent();
+        event.begin();
 
         // Validate items (must have at least one)
         if (!validationService.validateBulkItems(items)) {
@@ -51,9 +90,10 @@ public class BookingService {
             throw new IllegalArgumentException("Collection date must be at least 1 day in the future and within 90 days");
         }
 
-        // Check capacity
-        if (!validationService.canAcceptBooking(municipality, collectionDate)) {
+        // Reserve capacity (rolled back with the booking if the save fails)
+        if (!validationService.reserveCapacity(municipality, collectionDate)) {
             logger.warn("Capacity exceeded for municipality on the specified date");
+            metrics.rejectedByCapacity();
             throw new IllegalStateException("Municipality has reached booking capacity for this date");
         }
 
@@ -64,24 +104,61 @@ public class BookingService {
         items.forEach(booking::addBulkItem);
 
         Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new AccessTokenIssuedEvent(saved.getAccessToken(), saved.getId()));
+        summaryService.recordCreated(saved.getMunicipality());
+        metrics.bookingCreated();
         logger.info("Booking created with token: {}", saved.getAccessToken());
+
+        if (event.shouldCommit()) {
+            event.bookingId = saved.getId();
+            event.municipality = saved.getMunicipality();
+            event.itemCount = items.size();
+            event.commit();
+        }
         
         return saved;
     }
 
 
-    public Optional<Booking> findByAccessToken(String accessToken) {
+    @Transactional(readOnly = true)
+    public Optional<Booking> findByAccessToken(UUID accessToken) {
         logger.debug("Finding booking by token: {}", accessToken);
-        return bookingRepository.findByAccessToken(accessToken);
+        return byToken(accessToken, bookingRepository::findByAccessToken, bookingRepository::findById);
+    }
+
+
+    /**
+     * Id and current status for a token, without loading the entity (status stream subscriptions)
+     */
+    @Transactional(readOnly = true)
+    public Optional<BookingStatusSnapshot> findStatusByAccessToken(UUID accessToken) {
+        logger.debug("Finding booking status by token: {}", accessToken);
+        return byToken(accessToken, bookingRepository::findStatusSnapshotByAccessToken,
+                bookingRepository::findStatusSnapshotById);
+    }
+
+ 
+    /**
+     * Loads one booking by id with its items and status history initialised
+     * Two primary-key queries regardless of table size (the second reuses the managed entity)
+     */
+    @Transactional(readOnly = true)
+    public Optional<Booking> findBookingDetails(Long bookingId) {
+        logger.debug("Finding booking details for id: {}", bookingId);
+        Optional<Booking> booking = bookingRepository.findWithBulkItemsById(bookingId);
+        booking.ifPresent(b -> bookingRepository.findWithStatusHistoriesById(bookingId));
+        return booking;
     }
 
  
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByMunicipality(String municipality) {
         logger.debug("Finding bookings for municipality: {}", municipality);
         return bookingRepository.findByMunicipality(municipality);
     }
 
 
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByMunicipalityAndStatus(String municipality, BookingStatus status) {
         logger.debug("Finding bookings for municipality: {} with status: {}", municipality, status);
         return bookingRepository.findByMunicipalityAndCurrentStatus(municipality, status);
@@ -90,50 +167,137 @@ public class BookingService {
 
     public Booking assignBooking(Long bookingId) {
         logger.info("Assigning booking: {}", bookingId);
-        Booking booking = getBookingOrThrow(bookingId);
-        booking.assign();
-        return bookingRepository.save(booking);
+        return transition(getSnapshotOrThrow(bookingId), BookingTransition.ASSIGN);
     }
 
 
     public Booking startBooking(Long bookingId) {
         logger.info("Starting booking: {}", bookingId);
-        Booking booking = getBookingOrThrow(bookingId);
-        booking.start();
-        return bookingRepository.save(booking);
+        return transition(getSnapshotOrThrow(bookingId), BookingTransition.START);
     }
 
 
     public Booking completeBooking(Long bookingId) {
         logger.info("Completing booking: {}", bookingId);
-        Booking booking = getBookingOrThrow(bookingId);
-        booking.complete();
-        return bookingRepository.save(booking);
+        return transition(getSnapshotOrThrow(bookingId), BookingTransition.COMPLETE);
     }
 
 
     public Booking cancelBooking(Long bookingId) {
         logger.info("Cancelling booking: {}", bookingId);
-        Booking booking = getBookingOrThrow(bookingId);
-        booking.cancel();
-        return bookingRepository.save(booking);
+        return transition(getSnapshotOrThrow(bookingId), BookingTransition.CANCEL);
     }
 
 
+    /**
+     * Citizen cancellation: resolves the token as part of the transition read, no separate lookup
+     */
+    public Booking cancelBookingByToken(UUID accessToken) {
+        logger.info("Cancelling booking by token");
+        BookingStatusSnapshot snapshot = byToken(accessToken, bookingRepository::findStatusSnapshotByAccessToken,
+                bookingRepository::findStatusSnapshotById)
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found with token: " + accessToken));
+        return transition(snapshot, BookingTransition.CANCEL);
+    }
+
+
+    @Transactional(readOnly = true)
     public List<Booking> getAllBookings() {
         logger.debug("Finding all bookings");
         return bookingRepository.findAll();
     }
 
 
+    /**
+     * One keyset page of bookings ordered by (collectionDate, id), with optional filters
+     * Reads at most size + 1 rows however many bookings match; size is capped at MAX_PAGE_SIZE
+     */
+    @Transactional(readOnly = true)
+    public Slice<Booking> getBookingsPage(String municipality, BookingStatus status, BookingCursor after, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        logger.debug("Listing up to {} bookings (municipality: {}, status: {}) after {}",
+                pageSize, municipality, status, after);
+
+        Specification<Booking> filters = Specification.allOf(
+                BookingSpecifications.hasMunicipality(municipality),
+                BookingSpecifications.hasStatus(status),
+                BookingSpecifications.after(after));
+        List<Booking> rows = bookingRepository.findBy(filters,
+                query -> query.sortBy(BookingSpecifications.KEYSET_ORDER).limit(pageSize + 1).all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Booking> content = hasNext ? rows.subList(0, pageSize) : rows;
+        fetchBulkItems(content);
+        return new SliceImpl<>(content, PageRequest.ofSize(pageSize), hasNext);
+    }
+
+
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByStatus(BookingStatus status) {
         logger.debug("Finding bookings with status: {}", status);
         return bookingRepository.findByCurrentStatus(status);
     }
 
 
-    private Booking getBookingOrThrow(Long bookingId) {
-        return bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new IllegalArgumentException("Booking not found with id: " + bookingId));
+    // Loads the items of every booking in the page with one query instead of one per booking
+    private void fetchBulkItems(List<Booking> bookings) {
+        if (!bookings.isEmpty()) {
+            bookingRepository.findWithBulkItemsByIdIn(bookings.stream().map(Booking::getId).toList());
+        }
+    }
+
+
+    /**
+     * Applies one state-machine transition as a compare-and-set UPDATE plus a StatusHistory insert
+     * Illegal transitions are rejected from the snapshot without touching the row; a concurrent
+     * transition that changed the status or version first makes the UPDATE match nothing (409)
+     */
+    private Booking transition(BookingStatusSnapshot snapshot, BookingTransition transition) {
+        BookingTransitionEvent event = new BookingTransitionEvent();
+        event.begin();
+        BookingStatus previous = snapshot.currentStatus();
+        BookingStatus target = transition.apply(previous);
+
+        int updated = bookingRepository.compareAndSetStatus(snapshot.id(), previous, snapshot.version(), target);
+        if (updated == 0) {
+            logger.warn("Concurrent update on booking {}, '{}' rejected", snapshot.id(), transition.getAction());
+            throw new IllegalStateException("Booking was modified concurrently, please retry");
+        }
+
+        StatusHistory history = new StatusHistory(target, bookingRepository.getReferenceById(snapshot.id()));
+        statusHistoryRepository.save(history);
+        // Ledger row before counter rows, the order createBooking takes them in, so the two cannot deadlock
+        if (!CapacityLedgerService.ACTIVE_STATUSES.contains(target)) {
+            capacityLedgerService.release(snapshot.municipality(), snapshot.collectionDate());
+        }
+        summaryService.recordTransition(previous, target);
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(snapshot.id(), target, history.getDatetime()));
+        metrics.transitionApplied(transition);
+        if (event.shouldCommit()) {
+            event.bookingId = snapshot.id();
+            event.from = previous.name();
+            event.to = target.name();
+            event.commit();
+        }
+
+        return bookingRepository.findWithBulkItemsById(snapshot.id())
+                .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND + snapshot.id()));
+    }
+
+
+    // Tokens the index knows resolve to ids in memory; others are queried by token
+    private <T> Optional<T> byToken(UUID accessToken, Function<UUID, Optional<T>> byTokenQuery,
+                                    LongFunction<Optional<T>> byIdQuery) {
+        OptionalLong id = tokenIndex.find(accessToken);
+        if (id.isPresent()) {
+            return byIdQuery.apply(id.getAsLong());
+        }
+        return byTokenQuery.apply(accessToken);
+    }
+
+
+    private BookingStatusSnapshot getSnapshotOrThrow(Long bookingId) {
+        return bookingRepository.findStatusSnapshotById(bookingId)
+                .orElseThrow(() -> new IllegalArgumentException(BOOKING_NOT_FOUND + bookingId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package tqs.service;
+
+import tqs.data.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event: a booking moved to a new status (the StatusHistory entry that was added)
+ */
+public record BookingStatusChangedEvent(Long bookingId, BookingStatus status, LocalDateTime datetime) {
+}
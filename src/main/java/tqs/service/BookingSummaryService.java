@@ -0,0 +1,158 @@
+package tqs.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tqs.data.Booking.BookingRepository;
+import tqs.data.BookingAggregate.AggregateDimension;
+import tqs.data.BookingAggregate.BookingAggregate;
+import tqs.data.BookingAggregate.BookingAggregateRepository;
+import tqs.data.BookingStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service maintaining the materialized dashboard counts (by status and by municipality)
+ * Counters move inside the caller's transaction, so they commit or roll back with the booking.
+ * Each counter is split over counter-shards rows and an update picks one at random, so concurrent
+ * bookings do not all wait on the same (STATUS, RECEIVED) row until the other commits.
+ */
+@Service
+@Transactional
+public class BookingSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingSummaryService.class);
+
+    private static final String INSERT_SHARD_SQL =
+            "INSERT INTO booking_aggregates (dimension, dimension_key, shard, booking_count) VALUES (?, ?, ?, ?)";
+
+    private final BookingAggregateRepository aggregateRepository;
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int counterShards;
+
+    public BookingSummaryService(BookingAggregateRepository aggregateRepository,
+                                 BookingRepository bookingRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${booking.summary.counter-shards:8}") int counterShards) {
+        this.aggregateRepository = aggregateRepository;
+        this.bookingRepository = bookingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.counterShards = counterShards;
+    }
+
+    public void recordCreated(String municipality) {
+        addToCount(AggregateDimension.STATUS, BookingStatus.RECEIVED.name(), 1);
+        addToCount(AggregateDimension.MUNICIPALITY, municipality, 1);
+    }
+
+    public void recordTransition(BookingStatus from, BookingStatus to) {
+        if (from == to) {
+            return;
+        }
+        // Touch rows in a fixed order so opposite transitions cannot deadlock each other
+        if (from.ordinal() < to.ordinal()) {
+            addToCount(AggregateDimension.STATUS, from.name(), -1);
+            addToCount(AggregateDimension.STATUS, to.name(), 1);
+        } else {
+            addToCount(AggregateDimension.STATUS, to.name(), 1);
+            addToCount(AggregateDimension.STATUS, from.name(), -1);
+        }
+    }
+
+    /**
+     * Applies the net effect of many transitions with one update per status touched
+     * @param deltas change in booking count per status (e.g. ASSIGNED +40, RECEIVED -40)
+     */
+    public void recordTransitions(Map<BookingStatus, Long> deltas) {
+        // EnumMap iterates in ordinal order, the same fixed order recordTransition uses
+        new EnumMap<>(deltas).forEach((status, delta) -> {
+            if (delta != 0) {
+                addToCount(AggregateDimension.STATUS, status.name(), delta);
+            }
+        });
+    }
+
+    /**
+     * Current non-zero counters; bounded by statuses + municipalities, not by bookings
+     */
+    @Transactional(readOnly = true)
+    public List<BookingAggregate> getSummary() {
+        return aggregateRepository.findTotalsGreaterThan(0);
+    }
+
+    /**
+     * Every status counter, zeros included (one row per status at most)
+     */
+    @Transactional(readOnly = true)
+    public List<BookingAggregate> getStatusCounts() {
+        return aggregateRepository.findTotalsByDimension(AggregateDimension.STATUS);
+    }
+
+    /**
+     * Counters of the given municipalities only, for incremental dashboard updates
+     */
+    @Transactional(readOnly = true)
+    public List<BookingAggregate> getMunicipalityCounts(Collection<String> municipalities) {
+        return aggregateRepository.findTotalsByDimensionAndDimensionKeyIn(AggregateDimension.MUNICIPALITY, municipalities);
+    }
+
+    /**
+     * Recomputes every counter from the bookings table (recovery command)
+     */
+    public List<BookingAggregate> rebuild() {
+        logger.info("Rebuilding dashboard aggregates from bookings");
+        aggregateRepository.deleteAllRows();
+
+        List<BookingAggregate> aggregates = new ArrayList<>();
+        for (Object[] row : bookingRepository.countGroupedByStatus()) {
+            aggregates.add(new BookingAggregate(AggregateDimension.STATUS,
+                    ((BookingStatus) row[0]).name(), (Long) row[1]));
+        }
+        for (Object[] row : bookingRepository.countGroupedByMunicipality()) {
+            aggregates.add(new BookingAggregate(AggregateDimension.MUNICIPALITY,
+                    (String) row[0], (Long) row[1]));
+        }
+
+        List<BookingAggregate> saved = aggregateRepository.saveAll(aggregates);
+        eventPublisher.publishEvent(SummaryChangedEvent.all());
+        logger.info("Rebuilt {} dashboard aggregate rows", saved.size());
+        return saved;
+    }
+
+    // Bookings may predate the aggregate table (e.g. persistent database on first deploy)
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIfEmpty() {
+        if (aggregateRepository.count() == 0 && bookingRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    // Every counter change also goes out as a SummaryChangedEvent, delivered to listeners after commit
+    private void addToCount(AggregateDimension dimension, String key, long delta) {
+        eventPublisher.publishEvent(new SummaryChangedEvent(dimension, key));
+        int shard = ThreadLocalRandom.current().nextInt(counterShards);
+        if (aggregateRepository.addToCount(dimension, key, shard, delta) == 1) {
+            return;
+        }
+        // First update of this shard: insert it already holding the delta, unless another transaction just did
+        if (!JdbcInserts.insertIfAbsent(jdbcTemplate, INSERT_SHARD_SQL, dimension.name(), key, shard, delta)) {
+            logger.debug("Aggregate row {}={} shard {} was created concurrently", dimension, key, shard);
+            aggregateRepository.addToCount(dimension, key, shard, delta);
+        }
+    }
+}
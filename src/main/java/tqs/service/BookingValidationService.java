@@ -3,9 +3,7 @@ package tqs.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import tqs.data.Booking.BookingRepository;
 import tqs.data.BulkItem.BulkItem;
-import tqs.data.BookingStatus;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -23,10 +21,10 @@ public class BookingValidationService {
     private static final int MIN_ADVANCE_DAYS = 1;
     private static final int MAX_DAILY_BOOKINGS_PER_MUNICIPALITY = 10;
 
-    private final BookingRepository bookingRepository;
+    private final CapacityLedgerService capacityLedgerService;
 
-    public BookingValidationService(BookingRepository bookingRepository) {
-        this.bookingRepository = bookingRepository;
+    public BookingValidationService(CapacityLedgerService capacityLedgerService) {
+        this.capacityLedgerService = capacityLedgerService;
     }
 
 
@@ -45,21 +43,15 @@ public class BookingValidationService {
     }
 
 
-    public boolean canAcceptBooking(String municipality, LocalDate date) {
-        // Count active bookings (not cancelled or completed) for the specific date
-        long activeBookings = bookingRepository.findByMunicipality(municipality).stream()
-                .filter(b -> b.getCollectionDate().equals(date))
-                .filter(b -> b.getCurrentStatus() != BookingStatus.CANCELLED)
-                .filter(b -> b.getCurrentStatus() != BookingStatus.COMPLETED)
-                .count();
+    public boolean reserveCapacity(String municipality, LocalDate date) {
+        // Atomic check-and-increment, so concurrent requests cannot overbook the same date
+        boolean reserved = capacityLedgerService.tryReserve(municipality, date, MAX_DAILY_BOOKINGS_PER_MUNICIPALITY);
 
-        boolean canAccept = activeBookings < MAX_DAILY_BOOKINGS_PER_MUNICIPALITY;
-        
-        if (!canAccept) {
+        if (!reserved) {
             logger.warn("This Municipality has reached capacity for the specified date.");
         }
-        
-        return canAccept;
+
+        return reserved;
     }
     
     public boolean validateBulkItems(List<BulkItem> items) {
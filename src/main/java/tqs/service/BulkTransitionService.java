@@ -0,0 +1,246 @@
+package tqs.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tqs.data.Booking.BookingRepository;
+import tqs.data.Booking.BookingStatusSnapshot;
+import tqs.data.BookingStatus;
+import tqs.data.StatusHistory.StatusHistory;
+import tqs.data.StatusHistory.StatusHistoryRepository;
+import tqs.data.state.BookingStateFactory;
+import tqs.data.state.BookingTransition;
+import tqs.service.jfr.BookingTransitionEvent;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Service for applying many booking transitions in one request (e.g. dispatching a crew's route)
+ * Items are processed in chunks, one transaction per chunk, with the status updates and
+ * StatusHistory inserts of a chunk sent as JDBC batches (the inserts through Hibernate's insert batching)
+ * Rows are updated in a fixed order (bookings by id, capacity ledger by municipality and date), so two
+ * overlapping requests wait for each other instead of deadlocking
+ */
+@Service
+public class BulkTransitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkTransitionService.class);
+
+    // Items per transaction, and per JDBC batch
+    static final int CHUNK_SIZE = 100;
+
+    // Same compare-and-set as BookingRepository.compareAndSetStatus, batched; cache eviction is in recordApplied
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE bookings SET current_status = ?, version = version + 1 "
+                    + "WHERE id = ? AND current_status = ? AND version = ?";
+
+    private static final String CONCURRENT_UPDATE = "Booking was modified concurrently, please retry";
+    private static final String CHUNK_FAILED = "Could not apply this part of the request, please retry";
+
+    // Lock order for capacity ledger rows
+    private static final Comparator<SlotKey> SLOT_ORDER =
+            Comparator.comparing(SlotKey::municipality).thenComparing(SlotKey::collectionDate);
+
+    private final BookingRepository bookingRepository;
+    private final StatusHistoryRepository statusHistoryRepository;
+    private final BookingSummaryService summaryService;
+    private final CapacityLedgerService capacityLedgerService;
+    private final BookingMetrics metrics;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BulkTransitionService(BookingRepository bookingRepository,
+                                 StatusHistoryRepository statusHistoryRepository,
+                                 BookingSummaryService summaryService,
+                                 CapacityLedgerService capacityLedgerService,
+                                 BookingMetrics metrics,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.bookingRepository = bookingRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.summaryService = summaryService;
+        this.capacityLedgerService = capacityLedgerService;
+        this.metrics = metrics;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * One requested transition: a booking id and an action name ("assign", "start", "complete", "cancel")
+     */
+    public record Command(Long bookingId, String action) {
+    }
+
+    /**
+     * Outcome of one command; error is null on success and status is the booking's status afterwards
+     * (or its current status when the transition was rejected, if known)
+     */
+    public record Result(Long bookingId, String action, BookingStatus status, String error) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Applies the commands in order, reporting each one independently
+     * Commands on the same booking see the effect of earlier ones, so assign then start works in one request
+     * A chunk whose transaction fails (e.g. chosen as a deadlock victim) reports all its items as failed;
+     * earlier chunks stay committed and later ones are still attempted
+     */
+    public List<Result> applyAll(List<Command> commands) {
+        logger.info("Applying {} bulk transitions", commands.size());
+        Result[] results = new Result[commands.size()];
+        for (int from = 0; from < commands.size(); from += CHUNK_SIZE) {
+            int offset = from;
+            List<Command> chunk = commands.subList(from, Math.min(from + CHUNK_SIZE, commands.size()));
+            try {
+                Map<BookingTransition, Long> applied =
+                        transactionTemplate.execute(status -> applyChunk(chunk, offset, results));
+                applied.forEach(metrics::transitionsApplied);
+            } catch (RuntimeException e) {
+                logger.warn("Bulk transition items {}-{} rolled back", offset, offset + chunk.size() - 1, e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[offset + i] = failure(chunk.get(i), null, CHUNK_FAILED);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // Returns the number of transitions applied per kind, counted in the metrics once the chunk commits
+    private Map<BookingTransition, Long> applyChunk(List<Command> chunk, int offset, Result[] results) {
+        // Begun before any work, so a bulk transition's duration covers its chunk up to that item
+        List<BookingTransitionEvent> events = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            BookingTransitionEvent event = new BookingTransitionEvent();
+            event.begin();
+            events.add(event);
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        chunk.forEach(command -> ids.add(command.bookingId()));
+        Map<Long, BookingStatusSnapshot> current = new HashMap<>();
+        bookingRepository.findStatusSnapshotsByIdIn(ids).forEach(s -> current.put(s.id(), s));
+
+        // Plan against the snapshots, advancing them in memory so later commands see earlier ones
+        List<Planned> planned = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Command command = chunk.get(i);
+            BookingStatusSnapshot snapshot = current.get(command.bookingId());
+            Optional<BookingTransition> transition = BookingTransition.fromAction(command.action());
+
+            if (transition.isEmpty()) {
+                results[offset + i] = failure(command, snapshot, "Unknown action: " + command.action());
+            } else if (snapshot == null) {
+                results[offset + i] = failure(command, null, "Booking not found with id: " + command.bookingId());
+            } else if (!transition.get().isAllowedFrom(snapshot.currentStatus())) {
+                String error = BookingStateFactory.forStatus(snapshot.currentStatus())
+                        .rejection(transition.get()).getMessage();
+                results[offset + i] = failure(command, snapshot, error);
+            } else {
+                BookingStatus target = transition.get().getTarget();
+                planned.add(new Planned(offset + i, command, transition.get(), snapshot, target, events.get(i)));
+                current.put(snapshot.id(), new BookingStatusSnapshot(snapshot.id(), target, snapshot.version() + 1,
+                        snapshot.municipality(), snapshot.collectionDate()));
+            }
+        }
+        if (planned.isEmpty()) {
+            return Map.of();
+        }
+
+        // Booking rows in id order; the sort is stable, so commands on one booking keep their order
+        planned.sort(Comparator.comparing(p -> p.snapshot().id()));
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, planned, planned.size(), (ps, p) -> {
+            ps.setString(1, p.target().name());
+            ps.setLong(2, p.snapshot().id());
+            ps.setString(3, p.snapshot().currentStatus().name());
+            ps.setLong(4, p.snapshot().version());
+        })[0];
+
+        List<Planned> applied = new ArrayList<>(planned.size());
+        for (int i = 0; i < planned.size(); i++) {
+            Planned p = planned.get(i);
+            if (updated[i] == 1) {
+                applied.add(p);
+                results[p.index()] = new Result(p.command().bookingId(), p.command().action(), p.target(), null);
+            } else {
+                results[p.index()] = new Result(p.command().bookingId(), p.command().action(), null, CONCURRENT_UPDATE);
+            }
+        }
+        return applied.isEmpty() ? Map.of() : recordApplied(applied);
+    }
+
+    // History rows, dashboard counters and released capacity for the transitions that won
+    private Map<BookingTransition, Long> recordApplied(List<Planned> applied) {
+        // Booking references are proxies, so no row is loaded; the inserts are flushed as one batch
+        List<StatusHistory> histories = applied.stream()
+                .map(p -> new StatusHistory(p.target(), bookingRepository.getReferenceById(p.snapshot().id())))
+                .toList();
+        statusHistoryRepository.saveAll(histories);
+        bookingRepository.evictFromCache(applied.stream().map(p -> p.snapshot().id()).toList());
+        for (int i = 0; i < applied.size(); i++) {
+            eventPublisher.publishEvent(new BookingStatusChangedEvent(applied.get(i).snapshot().id(),
+                    applied.get(i).target(), histories.get(i).getDatetime()));
+        }
+
+        Map<BookingStatus, Long> deltas = new EnumMap<>(BookingStatus.class);
+        Map<SlotKey, Integer> released = new TreeMap<>(SLOT_ORDER);
+        Map<BookingTransition, Long> byTransition = new EnumMap<>(BookingTransition.class);
+        for (Planned p : applied) {
+            byTransition.merge(p.transition(), 1L, Long::sum);
+            recordEvent(p);
+            deltas.merge(p.snapshot().currentStatus(), -1L, Long::sum);
+            deltas.merge(p.target(), 1L, Long::sum);
+            if (CapacityLedgerService.ACTIVE_STATUSES.contains(p.snapshot().currentStatus())
+                    && !CapacityLedgerService.ACTIVE_STATUSES.contains(p.target())) {
+                released.merge(new SlotKey(p.snapshot().municipality(), p.snapshot().collectionDate()), 1, Integer::sum);
+            }
+        }
+        // Ledger rows before counter rows, the same order as single bookings, so they cannot deadlock each other
+        released.forEach((slot, count) -> capacityLedgerService.release(slot.municipality(), slot.collectionDate(), count));
+        summaryService.recordTransitions(deltas);
+        return byTransition;
+    }
+
+    private static void recordEvent(Planned p) {
+        BookingTransitionEvent event = p.event();
+        if (event.shouldCommit()) {
+            event.bookingId = p.snapshot().id();
+            event.from = p.snapshot().currentStatus().name();
+            event.to = p.target().name();
+            event.bulk = true;
+            event.commit();
+        }
+    }
+
+    private static Result failure(Command command, BookingStatusSnapshot snapshot, String error) {
+        return new Result(command.bookingId(), command.action(),
+                snapshot != null ? snapshot.currentStatus() : null, error);
+    }
+
+    private record Planned(int index, Command command, BookingTransition transition,
+                           BookingStatusSnapshot snapshot, BookingStatus target, BookingTransitionEvent event) {
+    }
+
+    private record SlotKey(String municipality, LocalDate collectionDate) {
+    }
+}
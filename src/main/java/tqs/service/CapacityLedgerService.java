@@ -0,0 +1,108 @@
+package tqs.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tqs.data.Booking.BookingRepository;
+import tqs.data.BookingStatus;
+import tqs.data.CapacityLedger.CapacityLedgerRepository;
+import tqs.service.jfr.CapacityCheckEvent;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Service keeping the per-(municipality, date) capacity ledger in sync with bookings
+ * Admission is a single conditional UPDATE, so it stays correct across app instances
+ */
+@Service
+@Transactional
+public class CapacityLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapacityLedgerService.class);
+
+    // Statuses that still hold a collection slot
+    static final Set<BookingStatus> ACTIVE_STATUSES =
+            EnumSet.of(BookingStatus.RECEIVED, BookingStatus.ASSIGNED, BookingStatus.IN_PROGRESS);
+
+    private static final String INSERT_LEDGER_SQL =
+            "INSERT INTO capacity_ledger (municipality, collection_date, active_bookings) VALUES (?, ?, ?)";
+
+    private final CapacityLedgerRepository ledgerRepository;
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public CapacityLedgerService(CapacityLedgerRepository ledgerRepository,
+                                 BookingRepository bookingRepository,
+                                 JdbcTemplate jdbcTemplate) {
+        this.ledgerRepository = ledgerRepository;
+        this.bookingRepository = bookingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes one slot for the given municipality and date if capacity allows
+     * @return true if the slot was taken, false if the date is full
+     */
+    public boolean tryReserve(String municipality, LocalDate collectionDate, int capacity) {
+        CapacityCheckEvent event = new CapacityCheckEvent();
+        event.begin();
+        long seededFrom = ensureLedgerEntry(municipality, collectionDate);
+        int matched = ledgerRepository.reserveSlot(municipality, collectionDate, capacity);
+        boolean reserved = matched == 1;
+        logger.debug("Capacity reservation for {} on {}: {}", municipality, collectionDate, reserved);
+
+        if (event.shouldCommit()) {
+            event.municipality = municipality;
+            event.collectionDate = collectionDate.toString();
+            event.ledgerCreated = seededFrom >= 0;
+            event.rowsScanned = matched + Math.max(seededFrom, 0);
+            event.reserved = reserved;
+            event.commit();
+        }
+        return reserved;
+    }
+
+    /**
+     * Gives back the slot held by a booking leaving an active status
+     */
+    public void release(String municipality, LocalDate collectionDate) {
+        if (ledgerRepository.releaseSlot(municipality, collectionDate) == 0) {
+            logger.warn("No capacity slot to release for {} on {}", municipality, collectionDate);
+        }
+    }
+
+    /**
+     * Gives back several slots for one municipality and date in a single update (bulk transitions)
+     */
+    public void release(String municipality, LocalDate collectionDate, int slots) {
+        if (ledgerRepository.releaseSlots(municipality, collectionDate, slots) == 0) {
+            logger.warn("No capacity slots to release for {} on {}", municipality, collectionDate);
+        }
+    }
+
+    // Creates the ledger row on first use, seeded from any bookings that predate it.
+    // Inserted on the caller's connection, so admission never holds two pooled connections at once;
+    // a concurrent insert by another instance wins without poisoning the caller's transaction.
+    // Returns the number of bookings counted to seed the row, or -1 if it already existed or another
+    // transaction created it first (this call did not create it, whatever it counted).
+    private long ensureLedgerEntry(String municipality, LocalDate collectionDate) {
+        if (ledgerRepository.existsByMunicipalityAndCollectionDate(municipality, collectionDate)) {
+            return -1;
+        }
+        long active = countActiveBookings(municipality, collectionDate);
+        if (!JdbcInserts.insertIfAbsent(jdbcTemplate, INSERT_LEDGER_SQL, municipality, collectionDate, active)) {
+            logger.debug("Capacity ledger for {} on {} was created concurrently", municipality, collectionDate);
+            return -1;
+        }
+        return active;
+    }
+
+    private long countActiveBookings(String municipality, LocalDate collectionDate) {
+        return bookingRepository.countByMunicipalityAndCollectionDateAndCurrentStatusIn(
+                municipality, collectionDate, ACTIVE_STATUSES);
+    }
+}
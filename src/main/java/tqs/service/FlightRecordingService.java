@@ -0,0 +1,112 @@
+package tqs.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Service controlling an on-demand Java Flight Recorder recording for staff diagnostics
+ * The recording includes the tqs.* domain events next to the JVM's GC, lock and I/O events,
+ * so a slow request can be lined up with what the runtime was doing at the time
+ */
+@Service
+public class FlightRecordingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingService.class);
+
+    static final String RECORDING_NAME = "zeromonos-staff";
+
+    private final String settings;
+    private final Duration maxAge;
+
+    private Recording recording;
+
+    public FlightRecordingService(@Value("${jfr.recording.settings:profile}") String settings,
+                                  @Value("${jfr.recording.max-age:PT30M}") Duration maxAge) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Starts a new recording, discarding the previous one if it was stopped
+     * @throws IllegalStateException if a recording is already running
+     */
+    public synchronized Recording start() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A flight recording is already running");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+
+        Recording started = new Recording(loadConfiguration());
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.start();
+        recording = started;
+        logger.info("Flight recording {} started with '{}' settings", started.getId(), settings);
+        return started;
+    }
+
+    /**
+     * Stops the running recording; its data stays available for dumping until the next start
+     * @throws IllegalArgumentException if no recording was started
+     */
+    public synchronized Recording stop() {
+        Recording current = getCurrent();
+        if (current.getState() == RecordingState.RUNNING) {
+            current.stop();
+            logger.info("Flight recording {} stopped", current.getId());
+        }
+        return current;
+    }
+
+    /**
+     * Writes the recorded data (so far, if still running) to a temporary .jfr file
+     * The caller owns the file and should delete it once sent
+     * @throws IllegalArgumentException if no recording was started
+     */
+    public synchronized Path dump() {
+        Recording current = getCurrent();
+        try {
+            Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+            current.dump(file);
+            logger.info("Flight recording {} dumped ({} bytes)", current.getId(), Files.size(file));
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump flight recording", e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if no recording was started
+     */
+    public synchronized Recording getCurrent() {
+        if (recording == null) {
+            throw new IllegalArgumentException("No flight recording has been started");
+        }
+        return recording;
+    }
+
+    private Configuration loadConfiguration() {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read JFR settings '" + settings + "'", e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JFR settings '" + settings + "'", e);
+        }
+    }
+}
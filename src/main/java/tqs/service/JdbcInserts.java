@@ -0,0 +1,45 @@
+package tqs.service;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Insert of a row another transaction may be inserting at the same time (counter and ledger rows)
+ * Runs on the caller's transactional connection behind a savepoint, so losing the race neither takes a
+ * second pooled connection nor aborts the caller's transaction (PostgreSQL aborts it on any failed statement)
+ */
+final class JdbcInserts {
+
+    private JdbcInserts() {
+    }
+
+    /**
+     * @return true if the row was inserted, false if a row with the same unique key already exists
+     */
+    static boolean insertIfAbsent(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+        Boolean inserted = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                new ArgumentPreparedStatementSetter(args).setValues(statement);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                DataAccessException translated = jdbcTemplate.getExceptionTranslator().translate("insertIfAbsent", sql, e);
+                if (translated instanceof DataIntegrityViolationException) {
+                    return false;
+                }
+                throw e;
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        });
+        return Boolean.TRUE.equals(inserted);
+    }
+}
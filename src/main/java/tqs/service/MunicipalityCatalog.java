@@ -0,0 +1,112 @@
+package tqs.service;
+
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable snapshot of the municipality list fetched from the external API
+ * Replaced as a whole on refresh, so readers never see a half-built catalog
+ */
+public final class MunicipalityCatalog {
+
+    public static final MunicipalityCatalog EMPTY = new MunicipalityCatalog(List.of(), Instant.EPOCH);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Typos are only tolerated once the query is long enough to mean something
+    private static final int FUZZY_MIN_LENGTH = 3;
+    private static final int FUZZY_LONG_QUERY_LENGTH = 6;
+
+    private final List<String> names;
+    private final Map<String, String> canonicalByKey;
+    private final MunicipalityTrie trie;
+    private final Instant loadedAt;
+
+    public MunicipalityCatalog(List<String> names, Instant loadedAt) {
+        this.names = List.copyOf(names);
+        this.canonicalByKey = new HashMap<>(this.names.size() * 2);
+        for (String name : this.names) {
+            // First spelling wins if the API ever sends two that normalize the same
+            canonicalByKey.putIfAbsent(normalize(name), name);
+        }
+        this.trie = new MunicipalityTrie(canonicalByKey);
+        this.loadedAt = loadedAt;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public boolean isEmpty() {
+        return names.isEmpty();
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Canonical spelling of a municipality, matched ignoring case, accents and extra whitespace
+     * e.g. " setubal " resolves to "Setúbal"
+     */
+    public Optional<String> resolve(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(canonicalByKey.get(normalize(name)));
+    }
+
+    public boolean contains(String name) {
+        return resolve(name).isPresent();
+    }
+
+    /**
+     * Autocomplete suggestions: exact prefix matches first, topped up with names one edit away
+     * (two for queries of six or more characters) when there are fewer than the limit
+     */
+    public List<String> suggest(String query, int limit) {
+        if (query == null || limit <= 0) {
+            return List.of();
+        }
+        String key = normalize(query);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> matches = trie.withPrefix(key, limit);
+        if (matches.size() >= limit || key.length() < FUZZY_MIN_LENGTH) {
+            return matches;
+        }
+
+        int maxEdits = key.length() >= FUZZY_LONG_QUERY_LENGTH ? 2 : 1;
+        for (String name : trie.withFuzzyPrefix(key, maxEdits, limit)) {
+            if (matches.size() == limit) {
+                break;
+            }
+            if (!matches.contains(name)) {
+                matches.add(name);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Lookup key: accents stripped, lower-cased, whitespace trimmed and collapsed
+     */
+    static String normalize(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        String folded = COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(folded.trim()).replaceAll(" ");
+    }
+}
@@ -1,50 +1,202 @@
 package tqs.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import tqs.service.jfr.MunicipalityFetchEvent;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service for fetching and validating Portuguese municipalities from external API
+ * The list is kept in an in-memory catalog refreshed in the background, so request threads never call the API
+ * Reactive nodes fetch it with WebClient instead (see WebClientMunicipalityService)
  */
 @Service
+@Profile("!reactive")
 public class MunicipalityService {
 
     private static final Logger logger = LoggerFactory.getLogger(MunicipalityService.class);
-    
+
+    public static final String API_REQUESTS = "zeromonos.municipality.api.requests";
+    public static final String CATALOG_LOOKUPS = "zeromonos.municipality.catalog.lookups";
+
     private final RestTemplate restTemplate;
     private final String apiUrl;
+    private final Duration refreshInterval;
+    private final Timer apiSuccess;
+    private final Timer apiFailure;
+    private final Counter catalogHits;
+    private final Counter catalogMisses;
+    private final Counter catalogBypassed;
+
+    private volatile MunicipalityCatalog catalog = MunicipalityCatalog.EMPTY;
 
+    @Autowired
     public MunicipalityService(
             RestTemplate restTemplate,
-            @Value("${municipality.api.url:https://json.geoapi.pt/municipios}") String apiUrl) {
+            MeterRegistry meterRegistry,
+            @Value("${municipality.api.url:https://json.geoapi.pt/municipios}") String apiUrl,
+            @Value("${municipality.catalog.refresh-interval:PT6H}") Duration refreshInterval) {
+        this(meterRegistry, apiUrl, refreshInterval, restTemplate);
+    }
+
+    // For subclasses that fetch the list another way and so have no RestTemplate
+    MunicipalityService(MeterRegistry meterRegistry, String apiUrl, Duration refreshInterval) {
+        this(meterRegistry, apiUrl, refreshInterval, null);
+    }
+
+    private MunicipalityService(MeterRegistry meterRegistry, String apiUrl, Duration refreshInterval,
+                                RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
         this.apiUrl = apiUrl;
+        this.refreshInterval = refreshInterval;
+        this.apiSuccess = apiTimer(meterRegistry, "success");
+        this.apiFailure = apiTimer(meterRegistry, "failure");
+        // hit: resolved from the catalog, miss: unknown name, bypass: catalog not loaded, name accepted as given
+        this.catalogHits = lookupCounter(meterRegistry, "hit");
+        this.catalogMisses = lookupCounter(meterRegistry, "miss");
+        this.catalogBypassed = lookupCounter(meterRegistry, "bypass");
     }
 
-    @Cacheable(value = "municipalities", unless = "#result.isEmpty()")
+    /**
+     * Last successfully loaded municipality list (empty until the first load succeeds)
+     */
     public List<String> getAvailableMunicipalities() {
+        return catalog.getNames();
+    }
+
+    public boolean isValidMunicipality(String municipalityName) {
+        return resolveMunicipality(municipalityName).isPresent();
+    }
+
+    /**
+     * Resolves user input to the canonical municipality name with a single hash lookup
+     * Case, accents and extra whitespace are ignored, so "setubal" resolves to "Setúbal"
+     * @return the canonical name, or empty if the municipality is unknown
+     */
+    public Optional<String> resolveMunicipality(String municipalityName) {
+        if (municipalityName == null || municipalityName.trim().isEmpty()) {
+            return Optional.empty();
+        }
+
+        MunicipalityCatalog current = catalog;
+
+        // If the catalog was never loaded, we can't validate - accept the name as given to allow booking
+        // (Alternative: could return empty for strict validation)
+        if (current.isEmpty()) {
+            logger.warn("Cannot validate municipality - catalog not loaded, allowing booking");
+            catalogBypassed.increment();
+            return Optional.of(municipalityName.trim());
+        }
+
+        Optional<String> canonical = current.resolve(municipalityName);
+
+        if (canonical.isEmpty()) {
+            logger.debug("Municipality validation failed");
+            catalogMisses.increment();
+        } else {
+            catalogHits.increment();
+        }
+
+        return canonical;
+    }
+
+    /**
+     * Autocomplete lookup against the current catalog; never calls the external API
+     */
+    public List<String> suggestMunicipalities(String query, int limit) {
+        return catalog.suggest(query, limit);
+    }
+
+    /**
+     * Background job: loads the catalog at startup, retries every check interval while empty,
+     * and refreshes it once it is older than the refresh interval
+     */
+    @Scheduled(fixedDelayString = "${municipality.catalog.check-interval:PT1M}")
+    public void refreshIfStale() {
+        if (isStale()) {
+            refreshCatalog();
+        }
+    }
+
+    boolean isStale() {
+        MunicipalityCatalog current = catalog;
+        return current.isEmpty() || current.getLoadedAt().plus(refreshInterval).isBefore(Instant.now());
+    }
+
+    /**
+     * Fetches the list from the external API and swaps in a new catalog
+     * @return true if the catalog was replaced, false if the fetch failed and the last good one was kept
+     */
+    public boolean refreshCatalog() {
+        return install(fetchMunicipalities());
+    }
+
+    // Swaps in a catalog built from a fetched list; an empty list means the fetch failed
+    boolean install(List<String> municipalities) {
+        if (municipalities.isEmpty()) {
+            logger.warn("Municipality refresh failed, keeping last catalog ({} entries)", catalog.size());
+            return false;
+        }
+
+        catalog = new MunicipalityCatalog(municipalities, Instant.now());
+        return true;
+    }
+
+    public MunicipalityCatalog getCatalog() {
+        return catalog;
+    }
+
+    private List<String> fetchMunicipalities() {
+        MunicipalityFetchEvent event = new MunicipalityFetchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<String> municipalities = callApi();
+        recordFetch(event, start, municipalities);
+        return municipalities;
+    }
+
+    // Timer and JFR event for one API call, begun at startNanos; an empty list means it failed
+    void recordFetch(MunicipalityFetchEvent event, long startNanos, List<String> municipalities) {
+        (municipalities.isEmpty() ? apiFailure : apiSuccess).record(Duration.ofNanos(System.nanoTime() - startNanos));
+
+        if (event.shouldCommit()) {
+            event.url = apiUrl;
+            event.outcome = municipalities.isEmpty() ? "failure" : "success";
+            event.municipalities = municipalities.size();
+            event.commit();
+        }
+    }
+
+    private List<String> callApi() {
         logger.info("Fetching municipalities from external API");
-        
+
         try {
             String[] municipalities = restTemplate.getForObject(apiUrl, String[].class);
-            
+
             if (municipalities == null || municipalities.length == 0) {
                 logger.warn("External API returned empty municipality list");
                 return Collections.emptyList();
             }
-            
+
             logger.info("Successfully fetched {} municipalities", municipalities.length);
             return Arrays.asList(municipalities);
-            
+
         } catch (RestClientException e) {
             logger.error("Failed to fetch municipalities from external API: {}", e.getMessage());
             return Collections.emptyList();
@@ -54,31 +206,21 @@ public class MunicipalityService {
         }
     }
 
-    public boolean isValidMunicipality(String municipalityName) {
-        if (municipalityName == null || municipalityName.trim().isEmpty()) {
-            return false;
-        }
-
-        List<String> municipalities = getAvailableMunicipalities();
-        
-        // If API failed, we can't validate - return true to allow booking
-        // (Alternative: could return false for strict validation)
-        if (municipalities.isEmpty()) {
-            logger.warn("Cannot validate municipality - API unavailable, allowing booking");
-            return true;
-        }
+    public String getApiUrl() {
+        return apiUrl;
+    }
 
-        boolean isValid = municipalities.stream()
-                .anyMatch(m -> m.equalsIgnoreCase(municipalityName.trim()));
-        
-        if (!isValid) {
-            logger.debug("Municipality validation failed");
-        }
-        
-        return isValid;
+    private static Timer apiTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder(API_REQUESTS)
+                .description("Calls to the external municipality API")
+                .tag("outcome", outcome)
+                .register(registry);
     }
 
-    public String getApiUrl() {
-        return apiUrl;
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder(CATALOG_LOOKUPS)
+                .description("Municipality lookups served from the in-memory catalog")
+                .tag("result", result)
+                .register(registry);
     }
 }
@@ -0,0 +1,173 @@
+package tqs.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie over normalized municipality names, used for autocomplete
+ * Keys are normalized with {@link MunicipalityCatalog#normalize(String)}; each terminal node holds the canonical name
+ */
+final class MunicipalityTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root;
+
+    /**
+     * @param canonicalByKey normalized key to canonical name
+     */
+    MunicipalityTrie(Map<String, String> canonicalByKey) {
+        Builder rootBuilder = new Builder();
+        canonicalByKey.forEach(rootBuilder::insert);
+        this.root = rootBuilder.build();
+    }
+
+    /**
+     * Names whose normalized form starts with the given normalized prefix, in alphabetical order
+     */
+    List<String> withPrefix(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        List<String> results = new ArrayList<>(Math.min(limit, 16));
+        if (node != null) {
+            collect(node, limit, results);
+        }
+        return results;
+    }
+
+    /**
+     * Names having a prefix within maxEdits (Levenshtein distance) of the given normalized prefix
+     * Closer matches come first; ties are in alphabetical order
+     */
+    List<String> withFuzzyPrefix(String prefix, int maxEdits, int limit) {
+        List<List<String>> byDistance = new ArrayList<>(maxEdits + 1);
+        for (int d = 0; d <= maxEdits; d++) {
+            byDistance.add(new ArrayList<>());
+        }
+
+        int[] firstRow = new int[prefix.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        searchFuzzy(root, prefix, firstRow, firstRow[prefix.length()], maxEdits, limit, byDistance);
+
+        Set<String> merged = new LinkedHashSet<>();
+        for (List<String> bucket : byDistance) {
+            for (String name : bucket) {
+                if (merged.size() == limit) {
+                    return new ArrayList<>(merged);
+                }
+                merged.add(name);
+            }
+        }
+        return new ArrayList<>(merged);
+    }
+
+    // Walks the trie carrying one row of the edit-distance matrix per node, and the smallest distance between
+    // the query and any prefix along the path (best). Row minimums never decrease going down, so once a row's
+    // minimum reaches best no name below can get closer: the subtree is collected at best. Until then, names
+    // are placed by the best distance of their own path
+    private static void searchFuzzy(Node node, String prefix, int[] row, int best, int maxEdits, int limit,
+                                    List<List<String>> byDistance) {
+        int rowMin = row[0];
+        for (int i = 1; i < row.length; i++) {
+            rowMin = Math.min(rowMin, row[i]);
+        }
+        if (rowMin >= best) {
+            if (best <= maxEdits) {
+                collect(node, limit, byDistance.get(best));
+            }
+            return;
+        }
+        if (rowMin > maxEdits) {
+            return;
+        }
+        if (node.name != null && best <= maxEdits && byDistance.get(best).size() < limit) {
+            byDistance.get(best).add(node.name);
+        }
+
+        int columns = prefix.length() + 1;
+        for (int c = 0; c < node.labels.length; c++) {
+            char label = node.labels[c];
+            int[] childRow = new int[columns];
+            childRow[0] = row[0] + 1;
+            for (int i = 1; i < columns; i++) {
+                int substitution = row[i - 1] + (prefix.charAt(i - 1) == label ? 0 : 1);
+                childRow[i] = Math.min(substitution, Math.min(childRow[i - 1] + 1, row[i] + 1));
+            }
+            searchFuzzy(node.children[c], prefix, childRow, Math.min(best, childRow[columns - 1]), maxEdits, limit,
+                    byDistance);
+        }
+    }
+
+    private static void collect(Node node, int limit, List<String> results) {
+        if (results.size() >= limit) {
+            return;
+        }
+        if (node.name != null) {
+            results.add(node.name);
+        }
+        for (Node child : node.children) {
+            if (results.size() >= limit) {
+                return;
+            }
+            collect(child, limit, results);
+        }
+    }
+
+    /**
+     * Read-only node with children kept in parallel arrays sorted by label
+     */
+    private static final class Node {
+        private final char[] labels;
+        private final Node[] children;
+        private final String name;
+
+        private Node(char[] labels, Node[] children, String name) {
+            this.labels = labels;
+            this.children = children;
+            this.name = name;
+        }
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    private static final class Builder {
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private String name;
+
+        private void insert(String key, String canonical) {
+            Builder node = this;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), k -> new Builder());
+            }
+            node.name = canonical;
+        }
+
+        private Node build() {
+            if (children.isEmpty()) {
+                return new Node(NO_LABELS, NO_CHILDREN, name);
+            }
+            char[] labels = new char[children.size()];
+            Node[] built = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                built[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node(labels, built, name);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package tqs.service;
+
+import tqs.data.BookingAggregate.AggregateDimension;
+
+/**
+ * Application event: one dashboard counter changed (key null: every counter, after a rebuild)
+ */
+public record SummaryChangedEvent(AggregateDimension dimension, String key) {
+
+    public static SummaryChangedEvent all() {
+        return new SummaryChangedEvent(null, null);
+    }
+
+    public boolean isAll() {
+        return dimension == null;
+    }
+}
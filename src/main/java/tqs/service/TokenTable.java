@@ -0,0 +1,104 @@
+package tqs.service;
+
+/**
+ * Open-addressing hash table from 128-bit access tokens, held as their two UUID halves, to booking ids
+ * Not thread-safe; AccessTokenIndex guards it
+ */
+final class TokenTable {
+
+    // Booking ids start at 1, so 0 marks a free slot
+    private static final long FREE = 0;
+    private static final int MIN_CAPACITY = 1 << 10;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] highs;
+    private long[] lows;
+    private long[] ids;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    TokenTable(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity - capacity / 4 <= expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void put(long high, long low, long bookingId) {
+        if (size >= resizeAt) {
+            grow();
+        }
+        if (insert(high, low, bookingId)) {
+            size++;
+        }
+    }
+
+    /**
+     * @return the booking id, or 0 if the token is unknown
+     */
+    long get(long high, long low) {
+        for (int slot = (int) hash(high, low) & mask; ids[slot] != FREE; slot = (slot + 1) & mask) {
+            if (highs[slot] == high && lows[slot] == low) {
+                return ids[slot];
+            }
+        }
+        return FREE;
+    }
+
+    private void allocate(int capacity) {
+        highs = new long[capacity];
+        lows = new long[capacity];
+        ids = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity - capacity / 4;
+    }
+
+    // Doubles the table and reinserts the stored tokens
+    private void grow() {
+        if (mask + 1 == MAX_CAPACITY) {
+            throw new IllegalStateException("Access token table is full");
+        }
+        long[] oldHighs = highs;
+        long[] oldLows = lows;
+        long[] oldIds = ids;
+        allocate(oldIds.length * 2);
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != FREE) {
+                insert(oldHighs[i], oldLows[i], oldIds[i]);
+            }
+        }
+    }
+
+    // Linear probing; true when a new slot was taken, false when an existing token was remapped
+    private boolean insert(long high, long low, long bookingId) {
+        int slot = (int) hash(high, low) & mask;
+        while (ids[slot] != FREE) {
+            if (highs[slot] == high && lows[slot] == low) {
+                ids[slot] = bookingId;
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        highs[slot] = high;
+        lows[slot] = low;
+        ids[slot] = bookingId;
+        return true;
+    }
+
+    private static long hash(long high, long low) {
+        return mix(high ^ mix(low));
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,27 @@
+package tqs.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One booking stored; the event duration covers validation, capacity reservation and the insert
+ */
+@Name("tqs.BookingCreated")
+@Label("Booking Created")
+@Category({"ZeroMonos", "Bookings"})
+@Description("A citizen booking was validated, admitted and stored")
+@StackTrace(false)
+public class BookingCreatedEvent extends jdk.jfr.Event {
+
+    @Label("Booking Id")
+    public long bookingId;
+
+    @Label("Municipality")
+    public String municipality;
+
+    @Label("Item Count")
+    public int itemCount;
+}
@@ -0,0 +1,32 @@
+package tqs.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One applied state transition; for single transitions the duration covers the compare-and-set
+ * update and its side effects, for bulk transitions it runs from the start of the item's chunk
+ */
+@Name("tqs.BookingTransition")
+@Label("Booking Transition")
+@Category({"ZeroMonos", "Bookings"})
+@Description("A booking moved from one status to another")
+@StackTrace(false)
+public class BookingTransitionEvent extends jdk.jfr.Event {
+
+    @Label("Booking Id")
+    public long bookingId;
+
+    @Label("From")
+    public String from;
+
+    @Label("To")
+    public String to;
+
+    @Label("Bulk")
+    @Description("Applied as part of a bulk transition request")
+    public boolean bulk;
+}
@@ -0,0 +1,35 @@
+package tqs.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One capacity admission check against the ledger
+ */
+@Name("tqs.CapacityCheck")
+@Label("Capacity Check")
+@Category({"ZeroMonos", "Capacity"})
+@Description("Conditional reservation of a collection slot for a municipality and date")
+@StackTrace(false)
+public class CapacityCheckEvent extends jdk.jfr.Event {
+
+    @Label("Municipality")
+    public String municipality;
+
+    @Label("Collection Date")
+    public String collectionDate;
+
+    @Label("Rows Scanned")
+    @Description("Ledger rows matched by the conditional update, plus bookings counted when the ledger row was created")
+    public long rowsScanned;
+
+    @Label("Ledger Created")
+    @Description("First check for this municipality and date, so the ledger row was seeded from existing bookings")
+    public boolean ledgerCreated;
+
+    @Label("Reserved")
+    public boolean reserved;
+}
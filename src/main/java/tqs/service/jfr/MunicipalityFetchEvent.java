@@ -0,0 +1,27 @@
+package tqs.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to the external municipality API; the event duration is the call latency
+ */
+@Name("tqs.MunicipalityFetch")
+@Label("Municipality Fetch")
+@Category({"ZeroMonos", "External API"})
+@Description("Catalog refresh from the external municipality API")
+@StackTrace(false)
+public class MunicipalityFetchEvent extends jdk.jfr.Event {
+
+    @Label("URL")
+    public String url;
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Municipalities")
+    public int municipalities;
+}
@@ -0,0 +1,57 @@
+-- Baseline: the schema Hibernate generated from the entity mappings before migrations were introduced.
+-- Databases created by ddl-auto are baselined at this version (see application-postgres.properties).
+
+create sequence bookings_seq start with 1 increment by 50;
+create sequence bulk_items_seq start with 1 increment by 50;
+create sequence status_history_seq start with 1 increment by 50;
+
+create table bookings (
+    id              bigint       not null,
+    municipality    varchar(255) not null,
+    collection_date date         not null,
+    time_slot       varchar(255) not null,
+    access_token    varchar(255) not null,
+    created_at      timestamp(6) not null,
+    current_status  varchar(255) not null,
+    version         bigint       not null,
+    constraint pk_bookings primary key (id),
+    constraint uk_bookings_access_token unique (access_token)
+);
+
+create table bulk_items (
+    id          bigint       not null,
+    name        varchar(30)  not null,
+    description varchar(100),
+    weight      real         not null,
+    volume      real         not null,
+    booking_id  bigint       not null,
+    constraint pk_bulk_items primary key (id),
+    constraint fk_bulk_items_booking foreign key (booking_id) references bookings (id)
+);
+
+create table status_history (
+    id         bigint       not null,
+    status     varchar(255) not null,
+    datetime   timestamp(6) not null,
+    booking_id bigint       not null,
+    constraint pk_status_history primary key (id),
+    constraint fk_status_history_booking foreign key (booking_id) references bookings (id)
+);
+
+create table capacity_ledger (
+    id              bigint generated by default as identity,
+    municipality    varchar(255) not null,
+    collection_date date         not null,
+    active_bookings integer      not null,
+    constraint pk_capacity_ledger primary key (id),
+    constraint uk_capacity_ledger_municipality_date unique (municipality, collection_date)
+);
+
+create table booking_aggregates (
+    id            bigint generated by default as identity,
+    dimension     varchar(20)  not null,
+    dimension_key varchar(255) not null,
+    booking_count bigint       not null,
+    constraint pk_booking_aggregates primary key (id),
+    constraint uk_booking_aggregates_dimension_key unique (dimension, dimension_key)
+);
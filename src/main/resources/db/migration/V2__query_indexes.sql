@@ -0,0 +1,30 @@
+-- Composite indexes for the repository queries; each comment lists the methods an index serves.
+-- access_token, (municipality, collection_date) on capacity_ledger and (dimension, dimension_key)
+-- on booking_aggregates are already covered by their unique constraints.
+
+-- BookingRepository: findByMunicipality, findByMunicipalityAndCollectionDate,
+-- countByMunicipalityAndCollectionDateAndCurrentStatusIn (index only), staff pages filtered by municipality
+create index idx_bookings_municipality_date_status on bookings (municipality, collection_date, current_status);
+
+-- BookingRepository: findByMunicipalityAndCurrentStatus, staff pages filtered by municipality and status
+-- (rows come out in keyset order: collection_date, id)
+create index idx_bookings_municipality_status_date on bookings (municipality, current_status, collection_date, id);
+
+-- BookingRepository: findByCurrentStatus, countGroupedByStatus (index only), staff pages filtered by status
+create index idx_bookings_status_date on bookings (current_status, collection_date, id);
+
+-- BookingRepository: findByCollectionDate, unfiltered staff pages
+create index idx_bookings_date on bookings (collection_date, id);
+
+-- BulkItemRepository: findByBookingId, countByBooking, and the bulkItems collection fetch
+create index idx_bulk_items_booking on bulk_items (booking_id);
+
+-- StatusHistoryRepository: findByBookingIdOrderByDatetimeAsc (no sort step), countByBooking,
+-- and the statusHistories collection fetch
+create index idx_status_history_booking_datetime on status_history (booking_id, datetime);
+
+-- StatusHistoryRepository: findByStatus
+create index idx_status_history_status_datetime on status_history (status, datetime);
+
+-- StatusHistoryRepository: findByDatetimeBetween
+create index idx_status_history_datetime on status_history (datetime);
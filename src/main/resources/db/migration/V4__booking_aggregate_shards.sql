@@ -0,0 +1,9 @@
+-- Each dashboard counter is spread over several rows (shards), so concurrent bookings update
+-- different rows instead of all queueing on (STATUS, RECEIVED). A counter is the sum of its shards.
+-- Existing counters become shard 0.
+alter table booking_aggregates add column shard integer default 0 not null;
+
+alter table booking_aggregates drop constraint uk_booking_aggregates_dimension_key;
+
+alter table booking_aggregates add constraint uk_booking_aggregates_dimension_key_shard
+    unique (dimension, dimension_key, shard);
@@ -1,9 +1,16 @@
 // Citizen Portal JavaScript
-// Handles booking creation, status checking, and cancellation
+// Handles booking creation, status checking, cancellation and live status updates
 
 const API_BASE = '/api/bookings';
 let currentBookingToken = null;
+let currentBooking = null;
+let statusStream = null;
 let itemCounter = 0;
+// Sent with every attempt of one booking submission until the server answers, so a retry after
+// a dropped connection returns the booking already made instead of creating another.
+// Tied to the form data it was made for: any change starts a new booking with a new key
+let pendingIdempotencyKey = null;
+let pendingIdempotencyBody = null;
 
 // Initialize on page load
 document.addEventListener('DOMContentLoaded', () => {
@@ -140,13 +147,29 @@ async function handleBookingSubmit(event) {
             items: collectBulkItems()
         };
         
+        const body = JSON.stringify(bookingData);
+        const headers = {
+            'Content-Type': 'application/json'
+        };
+        if (body !== pendingIdempotencyBody) {
+            pendingIdempotencyKey = null;
+        }
+        // randomUUID is only available on secure pages (https or localhost)
+        if (!pendingIdempotencyKey && window.crypto && crypto.randomUUID) {
+            pendingIdempotencyKey = crypto.randomUUID();
+            pendingIdempotencyBody = body;
+        }
+        if (pendingIdempotencyKey) {
+            headers['Idempotency-Key'] = pendingIdempotencyKey;
+        }
+        
         const response = await fetch(API_BASE, {
             method: 'POST',
-            headers: {
-                'Content-Type': 'application/json'
-            },
-            body: JSON.stringify(bookingData)
+            headers: headers,
+            body: body
         });
+        // The server answered, so the next submission is a new booking
+        pendingIdempotencyKey = null;
         
         if (!response.ok) {
             const error = await response.json();
@@ -202,20 +225,12 @@ async function handleCheckStatus(event) {
 // Load booking details by token
 async function loadBookingDetails(token) {
     try {
-        const response = await fetch(`${API_BASE}/${token}/details`);
-        
-        if (!response.ok) {
-            if (response.status === 404) {
-                throw new Error('Booking not found. Please check your token.');
-            }
-            throw new Error('Failed to load booking details');
-        }
-        
-        const booking = await response.json();
+        const booking = await fetchBookingDetails(token);
         currentBookingToken = token;
         
         displayBookingDetails(booking);
         openDetailsModal();
+        watchBooking(booking);
         
     } catch (error) {
         console.error('Error loading booking:', error);
@@ -223,8 +238,71 @@ async function loadBookingDetails(token) {
     }
 }
 
+async function fetchBookingDetails(token) {
+    const response = await fetch(`${API_BASE}/${token}/details`);
+    
+    if (!response.ok) {
+        if (response.status === 404) {
+            throw new Error('Booking not found. Please check your token.');
+        }
+        throw new Error('Failed to load booking details');
+    }
+    return response.json();
+}
+
+// Live updates: the server sends only the new status history entry when staff move the booking
+function watchBooking(booking) {
+    stopWatching();
+    if (!window.EventSource || booking.currentStatus === 'COMPLETED' || booking.currentStatus === 'CANCELLED') {
+        return;
+    }
+    
+    const token = booking.accessToken;
+    const source = new EventSource(`${API_BASE}/${token}/stream`);
+    // Changes made before the stream was (re)connected are not replayed, so resync once per connection
+    source.addEventListener('open', async () => {
+        try {
+            displayBookingDetails(await fetchBookingDetails(token));
+        } catch (error) {
+            console.error('Error refreshing booking:', error);
+        }
+    });
+    source.addEventListener('status', (event) => applyStatusUpdate(JSON.parse(event.data)));
+    // The server closes the stream after a final status; stop EventSource from reconnecting
+    source.onerror = () => {
+        if (currentBooking && (currentBooking.currentStatus === 'COMPLETED' || currentBooking.currentStatus === 'CANCELLED')) {
+            stopWatching();
+        }
+    };
+    statusStream = source;
+}
+
+function stopWatching() {
+    if (statusStream) {
+        statusStream.close();
+        statusStream = null;
+    }
+}
+
+// Each status appears at most once in a booking's history, so a repeated entry is ignored
+function applyStatusUpdate(entry) {
+    if (!currentBooking) {
+        return;
+    }
+    const history = currentBooking.statusHistory || [];
+    if (history.some(h => h.status === entry.status)) {
+        return;
+    }
+    displayBookingDetails(Object.assign({}, currentBooking, {
+        currentStatus: entry.status,
+        statusHistory: history.concat([entry])
+    }));
+    showAlert(`Booking status updated: ${entry.status}`, 'info');
+}
+
 // Display booking details in modal
 function displayBookingDetails(booking) {
+    currentBooking = booking;
     const content = document.getElementById('bookingDetailsContent');
     
     const statusClass = `status-${booking.currentStatus.toLowerCase()}`;
@@ -351,6 +429,7 @@ function openDetailsModal() {
 }
 
 function closeDetailsModal() {
+    stopWatching();
     document.getElementById('detailsModal').classList.remove('show');
 }
 
@@ -1,11 +1,13 @@
-// dashboard.js - load summary and render charts
+// dashboard.js - load summary, render charts and apply live updates from the summary stream
 (() => {
   const summaryUrl = '/api/staff/bookings/summary';
+  const streamUrl = '/api/staff/bookings/summary/stream';
   const refreshBtn = document.getElementById('refreshBtn');
   const lastUpdated = document.getElementById('lastUpdated');
 
   let statusChart = null;
   let municipalityChart = null;
+  let current = { total: 0, byStatus: {}, byMunicipality: {} };
 
   function fmtDate(timestamp) {
     return new Date(timestamp).toLocaleString();
@@ -16,15 +18,46 @@
       const res = await fetch(summaryUrl);
       if (!res.ok) throw new Error('Failed to fetch summary: ' + res.status);
       const data = await res.json();
-      render(data);
-      const now = Date.now();
-      lastUpdated.textContent = 'Last updated: ' + new Date(now).toLocaleString();
+      show(data);
     } catch (err) {
       console.error('Dashboard error:', err);
       lastUpdated.textContent = 'Error loading summary';
     }
   }
 
+  function show(summary) {
+    current = summary;
+    render(summary);
+    lastUpdated.textContent = 'Last updated: ' + new Date().toLocaleString();
+  }
+
+  // A delta carries the current value of each counter that changed; 0 means the entry is gone
+  function applyDelta(delta) {
+    const merged = {
+      total: delta.total,
+      byStatus: {},
+      byMunicipality: Object.assign({}, current.byMunicipality),
+    };
+    for (const [status, count] of Object.entries(delta.byStatus || {})) {
+      if (count > 0) merged.byStatus[status] = count;
+    }
+    for (const [mun, count] of Object.entries(delta.byMunicipality || {})) {
+      if (count > 0) merged.byMunicipality[mun] = count;
+      else delete merged.byMunicipality[mun];
+    }
+    show(merged);
+  }
+
+  // The server sends a full snapshot on (re)connect, then coalesced deltas; EventSource reconnects by itself
+  function subscribe() {
+    const source = new EventSource(streamUrl);
+    source.addEventListener('snapshot', (e) => show(JSON.parse(e.data)));
+    source.addEventListener('delta', (e) => applyDelta(JSON.parse(e.data)));
+    source.onerror = () => {
+      lastUpdated.textContent = 'Live updates interrupted, reconnecting...';
+    };
+  }
+
   function render(summary) {
     const byStatus = summary.byStatus || {};
     const byMunicipality = summary.byMunicipality || {};
@@ -40,21 +73,26 @@
     const statusLabels = Object.keys(byStatus);
     const statusValues = statusLabels.map(k => byStatus[k]);
 
-    const statusCtx = document.getElementById('statusChart').getContext('2d');
-    if (statusChart) statusChart.destroy();
-    statusChart = new Chart(statusCtx, {
-      type: 'doughnut',
-      data: {
-        labels: statusLabels,
-        datasets: [{
-          data: statusValues,
-          backgroundColor: [
-            '#4caf50','#2196f3','#ff9800','#9c27b0','#f44336'
-          ],
-        }]
-      },
-      options: { responsive: true }
-    });
+    if (statusChart) {
+      statusChart.data.labels = statusLabels;
+      statusChart.data.datasets[0].data = statusValues;
+      statusChart.update('none');
+    } else {
+      const statusCtx = document.getElementById('statusChart').getContext('2d');
+      statusChart = new Chart(statusCtx, {
+        type: 'doughnut',
+        data: {
+          labels: statusLabels,
+          datasets: [{
+            data: statusValues,
+            backgroundColor: [
+              '#4caf50','#2196f3','#ff9800','#9c27b0','#f44336'
+            ],
+          }]
+        },
+        options: { responsive: true }
+      });
+    }
 
     // Status breakdown table
     const statusTbody = document.querySelector('#statusBreakdown tbody');
@@ -75,20 +113,25 @@
     const muniLabels = top.map(e => e[0]);
     const muniValues = top.map(e => e[1]);
 
-    const muniCtx = document.getElementById('municipalityChart').getContext('2d');
-    if (municipalityChart) municipalityChart.destroy();
-    municipalityChart = new Chart(muniCtx, {
-      type: 'bar',
-      data: {
-        labels: muniLabels,
-        datasets: [{
-          label: 'Bookings',
-          data: muniValues,
-          backgroundColor: '#3f51b5'
-        }]
-      },
-      options: { responsive: true, scales: { y: { beginAtZero: true } } }
-    });
+    if (municipalityChart) {
+      municipalityChart.data.labels = muniLabels;
+      municipalityChart.data.datasets[0].data = muniValues;
+      municipalityChart.update('none');
+    } else {
+      const muniCtx = document.getElementById('municipalityChart').getContext('2d');
+      municipalityChart = new Chart(muniCtx, {
+        type: 'bar',
+        data: {
+          labels: muniLabels,
+          datasets: [{
+            label: 'Bookings',
+            data: muniValues,
+            backgroundColor: '#3f51b5'
+          }]
+        },
+        options: { responsive: true, scales: { y: { beginAtZero: true } } }
+      });
+    }
 
     // Top municipalities table
     const tbody = document.querySelector('#topMunicipalities tbody');
@@ -117,8 +160,12 @@
 
   refreshBtn.addEventListener('click', () => loadSummary());
 
-  // initial load
-  loadSummary();
-  // auto-refresh every 60s
-  setInterval(loadSummary, 60_000);
+  if (window.EventSource) {
+    // initial load arrives as the stream's first snapshot
+    subscribe();
+  } else {
+    // no SSE support: fall back to polling every 60s
+    loadSummary();
+    setInterval(loadSummary, 60_000);
+  }
 })();
@@ -2,7 +2,9 @@
 // Handles viewing, filtering, and managing bookings
 
 const API_BASE = '/api/staff/bookings';
+const PAGE_SIZE = 50;
 let allBookings = [];
+let nextCursor = null;
 let currentBooking = null;
 
 // Initialize on page load
@@ -32,31 +34,45 @@ async function loadMunicipalities() {
     }
 }
 
-// Load all bookings with optional filters
+// Load the first page of bookings with optional filters
 async function loadBookings() {
+    const tbody = document.getElementById('bookingsTableBody');
+    tbody.innerHTML = '<tr><td colspan="7" class="text-center"><div class="loading"></div> Loading bookings...</td></tr>';
+    
+    allBookings = [];
+    nextCursor = null;
+    await loadBookingsPage();
+}
+
+// Load the next page of bookings (keyset pagination via nextCursor)
+async function loadMoreBookings() {
+    if (nextCursor) {
+        await loadBookingsPage();
+    }
+}
+
+async function loadBookingsPage() {
     const municipality = document.getElementById('municipalityFilter').value;
     const status = document.getElementById('statusFilter').value;
-    
     const tbody = document.getElementById('bookingsTableBody');
-    tbody.innerHTML = '<tr><td colspan="7" class="text-center"><div class="loading"></div> Loading bookings...</td></tr>';
     
     try {
-        let url = API_BASE;
-        
-        // Apply filters
-        if (municipality) {
-            url = `${API_BASE}/municipality/${encodeURIComponent(municipality)}`;
-        } else if (status) {
-            url = `${API_BASE}/status/${status}`;
-        }
+        // Filters can be combined
+        const params = new URLSearchParams({ size: PAGE_SIZE });
+        if (municipality) params.set('municipality', municipality);
+        if (status) params.set('status', status);
+        if (nextCursor) params.set('cursor', nextCursor);
         
-        const response = await fetch(url);
+        const response = await fetch(`${API_BASE}?${params}`);
         if (!response.ok) throw new Error('Failed to load bookings');
         
-        allBookings = await response.json();
+        const page = await response.json();
+        allBookings = allBookings.concat(page.items);
+        nextCursor = page.nextCursor;
         
         displayBookings(allBookings);
-        document.getElementById('bookingCount').textContent = allBookings.length;
+        document.getElementById('bookingCount').textContent = allBookings.length + (page.hasMore ? '+' : '');
+        document.getElementById('loadMoreBtn').style.display = page.hasMore ? 'inline-block' : 'none';
         
     } catch (error) {
         console.error('Error loading bookings:', error);
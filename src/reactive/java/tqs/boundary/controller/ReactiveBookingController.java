@@ -0,0 +1,195 @@
+package tqs.boundary.controller;
+
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import tqs.boundary.dto.BookingDetailedResponseDTO;
+import tqs.boundary.dto.BookingRequestDTO;
+import tqs.boundary.dto.BulkItemDTO;
+import tqs.boundary.dto.StatusHistoryDTO;
+import tqs.data.Booking.Booking;
+import tqs.data.BulkItem.BulkItem;
+import tqs.service.BookingMetrics;
+import tqs.service.BookingService;
+import tqs.service.MunicipalityService;
+import tqs.service.ReactiveBookingQueryService;
+import tqs.service.ReactiveBookingQueryService.BookingView;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.UUID;
+
+import static tqs.boundary.controller.BookingController.BOOKING_NOT_FOUND;
+import static tqs.boundary.controller.BookingController.DEFAULT_SUGGESTIONS;
+import static tqs.boundary.controller.BookingController.IDEMPOTENCY_KEY_HEADER;
+import static tqs.boundary.controller.BookingController.MAX_SUGGESTIONS;
+import static tqs.boundary.controller.BookingController.parseToken;
+
+/**
+ * Citizen booking endpoints on reactive nodes (profile "reactive"), same paths and responses as BookingController
+ * Lookups read over R2DBC without blocking; creating and cancelling go through BookingService on the
+ * booking write scheduler, so they follow the same state machine and capacity rules. Nothing here waits on
+ * an event loop: the token index answers without waiting and Idempotency-Key duplicates wait on a future
+ */
+@RestController
+@RequestMapping("/api/bookings")
+@Profile("reactive")
+public class ReactiveBookingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveBookingController.class);
+
+    private final ReactiveBookingQueryService queryService;
+    private final BookingService bookingService;
+    private final MunicipalityService municipalityService;
+    private final BookingMetrics metrics;
+    private final BookingIdempotencyStore idempotencyStore;
+    private final Scheduler writeScheduler;
+
+    public ReactiveBookingController(ReactiveBookingQueryService queryService, BookingService bookingService,
+                                     MunicipalityService municipalityService, BookingMetrics metrics,
+                                     BookingIdempotencyStore idempotencyStore,
+                                     @Qualifier("bookingWriteScheduler") Scheduler writeScheduler) {
+        this.queryService = queryService;
+        this.bookingService = bookingService;
+        this.municipalityService = municipalityService;
+        this.metrics = metrics;
+        this.idempotencyStore = idempotencyStore;
+        this.writeScheduler = writeScheduler;
+    }
+
+    /**
+     * GET /api/bookings/municipalities
+     */
+    @GetMapping("/municipalities")
+    public Mono<ResponseEntity<List<String>>> getAvailableMunicipalities() {
+        return Mono.just(ResponseEntity.ok(municipalityService.getAvailableMunicipalities()));
+    }
+
+    /**
+     * GET /api/bookings/municipalities/suggest?q=set&limit=10
+     */
+    @GetMapping("/municipalities/suggest")
+    public Mono<ResponseEntity<List<String>>> suggestMunicipalities(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(defaultValue = "" + DEFAULT_SUGGESTIONS) int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return Mono.just(ResponseEntity.ok(municipalityService.suggestMunicipalities(query, boundedLimit)));
+    }
+
+    /**
+     * POST /api/bookings, with the same Idempotency-Key handling as BookingController
+     */
+    @PostMapping
+    public Mono<ResponseEntity<BookingDetailedResponseDTO>> createBooking(
+            @Valid @RequestBody BookingRequestDTO request,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            ServerHttpRequest httpRequest) {
+        Mono<ResponseEntity<BookingDetailedResponseDTO>> create = Mono.fromCallable(() -> create(request))
+                .subscribeOn(writeScheduler);
+        if (idempotencyKey == null) {
+            return create;
+        }
+        // Duplicates wait on the first request's future, not on a write thread
+        InetSocketAddress remote = httpRequest.getRemoteAddress();
+        String client = remote != null ? remote.getHostString() : "";
+        return Mono.fromFuture(() -> idempotencyStore.executeAsync(client, idempotencyKey, request, create::toFuture));
+    }
+
+    private ResponseEntity<BookingDetailedResponseDTO> create(BookingRequestDTO request) {
+        logger.info("Received booking creation request");
+
+        String municipality = municipalityService.resolveMunicipality(request.getMunicipality())
+                .orElseThrow(() -> {
+                    logger.warn("Invalid municipality in booking request");
+                    metrics.rejectedByMunicipality();
+                    return new IllegalArgumentException("Invalid municipality. Please select a valid Portuguese municipality.");
+                });
+        List<BulkItem> items = request.getItems().stream()
+                .map(BulkItemDTO::toEntity)
+                .toList();
+
+        Booking booking = bookingService.createBooking(
+                municipality, request.getCollectionDate(), request.getTimeSlot(), items);
+
+        logger.info("Booking created successfully with ID: {}", booking.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(BookingDetailedResponseDTO.fromEntity(booking, false));
+    }
+
+    /**
+     * GET /api/bookings/{token}
+     */
+    @GetMapping("/{token}")
+    public Mono<ResponseEntity<BookingDetailedResponseDTO>> getBookingByToken(@PathVariable String token) {
+        logger.debug("Finding booking with token: {}", token);
+        return find(token, false);
+    }
+
+    /**
+     * GET /api/bookings/{token}/details
+     */
+    @GetMapping("/{token}/details")
+    public Mono<ResponseEntity<BookingDetailedResponseDTO>> getBookingDetails(@PathVariable String token) {
+        logger.debug("Finding booking details for token: {}", token);
+        return find(token, true);
+    }
+
+    /**
+     * Live status streams are held by the servlet nodes, where staff change bookings
+     * 204 tells EventSource not to reconnect; the page still loads the booking on demand
+     * GET /api/bookings/{token}/stream
+     */
+    @GetMapping("/{token}/stream")
+    public Mono<ResponseEntity<Void>> streamBookingStatus(@PathVariable String token) {
+        return Mono.just(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * PUT /api/bookings/{token}/cancel
+     */
+    @PutMapping("/{token}/cancel")
+    public Mono<ResponseEntity<BookingDetailedResponseDTO>> cancelBooking(@PathVariable String token) {
+        logger.info("Received booking cancellation request");
+
+        UUID accessToken = parseToken(token);
+        return Mono.fromCallable(() -> {
+                    Booking cancelled = bookingService.cancelBookingByToken(accessToken);
+                    logger.info("Booking cancelled successfully");
+                    return ResponseEntity.ok(BookingDetailedResponseDTO.fromEntity(cancelled, false));
+                })
+                .subscribeOn(writeScheduler);
+    }
+
+    private Mono<ResponseEntity<BookingDetailedResponseDTO>> find(String token, boolean includeStatusHistory) {
+        return queryService.findByAccessToken(parseToken(token), includeStatusHistory)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException(BOOKING_NOT_FOUND + token)))
+                .map(view -> ResponseEntity.ok(toResponse(view)));
+    }
+
+    // Same shape as BookingDetailedResponseDTO.fromEntity; the history is already most recent first
+    private static BookingDetailedResponseDTO toResponse(BookingView view) {
+        BookingDetailedResponseDTO dto = new BookingDetailedResponseDTO();
+        dto.setId(view.booking().id());
+        dto.setAccessToken(view.booking().accessToken().toString());
+        dto.setMunicipality(view.booking().municipality());
+        dto.setCollectionDate(view.booking().collectionDate());
+        dto.setTimeSlot(view.booking().timeSlot());
+        dto.setCurrentStatus(view.booking().currentStatus().name());
+        dto.setItems(view.items().stream()
+                .map(item -> new BulkItemDTO(item.name(), item.description(), item.weight(), item.volume()))
+                .toList());
+        if (view.statusHistory() != null) {
+            dto.setStatusHistory(view.statusHistory().stream()
+                    .map(entry -> new StatusHistoryDTO(entry.status().name(), entry.datetime()))
+                    .toList());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,80 @@
+package tqs.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Reactive citizen nodes (profile "reactive"): a small Netty event loop pool, the WebClient for the
+ * municipality API, and the bounded scheduler that runs booking writes through the JPA services
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveCitizenConfig {
+
+    /**
+     * Boot leaves out its JDBC pool once an R2DBC ConnectionFactory exists, but writes, Flyway and the access
+     * token index still need one; this is the same Hikari pool the servlet nodes get from spring.datasource.*
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Shared by the server and nothing else, so a slow client call cannot hold an HTTP event loop
+    @Bean(destroyMethod = "dispose")
+    public LoopResources citizenLoopResources(
+            @Value("${citizen.reactive.event-loop-threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+            int eventLoopThreads) {
+        return LoopResources.create("citizen-http", 1, eventLoopThreads, true);
+    }
+
+    // Tomcat is on the classpath for the staff MVC endpoints, and Boot would pick it ahead of Netty
+    @Bean
+    public NettyReactiveWebServerFactory citizenWebServerFactory(LoopResources citizenLoopResources) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.addServerCustomizers(server -> server.runOn(citizenLoopResources));
+        return factory;
+    }
+
+    @Bean
+    public WebClient municipalityWebClient(WebClient.Builder builder) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
+                .responseTimeout(Duration.ofSeconds(5));
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+
+    /**
+     * Creating and cancelling bookings still runs the JPA services (state machine, capacity ledger, summaries),
+     * which block on JDBC; they run here, one thread per pooled connection, and never on an event loop
+     * Writes beyond the queue fail straight away instead of piling up
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler bookingWriteScheduler(
+            @Value("${citizen.reactive.write-threads:${spring.datasource.hikari.maximum-pool-size:10}}") int threads,
+            @Value("${citizen.reactive.write-queue:1000}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "booking-writes");
+    }
+}
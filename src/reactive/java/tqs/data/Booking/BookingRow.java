@@ -0,0 +1,22 @@
+package tqs.data.Booking;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+import tqs.data.BookingStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read-only R2DBC view of a bookings row, for the reactive citizen API
+ * Writes still go through the Booking entity, so the state machine and capacity rules apply
+ */
+@Table("bookings")
+public record BookingRow(
+        @Id Long id,
+        String municipality,
+        LocalDate collectionDate,
+        String timeSlot,
+        UUID accessToken,
+        BookingStatus currentStatus) {
+}
@@ -0,0 +1,14 @@
+package tqs.data.Booking;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking booking lookups for the reactive citizen API
+ */
+public interface ReactiveBookingRepository extends R2dbcRepository<BookingRow, Long> {
+
+    Mono<BookingRow> findByAccessToken(UUID accessToken);
+}
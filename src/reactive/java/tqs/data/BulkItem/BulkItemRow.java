@@ -0,0 +1,17 @@
+package tqs.data.BulkItem;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC view of a bulk_items row
+ */
+@Table("bulk_items")
+public record BulkItemRow(
+        @Id Long id,
+        String name,
+        String description,
+        Float weight,
+        Float volume,
+        Long bookingId) {
+}
@@ -0,0 +1,12 @@
+package tqs.data.BulkItem;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking bulk item lookups for the reactive citizen API
+ */
+public interface ReactiveBulkItemRepository extends R2dbcRepository<BulkItemRow, Long> {
+
+    Flux<BulkItemRow> findByBookingId(Long bookingId);
+}
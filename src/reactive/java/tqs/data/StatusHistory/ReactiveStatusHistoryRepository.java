@@ -0,0 +1,12 @@
+package tqs.data.StatusHistory;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking status history lookups for the reactive citizen API
+ */
+public interface ReactiveStatusHistoryRepository extends R2dbcRepository<StatusHistoryRow, Long> {
+
+    Flux<StatusHistoryRow> findByBookingIdOrderByDatetimeDesc(Long bookingId);
+}
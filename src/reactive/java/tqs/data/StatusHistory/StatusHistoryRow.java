@@ -0,0 +1,18 @@
+package tqs.data.StatusHistory;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+import tqs.data.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only R2DBC view of a status_history row
+ */
+@Table("status_history")
+public record StatusHistoryRow(
+        @Id Long id,
+        BookingStatus status,
+        LocalDateTime datetime,
+        Long bookingId) {
+}
@@ -0,0 +1,74 @@
+package tqs.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import tqs.data.Booking.BookingRow;
+import tqs.data.Booking.ReactiveBookingRepository;
+import tqs.data.BulkItem.BulkItemRow;
+import tqs.data.BulkItem.ReactiveBulkItemRepository;
+import tqs.data.StatusHistory.ReactiveStatusHistoryRepository;
+import tqs.data.StatusHistory.StatusHistoryRow;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Citizen booking lookups over R2DBC, for the reactive API
+ * Tokens are resolved like BookingService does: through the access token index, falling back to a
+ * by-token query for tokens it does not know
+ */
+@Service
+@Profile("reactive")
+public class ReactiveBookingQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveBookingQueryService.class);
+
+    private final ReactiveBookingRepository bookingRepository;
+    private final ReactiveBulkItemRepository bulkItemRepository;
+    private final ReactiveStatusHistoryRepository statusHistoryRepository;
+    private final AccessTokenIndex tokenIndex;
+
+    public ReactiveBookingQueryService(ReactiveBookingRepository bookingRepository,
+                                       ReactiveBulkItemRepository bulkItemRepository,
+                                       ReactiveStatusHistoryRepository statusHistoryRepository,
+                                       AccessTokenIndex tokenIndex) {
+        this.bookingRepository = bookingRepository;
+        this.bulkItemRepository = bulkItemRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.tokenIndex = tokenIndex;
+    }
+
+    /**
+     * Booking with its items, and its status history (most recent first) if asked for
+     * @return empty if no booking has the token
+     */
+    public Mono<BookingView> findByAccessToken(UUID accessToken, boolean includeStatusHistory) {
+        logger.debug("Finding booking by token: {}", accessToken);
+        return byToken(accessToken).flatMap(booking -> {
+            Mono<List<BulkItemRow>> items = bulkItemRepository.findByBookingId(booking.id()).collectList();
+            Mono<List<StatusHistoryRow>> history = includeStatusHistory
+                    ? statusHistoryRepository.findByBookingIdOrderByDatetimeDesc(booking.id()).collectList()
+                    : Mono.just(List.of());
+            return Mono.zip(items, history,
+                    (i, h) -> new BookingView(booking, i, includeStatusHistory ? h : null));
+        });
+    }
+
+    private Mono<BookingRow> byToken(UUID accessToken) {
+        OptionalLong id = tokenIndex.find(accessToken);
+        if (id.isPresent()) {
+            return bookingRepository.findById(id.getAsLong());
+        }
+        return bookingRepository.findByAccessToken(accessToken);
+    }
+
+    /**
+     * A booking as the citizen sees it; statusHistory is null when it was not asked for
+     */
+    public record BookingView(BookingRow booking, List<BulkItemRow> items, List<StatusHistoryRow> statusHistory) {
+    }
+}
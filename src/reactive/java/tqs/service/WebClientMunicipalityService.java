@@ -0,0 +1,98 @@
+package tqs.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import tqs.service.jfr.MunicipalityFetchEvent;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Municipality catalog for reactive nodes: same in-memory catalog and lookups, fetched with WebClient
+ * The refresh only subscribes to the request, so neither the scheduler nor an event loop thread waits on the API
+ */
+@Service
+@Profile("reactive")
+public class WebClientMunicipalityService extends MunicipalityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebClientMunicipalityService.class);
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public WebClientMunicipalityService(
+            @Qualifier("municipalityWebClient") WebClient webClient,
+            MeterRegistry meterRegistry,
+            @Value("${municipality.api.url:https://json.geoapi.pt/municipios}") String apiUrl,
+            @Value("${municipality.catalog.refresh-interval:PT6H}") Duration refreshInterval,
+            @Value("${municipality.api.timeout:PT5S}") Duration timeout) {
+        super(meterRegistry, apiUrl, refreshInterval);
+        this.webClient = webClient;
+        this.timeout = timeout;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${municipality.catalog.check-interval:PT1M}")
+    public void refreshIfStale() {
+        if (isStale()) {
+            refresh().subscribe();
+        }
+    }
+
+    /**
+     * Blocks until the refresh completes; for callers that are not on an event loop
+     */
+    @Override
+    public boolean refreshCatalog() {
+        return Boolean.TRUE.equals(refresh().block());
+    }
+
+    /**
+     * Fetches the list from the external API and swaps in a new catalog
+     * @return emits true if the catalog was replaced, false if the fetch failed and the last good one was kept
+     */
+    public Mono<Boolean> refresh() {
+        return Mono.defer(() -> {
+            MunicipalityFetchEvent event = new MunicipalityFetchEvent();
+            event.begin();
+            long start = System.nanoTime();
+            return callApi().map(municipalities -> {
+                recordFetch(event, start, municipalities);
+                return install(municipalities);
+            });
+        });
+    }
+
+    private Mono<List<String>> callApi() {
+        logger.info("Fetching municipalities from external API");
+
+        return webClient.get()
+                .uri(getApiUrl())
+                .retrieve()
+                .bodyToMono(String[].class)
+                .timeout(timeout)
+                .map(municipalities -> {
+                    if (municipalities.length == 0) {
+                        logger.warn("External API returned empty municipality list");
+                        return Collections.<String>emptyList();
+                    }
+                    logger.info("Successfully fetched {} municipalities", municipalities.length);
+                    return Arrays.asList(municipalities);
+                })
+                .defaultIfEmpty(Collections.emptyList())
+                .onErrorResume(e -> {
+                    logger.error("Failed to fetch municipalities from external API: {}", e.getMessage());
+                    return Mono.just(Collections.emptyList());
+                });
+    }
+}
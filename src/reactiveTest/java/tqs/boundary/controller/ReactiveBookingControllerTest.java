@@ -0,0 +1,226 @@
+package tqs.boundary.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import tqs.boundary.dto.BookingRequestDTO;
+import tqs.boundary.dto.BulkItemDTO;
+import tqs.data.Booking.Booking;
+import tqs.data.Booking.BookingRow;
+import tqs.data.BookingStatus;
+import tqs.data.BulkItem.BulkItem;
+import tqs.data.BulkItem.BulkItemRow;
+import tqs.data.StatusHistory.StatusHistoryRow;
+import tqs.service.BookingMetrics;
+import tqs.service.BookingService;
+import tqs.service.MunicipalityService;
+import tqs.service.ReactiveBookingQueryService;
+import tqs.service.ReactiveBookingQueryService.BookingView;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveBookingController.class)
+@Import({BookingIdempotencyStore.class, ReactiveBookingControllerTest.WriteScheduler.class})
+@ActiveProfiles("reactive")
+@DisplayName("ReactiveBookingController Tests")
+class ReactiveBookingControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveBookingQueryService queryService;
+
+    @MockitoBean
+    private BookingService bookingService;
+
+    @MockitoBean
+    private MunicipalityService municipalityService;
+
+    @MockitoBean
+    private BookingMetrics metrics;
+
+    private UUID token;
+    private BookingView view;
+    private BookingRequestDTO validRequest;
+
+    @TestConfiguration
+    static class WriteScheduler {
+        @Bean
+        Scheduler bookingWriteScheduler() {
+            return Schedulers.immediate();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        token = UUID.randomUUID();
+        BookingRow booking = new BookingRow(1L, "Porto", LocalDate.now().plusDays(5), "morning", token,
+                BookingStatus.ASSIGNED);
+        view = new BookingView(booking,
+                List.of(new BulkItemRow(10L, "Sofa", "Large sofa", 2.5f, 3.0f, 1L)),
+                List.of(new StatusHistoryRow(21L, BookingStatus.ASSIGNED, LocalDateTime.now(), 1L),
+                        new StatusHistoryRow(20L, BookingStatus.RECEIVED, LocalDateTime.now().minusHours(1), 1L)));
+
+        validRequest = new BookingRequestDTO("Porto", LocalDate.now().plusDays(5), "morning",
+                List.of(new BulkItemDTO("Sofa", "Large sofa", 2.5f, 3.0f)));
+    }
+
+    @Test
+    @DisplayName("GET /api/bookings/{token} - Should return the booking read over R2DBC")
+    void testGetBookingByToken() {
+        when(queryService.findByAccessToken(token, false))
+                .thenReturn(Mono.just(new BookingView(view.booking(), view.items(), null)));
+
+        webTestClient.get().uri("/api/bookings/{token}", token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accessToken").isEqualTo(token.toString())
+                .jsonPath("$.currentStatus").isEqualTo("ASSIGNED")
+                .jsonPath("$.items[0].name").isEqualTo("Sofa")
+                .jsonPath("$.statusHistory").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("GET /api/bookings/{token}/details - Should include the status history, most recent first")
+    void testGetBookingDetails() {
+        when(queryService.findByAccessToken(token, true)).thenReturn(Mono.just(view));
+
+        webTestClient.get().uri("/api/bookings/{token}/details", token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.statusHistory.length()").isEqualTo(2)
+                .jsonPath("$.statusHistory[0].status").isEqualTo("ASSIGNED")
+                .jsonPath("$.statusHistory[1].status").isEqualTo("RECEIVED");
+    }
+
+    @Test
+    @DisplayName("GET /api/bookings/{token} - Should return 404 for an unknown token")
+    void testGetBookingByToken_NotFound() {
+        when(queryService.findByAccessToken(token, false)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/bookings/{token}", token)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Booking not found with token: " + token);
+    }
+
+    @Test
+    @DisplayName("GET /api/bookings/{token} - Should return 404 for a malformed token without a lookup")
+    void testGetBookingByToken_Malformed() {
+        webTestClient.get().uri("/api/bookings/{token}", "not-a-token")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        verifyNoInteractions(queryService);
+    }
+
+    @Test
+    @DisplayName("POST /api/bookings - Should create the booking through BookingService")
+    void testCreateBooking() {
+        Booking created = new Booking("Porto", LocalDate.now().plusDays(5), "morning");
+        created.addBulkItem(new BulkItem("Sofa", "Large sofa", 2.5f, 3.0f));
+        when(municipalityService.resolveMunicipality("Porto")).thenReturn(Optional.of("Porto"));
+        when(bookingService.createBooking(anyString(), any(LocalDate.class), anyString(), anyList()))
+                .thenReturn(created);
+
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(validRequest)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.accessToken").isEqualTo(created.getAccessToken().toString())
+                .jsonPath("$.currentStatus").isEqualTo("RECEIVED");
+    }
+
+    @Test
+    @DisplayName("POST /api/bookings - Should replay the first response for a repeated Idempotency-Key")
+    void testCreateBooking_IdempotencyKeyReplayed() {
+        Booking created = new Booking("Porto", LocalDate.now().plusDays(5), "morning");
+        when(municipalityService.resolveMunicipality("Porto")).thenReturn(Optional.of("Porto"));
+        when(bookingService.createBooking(anyString(), any(LocalDate.class), anyString(), anyList()))
+                .thenReturn(created);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            webTestClient.post().uri("/api/bookings")
+                    .header(BookingController.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(validRequest)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody()
+                    .jsonPath("$.accessToken").isEqualTo(created.getAccessToken().toString());
+        }
+
+        verify(bookingService, times(1)).createBooking(anyString(), any(LocalDate.class), anyString(), anyList());
+        verify(metrics).replayedCreation();
+    }
+
+    @Test
+    @DisplayName("POST /api/bookings - Should reject an unknown municipality")
+    void testCreateBooking_InvalidMunicipality() {
+        when(municipalityService.resolveMunicipality("Porto")).thenReturn(Optional.empty());
+
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(validRequest)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        verify(metrics).rejectedByMunicipality();
+        verify(bookingService, never()).createBooking(anyString(), any(LocalDate.class), anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("PUT /api/bookings/{token}/cancel - Should cancel through BookingService")
+    void testCancelBooking() {
+        Booking cancelled = new Booking("Porto", LocalDate.now().plusDays(5), "morning");
+        cancelled.cancel();
+        when(bookingService.cancelBookingByToken(token)).thenReturn(cancelled);
+
+        webTestClient.put().uri("/api/bookings/{token}/cancel", token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.currentStatus").isEqualTo("CANCELLED");
+    }
+
+    @Test
+    @DisplayName("GET /api/bookings/{token}/stream - Should answer 204 so EventSource does not reconnect")
+    void testStreamBookingStatus() {
+        webTestClient.get().uri("/api/bookings/{token}/stream", token)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verifyNoInteractions(queryService, bookingService);
+    }
+}
@@ -0,0 +1,71 @@
+package tqs.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import tqs.boundary.dto.BookingRequestDTO;
+import tqs.boundary.dto.BulkItemDTO;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the "reactive" profile the way a citizen node runs: Netty, R2DBC reads, and the JDBC pool that
+ * Boot leaves out once R2DBC is configured but the booking writes still need
+ * Both point at the same in-memory H2 database, built by the Flyway migrations
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive_mode;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive_mode;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password="})
+@ActiveProfiles("reactive")
+@DisplayName("Reactive Citizen Mode Tests")
+class ReactiveCitizenModeTest {
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("The citizen API should be served by Netty with a JDBC pool alongside R2DBC")
+    void testServerAndPools() {
+        assertThat(context.getWebServer()).isInstanceOf(NettyWebServer.class);
+        assertThat(context.getBeansOfType(DataSource.class)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("A booking created through JPA should be read back over R2DBC")
+    void testCreateThenRead() {
+        BookingRequestDTO request = new BookingRequestDTO("Porto", LocalDate.now().plusDays(5), "morning",
+                List.of(new BulkItemDTO("Sofa", "Large sofa", 2.5f, 3.0f)));
+
+        Map<?, ?> created = webTestClient.post().uri("/api/bookings")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Map.class)
+                .returnResult().getResponseBody();
+
+        webTestClient.get().uri("/api/bookings/{token}/details", created.get("accessToken"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.municipality").isEqualTo("Porto")
+                .jsonPath("$.currentStatus").isEqualTo("RECEIVED")
+                .jsonPath("$.items[0].name").isEqualTo("Sofa")
+                .jsonPath("$.statusHistory[0].status").isEqualTo("RECEIVED");
+    }
+}
@@ -0,0 +1,112 @@
+package tqs.data;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import tqs.data.Booking.BookingRow;
+import tqs.data.Booking.ReactiveBookingRepository;
+import tqs.data.BulkItem.BulkItemRow;
+import tqs.data.BulkItem.ReactiveBulkItemRepository;
+import tqs.data.StatusHistory.ReactiveStatusHistoryRepository;
+import tqs.data.StatusHistory.StatusHistoryRow;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Reads rows written the way the JPA entities write them (enum names as text, tokens as uuid) through the
+ * R2DBC repositories, on the schema the Flyway migrations build
+ * Runs on in-memory H2; -Dtest.r2dbc.url=r2dbc:postgresql://... -Dtest.flyway.url=jdbc:postgresql://...
+ * (with -Dtest.db.username) runs it against PostgreSQL
+ */
+@DataR2dbcTest(properties = {
+        "spring.r2dbc.url=${test.r2dbc.url:r2dbc:h2:mem:///reactive_rows;DB_CLOSE_DELAY=-1}",
+        "spring.r2dbc.username=${test.db.username:sa}",
+        "spring.r2dbc.password=",
+        "spring.flyway.url=${test.flyway.url:jdbc:h2:mem:reactive_rows;DB_CLOSE_DELAY=-1}",
+        "spring.flyway.user=${test.db.username:sa}",
+        "spring.flyway.password="})
+@ImportAutoConfiguration(FlywayAutoConfiguration.class)
+@ActiveProfiles("reactive")
+@DisplayName("Reactive Repositories Integration Tests")
+class ReactiveRepositoriesTest {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveBookingRepository bookingRepository;
+
+    @Autowired
+    private ReactiveBulkItemRepository bulkItemRepository;
+
+    @Autowired
+    private ReactiveStatusHistoryRepository statusHistoryRepository;
+
+    private final UUID token = UUID.randomUUID();
+    private final LocalDate collectionDate = LocalDate.now().plusDays(5);
+    private final LocalDateTime received = LocalDateTime.of(2026, 1, 10, 9, 30);
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("INSERT INTO bookings (id, municipality, collection_date, time_slot, access_token, "
+                        + "created_at, current_status, version) "
+                        + "VALUES (1, 'Porto', :date, 'morning', :token, :created, 'ASSIGNED', 1)")
+                .bind("date", collectionDate)
+                .bind("token", token)
+                .bind("created", received)
+                .then().block();
+        databaseClient.sql("INSERT INTO bulk_items (id, name, description, weight, volume, booking_id) "
+                        + "VALUES (10, 'Sofa', 'Large sofa', 2.5, 3.0, 1)")
+                .then().block();
+        databaseClient.sql("INSERT INTO status_history (id, status, datetime, booking_id) "
+                        + "VALUES (20, 'RECEIVED', :received, 1), (21, 'ASSIGNED', :assigned, 1)")
+                .bind("received", received)
+                .bind("assigned", received.plusHours(2))
+                .then().block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        databaseClient.sql("DELETE FROM status_history").then().block();
+        databaseClient.sql("DELETE FROM bulk_items").then().block();
+        databaseClient.sql("DELETE FROM bookings").then().block();
+    }
+
+    @Test
+    @DisplayName("Should find a booking by its uuid token and read its status as the enum")
+    void testFindByAccessToken() {
+        BookingRow booking = bookingRepository.findByAccessToken(token).block();
+
+        assertThat(booking).isEqualTo(new BookingRow(1L, "Porto", collectionDate, "morning", token,
+                BookingStatus.ASSIGNED));
+        assertThat(bookingRepository.findByAccessToken(UUID.randomUUID()).blockOptional()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read a booking's items and its history most recent first")
+    void testItemsAndHistory() {
+        List<BulkItemRow> items = bulkItemRepository.findByBookingId(1L).collectList().block();
+        List<StatusHistoryRow> history = statusHistoryRepository.findByBookingIdOrderByDatetimeDesc(1L)
+                .collectList().block();
+
+        assertThat(items).containsExactly(new BulkItemRow(10L, "Sofa", "Large sofa", 2.5f, 3.0f, 1L));
+        assertThat(history)
+                .extracting(StatusHistoryRow::status, StatusHistoryRow::datetime)
+                .containsExactly(
+                        tuple(BookingStatus.ASSIGNED, received.plusHours(2)),
+                        tuple(BookingStatus.RECEIVED, received));
+    }
+}
@@ -0,0 +1,109 @@
+package tqs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tqs.data.Booking.BookingRow;
+import tqs.data.Booking.ReactiveBookingRepository;
+import tqs.data.BookingStatus;
+import tqs.data.BulkItem.BulkItemRow;
+import tqs.data.BulkItem.ReactiveBulkItemRepository;
+import tqs.data.StatusHistory.ReactiveStatusHistoryRepository;
+import tqs.data.StatusHistory.StatusHistoryRow;
+import tqs.service.ReactiveBookingQueryService.BookingView;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveBookingQueryService Tests")
+class ReactiveBookingQueryServiceTest {
+
+    @Mock
+    private ReactiveBookingRepository bookingRepository;
+
+    @Mock
+    private ReactiveBulkItemRepository bulkItemRepository;
+
+    @Mock
+    private ReactiveStatusHistoryRepository statusHistoryRepository;
+
+    @Mock
+    private AccessTokenIndex tokenIndex;
+
+    private ReactiveBookingQueryService queryService;
+    private UUID token;
+    private BookingRow booking;
+
+    @BeforeEach
+    void setUp() {
+        queryService = new ReactiveBookingQueryService(bookingRepository, bulkItemRepository,
+                statusHistoryRepository, tokenIndex);
+        token = UUID.randomUUID();
+        booking = new BookingRow(1L, "Porto", LocalDate.now().plusDays(5), "morning", token, BookingStatus.ASSIGNED);
+    }
+
+    @Test
+    @DisplayName("Should load an indexed token by primary key with its items and history")
+    void testFindByAccessToken_Indexed() {
+        when(tokenIndex.find(token)).thenReturn(OptionalLong.of(1L));
+        when(bookingRepository.findById(1L)).thenReturn(Mono.just(booking));
+        when(bulkItemRepository.findByBookingId(1L))
+                .thenReturn(Flux.just(new BulkItemRow(10L, "Sofa", "Large sofa", 2.5f, 3.0f, 1L)));
+        when(statusHistoryRepository.findByBookingIdOrderByDatetimeDesc(1L)).thenReturn(Flux.just(
+                new StatusHistoryRow(21L, BookingStatus.ASSIGNED, LocalDateTime.now(), 1L),
+                new StatusHistoryRow(20L, BookingStatus.RECEIVED, LocalDateTime.now().minusHours(1), 1L)));
+
+        BookingView view = queryService.findByAccessToken(token, true).block();
+
+        assertThat(view).isNotNull();
+        assertThat(view.booking()).isEqualTo(booking);
+        assertThat(view.items()).extracting(BulkItemRow::name).containsExactly("Sofa");
+        assertThat(view.statusHistory()).extracting(StatusHistoryRow::status)
+                .containsExactly(BookingStatus.ASSIGNED, BookingStatus.RECEIVED);
+        verify(bookingRepository, never()).findByAccessToken(any());
+    }
+
+    @Test
+    @DisplayName("Should skip the status history when it is not asked for")
+    void testFindByAccessToken_WithoutHistory() {
+        when(tokenIndex.find(token)).thenReturn(OptionalLong.of(1L));
+        when(bookingRepository.findById(1L)).thenReturn(Mono.just(booking));
+        when(bulkItemRepository.findByBookingId(1L)).thenReturn(Flux.empty());
+
+        BookingView view = queryService.findByAccessToken(token, false).block();
+
+        assertThat(view).isNotNull();
+        assertThat(view.statusHistory()).isNull();
+        verifyNoInteractions(statusHistoryRepository);
+    }
+
+    @Test
+    @DisplayName("Should query by token when the index does not know it")
+    void testFindByAccessToken_IndexMiss() {
+        when(tokenIndex.find(token)).thenReturn(OptionalLong.empty());
+        when(bookingRepository.findByAccessToken(token)).thenReturn(Mono.just(booking));
+        when(bulkItemRepository.findByBookingId(1L)).thenReturn(Flux.empty());
+
+        BookingView view = queryService.findByAccessToken(token, false).block();
+
+        assertThat(view).isNotNull();
+        assertThat(view.booking().id()).isEqualTo(1L);
+        verify(bookingRepository, never()).findById(anyLong());
+    }
+}
@@ -0,0 +1,94 @@
+package tqs.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("WebClientMunicipalityService Tests")
+class WebClientMunicipalityServiceTest {
+
+    private static final String API_URL = "https://json.geoapi.pt/municipios";
+
+    private final AtomicReference<Mono<ClientResponse>> nextResponse = new AtomicReference<>();
+    private SimpleMeterRegistry meterRegistry;
+    private WebClientMunicipalityService municipalityService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        WebClient webClient = WebClient.builder().exchangeFunction(request -> nextResponse.get()).build();
+        municipalityService = new WebClientMunicipalityService(webClient, meterRegistry, API_URL,
+                Duration.ofHours(6), Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should load the catalog from the API response")
+    void testRefresh_Success() {
+        respondWith(HttpStatus.OK, "[\"Lisboa\", \"Porto\", \"Setúbal\"]");
+
+        assertThat(municipalityService.refresh().block()).isTrue();
+
+        assertThat(municipalityService.getAvailableMunicipalities()).containsExactlyInAnyOrder("Lisboa", "Porto", "Setúbal");
+        assertThat(municipalityService.resolveMunicipality("setubal")).contains("Setúbal");
+        assertThat(apiRequests("success")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the last catalog when the API fails")
+    void testRefresh_FailureKeepsCatalog() {
+        respondWith(HttpStatus.OK, "[\"Lisboa\", \"Porto\"]");
+        municipalityService.refresh().block();
+
+        respondWith(HttpStatus.SERVICE_UNAVAILABLE, "");
+        assertThat(municipalityService.refresh().block()).isFalse();
+
+        assertThat(municipalityService.getAvailableMunicipalities()).containsExactlyInAnyOrder("Lisboa", "Porto");
+        assertThat(apiRequests("failure")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should treat an empty list as a failed fetch")
+    void testRefresh_EmptyList() {
+        respondWith(HttpStatus.OK, "[]");
+
+        assertThat(municipalityService.refresh().block()).isFalse();
+
+        assertThat(municipalityService.getCatalog().isEmpty()).isTrue();
+        assertThat(apiRequests("failure")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should only refresh while the catalog is empty or stale")
+    void testRefreshIfStale() {
+        assertThat(municipalityService.isStale()).isTrue();
+        respondWith(HttpStatus.OK, "[\"Lisboa\"]");
+
+        municipalityService.refreshIfStale();
+
+        assertThat(municipalityService.isStale()).isFalse();
+        assertThat(municipalityService.getAvailableMunicipalities()).containsExactly("Lisboa");
+    }
+
+    private void respondWith(HttpStatus status, String body) {
+        nextResponse.set(Mono.just(ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build()));
+    }
+
+    private long apiRequests(String outcome) {
+        return meterRegistry.get(MunicipalityService.API_REQUESTS).tag("outcome", outcome).timer().count();
+    }
+}
@@ -6,13 +6,19 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import tqs.boundary.dto.BookingRequestDTO;
 import tqs.boundary.dto.BulkItemDTO;
+import tqs.boundary.sse.BookingStatusStreamRegistry;
 import tqs.data.Booking.Booking;
+import tqs.data.Booking.BookingStatusSnapshot;
+import tqs.data.BookingStatus;
 import tqs.data.BulkItem.BulkItem;
+import tqs.service.BookingMetrics;
 import tqs.service.BookingService;
 import tqs.service.MunicipalityService;
 
@@ -20,17 +26,24 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookingController.class)
+@Import(BookingIdempotencyStore.class)
 @DisplayName("BookingController Integration Tests")
 class BookingControllerTest {
 
@@ -46,6 +59,12 @@ class BookingControllerTest {
     @MockitoBean
     private MunicipalityService municipalityService;
 
+    @MockitoBean
+    private BookingMetrics metrics;
+
+    @MockitoBean
+    private BookingStatusStreamRegistry statusStreams;
+
     private Booking testBooking;
     private BookingRequestDTO validRequest;
 
@@ -68,10 +87,32 @@ class BookingControllerTest {
         validRequest.setItems(items);
     }
 
+    @Test
+    @DisplayName("GET /api/bookings/municipalities/suggest - Should return suggestions for the query")
+    void testSuggestMunicipalities() throws Exception {
+        when(municipalityService.suggestMunicipalities("set", 10)).thenReturn(List.of("Setúbal"));
+
+        mockMvc.perform(get("/api/bookings/municipalities/suggest").param("q", "set"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0]").value("Setúbal"));
+    }
+
+    @Test
+    @DisplayName("GET /api/bookings/municipalities/suggest - Should cap the result limit")
+    void testSuggestMunicipalities_LimitCapped() throws Exception {
+        when(municipalityService.suggestMunicipalities(anyString(), anyInt())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/bookings/municipalities/suggest").param("q", "a").param("limit", "1000"))
+                .andExpect(status().isOk());
+
+        verify(municipalityService).suggestMunicipalities("a", 25);
+    }
+
     @Test
     @DisplayName("POST /api/bookings - Should create booking successfully")
     void testCreateBooking_Success() throws Exception {
-        when(municipalityService.isValidMunicipality(anyString())).thenReturn(true);
+        when(municipalityService.resolveMunicipality(anyString())).thenReturn(Optional.of("Porto"));
         when(bookingService.createBooking(anyString(), any(LocalDate.class), anyString(), anyList()))
                 .thenReturn(testBooking);
 
@@ -85,10 +126,40 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.collectionDate").exists())
                 .andExpect(jsonPath("$.timeSlot").value("morning"));
 
-        verify(municipalityService).isValidMunicipality(anyString());
+        verify(municipalityService).resolveMunicipality(anyString());
         verify(bookingService).createBooking(anyString(), any(LocalDate.class), anyString(), anyList());
     }
 
+    @Test
+    @DisplayName("POST /api/bookings - Should store the canonical municipality name")
+    void testCreateBooking_CanonicalMunicipality() throws Exception {
+        validRequest.setMunicipality("setubal");
+        when(municipalityService.resolveMunicipality("setubal")).thenReturn(Optional.of("Setúbal"));
+        when(bookingService.createBooking(anyString(), any(LocalDate.class), anyString(), anyList()))
+                .thenReturn(testBooking);
+
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated());
+
+        verify(bookingService).createBooking(eq("Setúbal"), any(LocalDate.class), anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("POST /api/bookings - Should return 404 when municipality is unknown")
+    void testCreateBooking_UnknownMunicipality() throws Exception {
+        when(municipalityService.resolveMunicipality(anyString())).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isNotFound());
+
+        verify(bookingService, never()).createBooking(anyString(), any(LocalDate.class), anyString(), anyList());
+        verify(metrics).rejectedByMunicipality();
+    }
+
     @Test
     @DisplayName("POST /api/bookings - Should return 400 when municipality is blank")
     void testCreateBooking_BlankMunicipality() throws Exception {
@@ -136,7 +207,7 @@ class BookingControllerTest {
     @Test
     @DisplayName("POST /api/bookings - Should return 409 when capacity is exceeded")
     void testCreateBooking_CapacityExceeded() throws Exception {
-        when(municipalityService.isValidMunicipality(anyString())).thenReturn(true);
+        when(municipalityService.resolveMunicipality(anyString())).thenReturn(Optional.of("Porto"));
         when(bookingService.createBooking(anyString(), any(LocalDate.class), anyString(), anyList()))
                 .thenThrow(new IllegalStateException("Municipality has reached booking capacity for this date"));
 
@@ -148,17 +219,129 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value(409));
     }
 
+    @Test
+    @DisplayName("POST /api/bookings - Should replay the original response for a repeated Idempotency-Key")
+    void testCreateBooking_IdempotentReplay() throws Exception {
+        String key = UUID.randomUUID().toString();
+        when(municipalityService.resolveMunicipality(anyString())).thenReturn(Optional.of("Porto"));
+        when(bookingService.createBooking(anyString(), any(LocalDate.class), anyString(), anyList()))
+                .thenReturn(testBooking);
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.accessToken").value(testBooking.getAccessToken().toString()));
+
+        verify(municipalityService, times(1)).resolveMunicipality(anyString());
+        verify(bookingService, times(1)).createBooking(anyString(), any(LocalDate.class), anyString(), anyList());
+        verify(metrics).replayedCreation();
+    }
+
+    @Test
+    @DisplayName("POST /api/bookings - Should not replay another client's booking for the same Idempotency-Key")
+    void testCreateBooking_IdempotencyKeyOtherClient() throws Exception {
+        String key = UUID.randomUUID().toString();
+        Booking otherBooking = new Booking("Porto", validRequest.getCollectionDate(), "morning");
+        when(municipalityService.resolveMunicipality(anyString())).thenReturn(Optional.of("Porto"));
+        when(bookingService.createBooking(anyString(), any(LocalDate.class), anyString(), anyList()))
+                .thenReturn(testBooking, otherBooking);
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest))
+                        .with(request -> {
+                            request.setRemoteAddr("192.0.2.10");
+                            return request;
+                        }))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest))
+                        .with(request -> {
+                            request.setRemoteAddr("198.51.100.7");
+                            return request;
+                        }))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$.accessToken").value(otherBooking.getAccessToken().toString()));
+
+        verify(bookingService, times(2)).createBooking(anyString(), any(LocalDate.class), anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("POST /api/bookings - Should return 422 when an Idempotency-Key is reused with a different body")
+    void testCreateBooking_IdempotencyKeyReused() throws Exception {
+        String key = UUID.randomUUID().toString();
+        when(municipalityService.resolveMunicipality(anyString())).thenReturn(Optional.of("Porto"));
+        when(bookingService.createBooking(anyString(), any(LocalDate.class), anyString(), anyList()))
+                .thenReturn(testBooking);
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated());
+
+        validRequest.setCollectionDate(validRequest.getCollectionDate().plusDays(1));
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422));
+
+        verify(bookingService, times(1)).createBooking(anyString(), any(LocalDate.class), anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("POST /api/bookings - Should run the request again after a failure with the same Idempotency-Key")
+    void testCreateBooking_IdempotentRetryAfterFailure() throws Exception {
+        String key = UUID.randomUUID().toString();
+        when(municipalityService.resolveMunicipality(anyString())).thenReturn(Optional.of("Porto"));
+        when(bookingService.createBooking(anyString(), any(LocalDate.class), anyString(), anyList()))
+                .thenThrow(new IllegalStateException("Municipality has reached booking capacity for this date"))
+                .thenReturn(testBooking);
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/api/bookings")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        verify(bookingService, times(2)).createBooking(anyString(), any(LocalDate.class), anyString(), anyList());
+    }
+
     @Test
     @DisplayName("GET /api/bookings/{token} - Should return booking by token")
     void testGetBookingByToken_Success() throws Exception {
-        String token = testBooking.getAccessToken();
+        UUID token = testBooking.getAccessToken();
         when(bookingService.findByAccessToken(token)).thenReturn(Optional.of(testBooking));
 
         mockMvc.perform(get("/api/bookings/{token}", token))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.municipality").value("Porto"))
                 .andExpect(jsonPath("$.currentStatus").value("RECEIVED"))
-                .andExpect(jsonPath("$.accessToken").value(token));
+                .andExpect(jsonPath("$.accessToken").value(token.toString()));
 
         verify(bookingService).findByAccessToken(token);
     }
@@ -166,7 +349,7 @@ class BookingControllerTest {
     @Test
     @DisplayName("GET /api/bookings/{token} - Should return 404 when token not found")
     void testGetBookingByToken_NotFound() throws Exception {
-        String invalidToken = "invalid-token";
+        UUID invalidToken = UUID.randomUUID();
         when(bookingService.findByAccessToken(invalidToken)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/bookings/{token}", invalidToken))
@@ -175,6 +358,20 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value(404));
     }
 
+    @Test
+    @DisplayName("GET /api/bookings/{token} - Should return 404 for a malformed token without a lookup")
+    void testGetBookingByToken_MalformedToken() throws Exception {
+        for (String malformed : List.of("invalid-token", "1-2-3-4-5", "zzzzzzzz-zzzz-zzzz-zzzz-zzzzzzzzzzzz")) {
+            mockMvc.perform(get("/api/bookings/{token}", malformed))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message").value("Booking not found with token: " + malformed));
+        }
+        mockMvc.perform(put("/api/bookings/{token}/cancel", "invalid-token"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(bookingService);
+    }
+
     @Test
     @DisplayName("GET /api/bookings/{token}/details - Should return detailed booking info")
     void testGetBookingDetails_Success() throws Exception {
@@ -182,7 +379,7 @@ class BookingControllerTest {
         testBooking.assign();
         testBooking.start();
 
-        String token = testBooking.getAccessToken();
+        UUID token = testBooking.getAccessToken();
         when(bookingService.findByAccessToken(token)).thenReturn(Optional.of(testBooking));
 
         mockMvc.perform(get("/api/bookings/{token}/details", token))
@@ -200,7 +397,7 @@ class BookingControllerTest {
     @Test
     @DisplayName("GET /api/bookings/{token}/details - Should return 404 when token not found")
     void testGetBookingDetails_NotFound() throws Exception {
-        String invalidToken = "invalid-token";
+        UUID invalidToken = UUID.randomUUID();
         when(bookingService.findByAccessToken(invalidToken)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/bookings/{token}/details", invalidToken))
@@ -208,29 +405,70 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.message").value("Booking not found with token: " + invalidToken));
     }
 
+    @Test
+    @DisplayName("GET /api/bookings/{token}/stream - Should open a status stream for an active booking")
+    void testStreamBookingStatus() throws Exception {
+        UUID token = testBooking.getAccessToken();
+        when(bookingService.findStatusByAccessToken(token)).thenReturn(Optional.of(
+                new BookingStatusSnapshot(7L, BookingStatus.ASSIGNED, 1L, "Porto", testBooking.getCollectionDate())));
+        when(statusStreams.subscribe(7L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/bookings/{token}/stream", token).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(statusStreams).subscribe(7L);
+        verify(bookingService, never()).findByAccessToken(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/bookings/{token}/stream - Should answer 204 for a booking in a final status")
+    void testStreamBookingStatus_Final() throws Exception {
+        UUID token = testBooking.getAccessToken();
+        when(bookingService.findStatusByAccessToken(token)).thenReturn(Optional.of(
+                new BookingStatusSnapshot(7L, BookingStatus.COMPLETED, 4L, "Porto", testBooking.getCollectionDate())));
+
+        mockMvc.perform(get("/api/bookings/{token}/stream", token).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNoContent());
+
+        verify(statusStreams, never()).subscribe(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/bookings/{token}/stream - Should return 404 when token not found")
+    void testStreamBookingStatus_NotFound() throws Exception {
+        UUID invalidToken = UUID.randomUUID();
+        when(bookingService.findStatusByAccessToken(invalidToken)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/bookings/{token}/stream", invalidToken))
+                .andExpect(status().isNotFound());
+
+        verify(statusStreams, never()).subscribe(any());
+    }
+
     @Test
     @DisplayName("PUT /api/bookings/{token}/cancel - Should cancel booking successfully")
     void testCancelBooking_Success() throws Exception {
-        String token = testBooking.getAccessToken();
+        UUID token = testBooking.getAccessToken();
         Booking cancelledBooking = new Booking("Porto", LocalDate.now().plusDays(5), "morning");
         cancelledBooking.cancel();
 
-        when(bookingService.findByAccessToken(token)).thenReturn(Optional.of(testBooking));
-        when(bookingService.cancelBooking(any())).thenReturn(cancelledBooking);
+        when(bookingService.cancelBookingByToken(token)).thenReturn(cancelledBooking);
 
         mockMvc.perform(put("/api/bookings/{token}/cancel", token))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.currentStatus").value("CANCELLED"))
                 .andExpect(jsonPath("$.municipality").value("Porto"));
 
-        verify(bookingService).findByAccessToken(token);
+        verify(bookingService).cancelBookingByToken(token);
+        verify(bookingService, never()).findByAccessToken(any());
     }
 
     @Test
     @DisplayName("PUT /api/bookings/{token}/cancel - Should return 404 when token not found")
     void testCancelBooking_NotFound() throws Exception {
-        String invalidToken = "invalid-token";
-        when(bookingService.findByAccessToken(invalidToken)).thenReturn(Optional.empty());
+        UUID invalidToken = UUID.randomUUID();
+        when(bookingService.cancelBookingByToken(invalidToken))
+                .thenThrow(new IllegalArgumentException("Booking not found with token: " + invalidToken));
 
         mockMvc.perform(put("/api/bookings/{token}/cancel", invalidToken))
                 .andExpect(status().isNotFound())
@@ -240,10 +478,9 @@ class BookingControllerTest {
     @Test
     @DisplayName("PUT /api/bookings/{token}/cancel - Should return 400 when trying to cancel from invalid state")
     void testCancelBooking_InvalidStateTransition() throws Exception {
-        String token = testBooking.getAccessToken();
+        UUID token = testBooking.getAccessToken();
 
-        when(bookingService.findByAccessToken(token)).thenReturn(Optional.of(testBooking));
-        when(bookingService.cancelBooking(any()))
+        when(bookingService.cancelBookingByToken(token))
                 .thenThrow(new tqs.data.state.InvalidStateTransitionException(
                         "COMPLETED", "cancel"));
 
@@ -252,4 +489,16 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.message").exists())
                 .andExpect(jsonPath("$.status").value(400));
     }
+
+    @Test
+    @DisplayName("PUT /api/bookings/{token}/cancel - Should return 409 when a concurrent update wins")
+    void testCancelBooking_ConcurrentConflict() throws Exception {
+        UUID token = testBooking.getAccessToken();
+        when(bookingService.cancelBookingByToken(token))
+                .thenThrow(new IllegalStateException("Booking was modified concurrently, please retry"));
+
+        mockMvc.perform(put("/api/bookings/{token}/cancel", token))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
 }
@@ -3,16 +3,17 @@ package tqs.boundary.controller;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.client.TestRestTemplate;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
+import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 import tqs.boundary.dto.BookingDetailedResponseDTO;
+import tqs.boundary.dto.BookingPageDTO;
 import tqs.boundary.dto.BookingRequestDTO;
 import tqs.boundary.dto.BookingDetailedResponseDTO;
 import tqs.boundary.dto.BulkItemDTO;
@@ -20,17 +21,26 @@ import tqs.data.Booking.Booking;
 import tqs.data.Booking.BookingRepository;
 import tqs.data.BookingStatus;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 /**
  * Full-Stack Integration Tests for Booking System
  */
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
 @AutoConfigureTestDatabase
+@AutoConfigureObservability
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @DisplayName("Booking Full-Stack Integration Tests")
 class BookingFullStackIT {
@@ -41,6 +51,9 @@ class BookingFullStackIT {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @LocalServerPort
+    private int port;
+
     @Test
     @DisplayName("Should create booking and persist to database (full stack)")
     void whenCreateBooking_thenPersistToDatabase() {
@@ -87,7 +100,7 @@ class BookingFullStackIT {
         // Verify booking exists in database
         List<Booking> bookingsInDb = bookingRepository.findAll();
         assertThat(bookingsInDb).hasSize(1);
-        assertThat(bookingsInDb.get(0).getAccessToken()).isEqualTo(token);
+        assertThat(bookingsInDb.get(0).getAccessToken()).hasToString(token);
 
         // Act - Make real HTTP GET request (try both String and Map response)
         ResponseEntity<String> errorResponse = restTemplate.getForEntity(
@@ -181,17 +194,15 @@ class BookingFullStackIT {
         restTemplate.postForEntity("/api/bookings", createValidBookingRequest("Faro"), BookingDetailedResponseDTO.class);
 
         // Act - Get all bookings via staff endpoint
-        ResponseEntity<List<BookingDetailedResponseDTO>> response = restTemplate.exchange(
+        ResponseEntity<BookingPageDTO> response = restTemplate.getForEntity(
                 "/api/staff/bookings",
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<BookingDetailedResponseDTO>>() {}
+                BookingPageDTO.class
         );
 
         // Assert
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).hasSize(3);
-        assertThat(response.getBody())
+        assertThat(response.getBody().getItems()).hasSize(3);
+        assertThat(response.getBody().getItems())
                 .extracting(BookingDetailedResponseDTO::getMunicipality)
                 .containsExactlyInAnyOrder("Porto", "Lisboa", "Faro");
     }
@@ -205,17 +216,15 @@ class BookingFullStackIT {
         restTemplate.postForEntity("/api/bookings", createValidBookingRequest("Lisboa"), BookingDetailedResponseDTO.class);
 
         // Act
-        ResponseEntity<List<BookingDetailedResponseDTO>> response = restTemplate.exchange(
+        ResponseEntity<BookingPageDTO> response = restTemplate.getForEntity(
                 "/api/staff/bookings/municipality/Porto",
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<BookingDetailedResponseDTO>>() {}
+                BookingPageDTO.class
         );
 
         // Assert
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).hasSize(2);
-        assertThat(response.getBody())
+        assertThat(response.getBody().getItems()).hasSize(2);
+        assertThat(response.getBody().getItems())
                 .allMatch(booking -> booking.getMunicipality().equals("Porto"));
     }
 
@@ -238,26 +247,115 @@ class BookingFullStackIT {
         restTemplate.put("/api/bookings/" + booking1.getBody().getAccessToken() + "/cancel", null);
 
         // Act - Get bookings by status
-        ResponseEntity<List<BookingDetailedResponseDTO>> receivedResponse = restTemplate.exchange(
+        ResponseEntity<BookingPageDTO> receivedResponse = restTemplate.getForEntity(
                 "/api/staff/bookings/status/RECEIVED",
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<BookingDetailedResponseDTO>>() {}
+                BookingPageDTO.class
         );
 
-        ResponseEntity<List<BookingDetailedResponseDTO>> cancelledResponse = restTemplate.exchange(
+        ResponseEntity<BookingPageDTO> cancelledResponse = restTemplate.getForEntity(
                 "/api/staff/bookings/status/CANCELLED",
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<BookingDetailedResponseDTO>>() {}
+                BookingPageDTO.class
         );
 
         // Assert
-        assertThat(receivedResponse.getBody()).hasSize(1);
-        assertThat(receivedResponse.getBody().get(0).getCurrentStatus()).isEqualTo("RECEIVED");
+        assertThat(receivedResponse.getBody().getItems()).hasSize(1);
+        assertThat(receivedResponse.getBody().getItems().get(0).getCurrentStatus()).isEqualTo("RECEIVED");
+
+        assertThat(cancelledResponse.getBody().getItems()).hasSize(1);
+        assertThat(cancelledResponse.getBody().getItems().get(0).getCurrentStatus()).isEqualTo("CANCELLED");
+    }
+
+    @Test
+    @DisplayName("Should expose booking counters and per-endpoint latency histograms to Prometheus")
+    void whenBookingsCreated_thenPrometheusEndpointReportsThem() {
+        // Arrange
+        BookingDetailedResponseDTO created = restTemplate.postForEntity(
+                "/api/bookings", createValidBookingRequest("Porto"), BookingDetailedResponseDTO.class).getBody();
+        restTemplate.put("/api/bookings/" + created.getAccessToken() + "/cancel", null);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .contains("zeromonos_bookings_accepted_total{application=\"ZeroMonos\"} 1.0")
+                .contains("zeromonos_booking_transitions_total{action=\"cancel\"")
+                .contains("zeromonos_bookings_rejected_total{application=\"ZeroMonos\",reason=\"capacity\"} 0.0")
+                .containsPattern("http_server_requests_seconds_bucket\\{.*method=\"POST\".*uri=\"/api/bookings\",le=")
+                .containsPattern("http_server_requests_seconds_bucket\\{.*method=\"PUT\".*uri=\"/api/bookings/\\{token}/cancel\",le=");
+    }
+
+    @Test
+    @DisplayName("Should push a snapshot on connect and a delta after a booking is created")
+    void whenBookingCreated_thenSummaryStreamPushesDelta() {
+        assertTimeoutPreemptively(Duration.ofSeconds(15), () -> {
+            // Arrange - open the dashboard stream
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/staff/bookings/summary/stream"))
+                    .header("Accept", "text/event-stream")
+                    .build();
+            HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                    .send(request, HttpResponse.BodyHandlers.ofLines());
+
+            try (Stream<String> body = response.body()) {
+                Iterator<String> lines = body.iterator();
+                assertThat(nextEventData(lines, "snapshot")).contains("\"total\":0");
+
+                // Act
+                restTemplate.postForEntity("/api/bookings", createValidBookingRequest("Porto"),
+                        BookingDetailedResponseDTO.class);
+
+                // Assert
+                assertThat(nextEventData(lines, "delta"))
+                        .contains("\"total\":1")
+                        .contains("\"RECEIVED\":1")
+                        .contains("\"Porto\":1");
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should push only the new history entry to a citizen watching the booking")
+    void whenStaffAssignsBooking_thenStatusStreamPushesEntry() {
+        // Arrange
+        BookingDetailedResponseDTO created = restTemplate.postForEntity("/api/bookings",
+                createValidBookingRequest("Porto"), BookingDetailedResponseDTO.class).getBody();
+        assertThat(created).isNotNull();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(15), () -> {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(
+                            "http://localhost:" + port + "/api/bookings/" + created.getAccessToken() + "/stream"))
+                    .header("Accept", "text/event-stream")
+                    .build();
+            HttpResponse<Stream<String>> response = HttpClient.newHttpClient()
+                    .send(request, HttpResponse.BodyHandlers.ofLines());
+
+            try (Stream<String> body = response.body()) {
+                // Act
+                restTemplate.put("/api/staff/bookings/" + created.getId() + "/assign", null);
+
+                // Assert
+                assertThat(nextEventData(body.iterator(), "status"))
+                        .contains("\"status\":\"ASSIGNED\"")
+                        .contains("\"timestamp\":")
+                        .doesNotContain("municipality");
+            }
+        });
+    }
 
-        assertThat(cancelledResponse.getBody()).hasSize(1);
-        assertThat(cancelledResponse.getBody().get(0).getCurrentStatus()).isEqualTo("CANCELLED");
+    // Data line of the next SSE event with the given name
+    private static String nextEventData(Iterator<String> lines, String eventName) {
+        boolean inEvent = false;
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.equals("event:" + eventName)) {
+                inEvent = true;
+            } else if (inEvent && line.startsWith("data:")) {
+                return line.substring("data:".length());
+            }
+        }
+        throw new AssertionError("Stream ended before a '" + eventName + "' event");
     }
 
     /**
@@ -0,0 +1,308 @@
+package tqs.boundary.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import tqs.boundary.dto.BookingDetailedResponseDTO;
+import tqs.boundary.dto.BookingRequestDTO;
+import tqs.boundary.dto.BulkItemDTO;
+import tqs.service.BookingMetrics;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingIdempotencyStore Tests")
+class BookingIdempotencyStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final int MAX_ENTRIES = 3;
+    private static final String CLIENT = "192.0.2.10";
+
+    @Mock
+    private BookingMetrics metrics;
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    // Requests held in flight each need their own thread
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private BookingIdempotencyStore store;
+    private BookingRequestDTO request;
+
+    @BeforeEach
+    void setUp() {
+        store = new BookingIdempotencyStore(TTL, MAX_ENTRIES, Duration.ofSeconds(5), metrics,
+                new ObjectMapper().findAndRegisterModules(), now::get);
+        request = new BookingRequestDTO("Porto", LocalDate.now().plusDays(5), "morning",
+                List.of(new BulkItemDTO("Sofa", "Large sofa", 2.5f, 3.0f)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run the request once and replay its response for the same key")
+    void testExecute_Replay() {
+        ResponseEntity<BookingDetailedResponseDTO> first = store.execute(CLIENT, "key", request, this::created);
+        ResponseEntity<BookingDetailedResponseDTO> second = store.execute(CLIENT, "key", request, this::created);
+
+        assertThat(calls).hasValue(1);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getBody()).isSameAs(first.getBody());
+        assertThat(second.getHeaders().getFirst(BookingIdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        verify(metrics).replayedCreation();
+    }
+
+    @Test
+    @DisplayName("Should reject a key sent again with a different body")
+    void testExecute_DifferentBody() {
+        store.execute(CLIENT, "key", request, this::created);
+        BookingRequestDTO otherDate = new BookingRequestDTO("Porto", LocalDate.now().plusDays(6), "morning",
+                request.getItems());
+
+        assertThatThrownBy(() -> store.execute(CLIENT, "key", otherDate, this::created))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should make a duplicate wait for the request in flight instead of running it again")
+    void testExecute_ConcurrentDuplicateWaits() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> first = CompletableFuture.supplyAsync(
+                () -> store.execute(CLIENT, "key", request, () -> {
+                    started.countDown();
+                    await(release);
+                    return created();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> duplicate =
+                CompletableFuture.supplyAsync(() -> store.execute(CLIENT, "key", request, this::created));
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody()).isSameAs(first.get(5, TimeUnit.SECONDS).getBody());
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should forget a failed request so a retry runs it again")
+    void testExecute_FailureNotStored() {
+        Supplier<ResponseEntity<BookingDetailedResponseDTO>> failing = () -> {
+            throw new IllegalStateException("Municipality has reached booking capacity for this date");
+        };
+
+        assertThatThrownBy(() -> store.execute(CLIENT, "key", request, failing)).isInstanceOf(IllegalStateException.class);
+        store.execute(CLIENT, "key", request, this::created);
+
+        assertThat(calls).hasValue(1);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run the request again once the key has expired")
+    void testExecute_Expired() {
+        store.execute(CLIENT, "key", request, this::created);
+        now.addAndGet(TTL.toNanos());
+
+        ResponseEntity<BookingDetailedResponseDTO> again = store.execute(CLIENT, "key", request, this::created);
+
+        assertThat(calls).hasValue(2);
+        assertThat(again.getHeaders().containsKey(BookingIdempotencyStore.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest key when full")
+    void testExecute_Bounded() {
+        for (int i = 0; i <= MAX_ENTRIES; i++) {
+            store.execute(CLIENT, "key-" + i, request, this::created);
+        }
+        assertThat(store.size()).isEqualTo(MAX_ENTRIES);
+
+        store.execute(CLIENT, "key-" + MAX_ENTRIES, request, this::created);
+        assertThat(calls).hasValue(MAX_ENTRIES + 1);
+        store.execute(CLIENT, "key-0", request, this::created);
+        assertThat(calls).hasValue(MAX_ENTRIES + 2);
+    }
+
+    @Test
+    @DisplayName("Should never replay a response to another client using the same key and body")
+    void testExecute_ScopedToClient() {
+        ResponseEntity<BookingDetailedResponseDTO> first = store.execute(CLIENT, "key", request, this::created);
+        ResponseEntity<BookingDetailedResponseDTO> other = store.execute("198.51.100.7", "key", request, this::created);
+
+        assertThat(calls).hasValue(2);
+        assertThat(other.getBody()).isNotSameAs(first.getBody());
+        assertThat(other.getHeaders().containsKey(BookingIdempotencyStore.REPLAYED_HEADER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop completed keys before one still in flight, and refuse new keys when only those remain")
+    void testExecute_InFlightNeverDropped() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>>> inFlight = new ArrayList<>();
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            String key = "slow-" + i;
+            CountDownLatch started = new CountDownLatch(1);
+            inFlight.add(CompletableFuture.supplyAsync(() -> store.execute(CLIENT, key, request, () -> {
+                started.countDown();
+                await(release);
+                return created();
+            }), executor));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThatThrownBy(() -> store.execute(CLIENT, "new", request, this::created))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(store.size()).isEqualTo(MAX_ENTRIES);
+
+        release.countDown();
+        for (CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> response : inFlight) {
+            response.get(5, TimeUnit.SECONDS);
+        }
+        store.execute(CLIENT, "new", request, this::created);
+        assertThat(calls).hasValue(MAX_ENTRIES + 1);
+    }
+
+    @Test
+    @DisplayName("Should skip a key still in flight when dropping the oldest")
+    void testExecute_OldestInFlightKept() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> slow = CompletableFuture.supplyAsync(
+                () -> store.execute(CLIENT, "slow", request, () -> {
+                    started.countDown();
+                    await(release);
+                    return created();
+                }), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            store.execute(CLIENT, "key-" + i, request, this::created);
+        }
+
+        // The slow request's retry waits for it rather than booking a second time
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> retry =
+                CompletableFuture.supplyAsync(() -> store.execute(CLIENT, "slow", request, this::created), executor);
+        release.countDown();
+
+        assertThat(retry.get(5, TimeUnit.SECONDS).getBody()).isSameAs(slow.get(5, TimeUnit.SECONDS).getBody());
+        assertThat(calls).hasValue(MAX_ENTRIES + 1);
+    }
+
+    @Test
+    @DisplayName("Should reject blank and oversized keys")
+    void testExecute_InvalidKey() {
+        String oversized = "k".repeat(BookingIdempotencyStore.MAX_KEY_LENGTH + 1);
+
+        assertThatThrownBy(() -> store.execute(CLIENT, " ", request, this::created)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.execute(CLIENT, oversized, request, this::created)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should hand a duplicate of a request in flight a future of its response without blocking")
+    void testExecuteAsync_DuplicateDoesNotBlock() throws Exception {
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> pending = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> first =
+                store.executeAsync(CLIENT, "key", request, () -> pending);
+
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> duplicate =
+                store.executeAsync(CLIENT, "key", request, () -> CompletableFuture.completedFuture(created()));
+        assertThat(duplicate).isNotDone();
+
+        pending.complete(created());
+        ResponseEntity<BookingDetailedResponseDTO> replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(calls).hasValue(1);
+        assertThat(replayed.getBody()).isSameAs(first.get().getBody());
+        assertThat(replayed.getHeaders().getFirst(BookingIdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("Should fail a waiting duplicate like the first request, and forget the key")
+    void testExecuteAsync_Failure() {
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> pending = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> first =
+                store.executeAsync(CLIENT, "key", request, () -> pending);
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> duplicate =
+                store.executeAsync(CLIENT, "key", request, () -> CompletableFuture.completedFuture(created()));
+
+        pending.completeExceptionally(new IllegalStateException("Date full"));
+
+        assertThat(first).failsWithin(Duration.ofSeconds(5)).withThrowableOfType(Exception.class)
+                .havingRootCause().isInstanceOf(IllegalStateException.class);
+        assertThat(duplicate).failsWithin(Duration.ofSeconds(5)).withThrowableOfType(Exception.class)
+                .havingRootCause().withMessage("Date full");
+        assertThat(store.executeAsync(CLIENT, "key", request, () -> CompletableFuture.completedFuture(created())))
+                .succeedsWithin(Duration.ofSeconds(5));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should fail a waiting duplicate after the wait timeout without failing the first request")
+    void testExecuteAsync_WaitTimeout() {
+        store = new BookingIdempotencyStore(TTL, MAX_ENTRIES, Duration.ofMillis(50), metrics,
+                new ObjectMapper().findAndRegisterModules(), now::get);
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> pending = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> first =
+                store.executeAsync(CLIENT, "key", request, () -> pending);
+
+        CompletableFuture<ResponseEntity<BookingDetailedResponseDTO>> duplicate =
+                store.executeAsync(CLIENT, "key", request, () -> CompletableFuture.completedFuture(created()));
+
+        assertThat(duplicate).failsWithin(Duration.ofSeconds(5)).withThrowableOfType(Exception.class)
+                .havingRootCause().isInstanceOf(IllegalStateException.class)
+                .withMessageContaining("still being processed");
+        pending.complete(created());
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should fail the future of a key sent again with a different body")
+    void testExecuteAsync_DifferentBody() {
+        store.executeAsync(CLIENT, "key", request, () -> CompletableFuture.completedFuture(created()));
+        BookingRequestDTO other = new BookingRequestDTO("Lisboa", request.getCollectionDate(), "morning",
+                request.getItems());
+
+        assertThat(store.executeAsync(CLIENT, "key", other, () -> CompletableFuture.completedFuture(created())))
+                .failsWithin(Duration.ofSeconds(5)).withThrowableOfType(Exception.class)
+                .havingRootCause().isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    private ResponseEntity<BookingDetailedResponseDTO> created() {
+        calls.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).body(new BookingDetailedResponseDTO());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package tqs.boundary.controller;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tqs.service.FlightRecordingService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(FlightRecordingController.class)
+@DisplayName("FlightRecordingController Integration Tests")
+class FlightRecordingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private FlightRecordingService recordingService;
+
+    // Never started, so it records nothing
+    private final Recording recording = new Recording();
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    @DisplayName("POST /api/staff/recordings - Should start a recording")
+    void testStartRecording() throws Exception {
+        recording.setName("zeromonos-staff");
+        when(recordingService.start()).thenReturn(recording);
+
+        mockMvc.perform(post("/api/staff/recordings"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name", is("zeromonos-staff")))
+                .andExpect(jsonPath("$.state", is("NEW")));
+    }
+
+    @Test
+    @DisplayName("POST /api/staff/recordings - Should return 409 when a recording is already running")
+    void testStartRecording_AlreadyRunning() throws Exception {
+        when(recordingService.start()).thenThrow(new IllegalStateException("A flight recording is already running"));
+
+        mockMvc.perform(post("/api/staff/recordings"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message", containsString("already running")));
+    }
+
+    @Test
+    @DisplayName("POST /api/staff/recordings/stop - Should return 404 when nothing was started")
+    void testStopRecording_NoneStarted() throws Exception {
+        when(recordingService.stop()).thenThrow(new IllegalArgumentException("No flight recording has been started"));
+
+        mockMvc.perform(post("/api/staff/recordings/stop"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/staff/recordings/dump - Should stream the dump as a file download and delete it")
+    void testDumpRecording() throws Exception {
+        Path file = Files.createTempFile("zeromonos-staff-", ".jfr");
+        Files.write(file, new byte[] {1, 2, 3});
+        when(recordingService.dump()).thenReturn(file);
+
+        MvcResult result = mockMvc.perform(get("/api/staff/recordings/dump"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString(file.getFileName().toString())))
+                .andExpect(content().bytes(new byte[] {1, 2, 3}));
+        assertThat(file).doesNotExist();
+    }
+}
@@ -5,18 +5,34 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tqs.boundary.sse.SummaryStreamBroadcaster;
 import tqs.data.Booking.Booking;
+import tqs.data.Booking.BookingCursor;
 import tqs.data.BookingStatus;
 import tqs.data.BulkItem.BulkItem;
+import tqs.data.BookingAggregate.AggregateDimension;
+import tqs.data.BookingAggregate.BookingAggregate;
 import tqs.service.BookingService;
+import tqs.service.BookingSummaryService;
+import tqs.service.BulkTransitionService;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,6 +48,15 @@ class StaffControllerTest {
     @MockitoBean
     private BookingService bookingService;
 
+    @MockitoBean
+    private BookingSummaryService summaryService;
+
+    @MockitoBean
+    private BulkTransitionService bulkTransitionService;
+
+    @MockitoBean
+    private SummaryStreamBroadcaster summaryStream;
+
     private Booking pendingBooking;
     private Booking assignedBooking;
     private Booking inProgressBooking;
@@ -65,31 +90,84 @@ class StaffControllerTest {
         field.set(booking, id);
     }
 
+    // Helper method to build a keyset page as the service returns it
+    private Slice<Booking> page(List<Booking> bookings, boolean hasNext) {
+        return new SliceImpl<>(bookings, PageRequest.ofSize(BookingService.DEFAULT_PAGE_SIZE), hasNext);
+    }
+
     @Test
-    @DisplayName("GET /api/staff/bookings - Should return all bookings")
+    @DisplayName("GET /api/staff/bookings - Should return the first page of bookings")
     void testGetAllBookings_Success() throws Exception {
-        when(bookingService.getAllBookings()).thenReturn(allBookings);
+        when(bookingService.getBookingsPage(null, null, null, BookingService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page(allBookings, false));
 
         mockMvc.perform(get("/api/staff/bookings"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(3)))
-                .andExpect(jsonPath("$[0].currentStatus").value("RECEIVED"))
-                .andExpect(jsonPath("$[1].currentStatus").value("ASSIGNED"))
-                .andExpect(jsonPath("$[2].currentStatus").value("IN_PROGRESS"));
-
-        verify(bookingService).getAllBookings();
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[0].currentStatus").value("RECEIVED"))
+                .andExpect(jsonPath("$.items[1].currentStatus").value("ASSIGNED"))
+                .andExpect(jsonPath("$.items[2].currentStatus").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        verify(bookingService).getBookingsPage(null, null, null, BookingService.DEFAULT_PAGE_SIZE);
     }
 
     @Test
-    @DisplayName("GET /api/staff/bookings - Should return empty list when no bookings exist")
+    @DisplayName("GET /api/staff/bookings - Should return empty page when no bookings exist")
     void testGetAllBookings_EmptyList() throws Exception {
-        when(bookingService.getAllBookings()).thenReturn(List.of());
+        when(bookingService.getBookingsPage(null, null, null, BookingService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page(List.of(), false));
 
         mockMvc.perform(get("/api/staff/bookings"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/staff/bookings - Should return a cursor that resumes after the last row")
+    void testGetBookings_NextCursorRoundTrip() throws Exception {
+        when(bookingService.getBookingsPage(null, null, null, 2))
+                .thenReturn(page(List.of(pendingBooking, assignedBooking), true));
+        BookingCursor expected = BookingCursor.of(assignedBooking);
+        when(bookingService.getBookingsPage(null, null, expected, 2))
+                .thenReturn(page(List.of(inProgressBooking), false));
+
+        mockMvc.perform(get("/api/staff/bookings").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(expected.encode()));
+
+        mockMvc.perform(get("/api/staff/bookings").param("size", "2").param("cursor", expected.encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/staff/bookings - Should combine municipality and status filters")
+    void testGetBookings_CombinedFilters() throws Exception {
+        when(bookingService.getBookingsPage("Porto", BookingStatus.IN_PROGRESS, null, 10))
+                .thenReturn(page(List.of(inProgressBooking), false));
+
+        mockMvc.perform(get("/api/staff/bookings")
+                        .param("municipality", "Porto")
+                        .param("status", "IN_PROGRESS")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].municipality").value("Porto"));
+    }
+
+    @Test
+    @DisplayName("GET /api/staff/bookings - Should reject a malformed cursor")
+    void testGetBookings_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/staff/bookings").param("cursor", "not-a-cursor"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Invalid page cursor: not-a-cursor"));
     }
 
     @Test
@@ -97,13 +175,13 @@ class StaffControllerTest {
     void testGetBookingById_Success() throws Exception {
         // Add more state transitions to create history
         Booking detailedBooking = new Booking("Porto", LocalDate.now().plusDays(5), "morning");
-        setId(detailedBooking, 10L); // Set ID for filtering
+        setId(detailedBooking, 10L);
         detailedBooking.addBulkItem(new BulkItem("Sofa", "Large sofa", 2.5f, 3.0f));
         detailedBooking.addBulkItem(new BulkItem("Table", "Wooden table", 1.2f, 1.5f));
         detailedBooking.assign();
         detailedBooking.start();
 
-        when(bookingService.getAllBookings()).thenReturn(List.of(detailedBooking));
+        when(bookingService.findBookingDetails(10L)).thenReturn(Optional.of(detailedBooking));
 
         mockMvc.perform(get("/api/staff/bookings/{id}", 10L))
                 .andExpect(status().isOk())
@@ -118,7 +196,7 @@ class StaffControllerTest {
     @Test
     @DisplayName("GET /api/staff/bookings/{id} - Should return 404 when ID not found")
     void testGetBookingById_NotFound() throws Exception {
-        when(bookingService.getAllBookings()).thenReturn(allBookings);
+        when(bookingService.findBookingDetails(999L)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/staff/bookings/{id}", 999L))
                 .andExpect(status().isNotFound())
@@ -126,46 +204,96 @@ class StaffControllerTest {
                 .andExpect(jsonPath("$.status").value(404));
     }
 
+    @Test
+    @DisplayName("GET /api/staff/bookings/summary - Should serve the materialized counts")
+    void testGetSummary_FromAggregates() throws Exception {
+        when(summaryService.getSummary()).thenReturn(List.of(
+                new BookingAggregate(AggregateDimension.STATUS, "RECEIVED", 2),
+                new BookingAggregate(AggregateDimension.STATUS, "ASSIGNED", 1),
+                new BookingAggregate(AggregateDimension.MUNICIPALITY, "Porto", 2),
+                new BookingAggregate(AggregateDimension.MUNICIPALITY, "Lisboa", 1)));
+
+        mockMvc.perform(get("/api/staff/bookings/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus.RECEIVED").value(2))
+                .andExpect(jsonPath("$.byStatus.ASSIGNED").value(1))
+                .andExpect(jsonPath("$.byMunicipality.Porto").value(2))
+                .andExpect(jsonPath("$.byMunicipality.Lisboa").value(1));
+
+        verify(bookingService, never()).getAllBookings();
+        verify(bookingService, never()).getBookingsPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/staff/bookings/summary/stream - Should open an event stream")
+    void testStreamSummary() throws Exception {
+        when(summaryStream.subscribe()).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/staff/bookings/summary/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(summaryStream).subscribe();
+    }
+
+    @Test
+    @DisplayName("POST /api/staff/bookings/summary/rebuild - Should rebuild and return the counts")
+    void testRebuildSummary() throws Exception {
+        when(summaryService.rebuild()).thenReturn(List.of(
+                new BookingAggregate(AggregateDimension.STATUS, "COMPLETED", 4),
+                new BookingAggregate(AggregateDimension.MUNICIPALITY, "Braga", 4)));
+
+        mockMvc.perform(post("/api/staff/bookings/summary/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.byStatus.COMPLETED").value(4))
+                .andExpect(jsonPath("$.byMunicipality.Braga").value(4));
+
+        verify(summaryService).rebuild();
+    }
+
     @Test
     @DisplayName("GET /api/staff/bookings/municipality/{municipality} - Should return bookings for municipality")
     void testGetBookingsByMunicipality_Success() throws Exception {
         List<Booking> portoBookings = Arrays.asList(pendingBooking, inProgressBooking);
-        when(bookingService.getBookingsByMunicipality("Porto")).thenReturn(portoBookings);
+        when(bookingService.getBookingsPage("Porto", null, null, BookingService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page(portoBookings, false));
 
         mockMvc.perform(get("/api/staff/bookings/municipality/{municipality}", "Porto"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].municipality").value("Porto"))
-                .andExpect(jsonPath("$[1].municipality").value("Porto"));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].municipality").value("Porto"))
+                .andExpect(jsonPath("$.items[1].municipality").value("Porto"));
 
-        verify(bookingService).getBookingsByMunicipality("Porto");
+        verify(bookingService).getBookingsPage("Porto", null, null, BookingService.DEFAULT_PAGE_SIZE);
     }
 
     @Test
     @DisplayName("GET /api/staff/bookings/municipality/{municipality} - Should return empty list for municipality with no bookings")
     void testGetBookingsByMunicipality_Empty() throws Exception {
-        when(bookingService.getBookingsByMunicipality("Coimbra")).thenReturn(List.of());
+        when(bookingService.getBookingsPage("Coimbra", null, null, BookingService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page(List.of(), false));
 
         mockMvc.perform(get("/api/staff/bookings/municipality/{municipality}", "Coimbra"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items", hasSize(0)));
     }
 
     @Test
     @DisplayName("GET /api/staff/bookings/status/{status} - Should return bookings by status")
     void testGetBookingsByStatus_Success() throws Exception {
-        when(bookingService.getBookingsByStatus(BookingStatus.RECEIVED))
-                .thenReturn(List.of(pendingBooking));
+        when(bookingService.getBookingsPage(null, BookingStatus.RECEIVED, null, BookingService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page(List.of(pendingBooking), false));
 
         mockMvc.perform(get("/api/staff/bookings/status/{status}", "RECEIVED"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].currentStatus").value("RECEIVED"));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].currentStatus").value("RECEIVED"));
 
-        verify(bookingService).getBookingsByStatus(BookingStatus.RECEIVED);
+        verify(bookingService).getBookingsPage(null, BookingStatus.RECEIVED, null, BookingService.DEFAULT_PAGE_SIZE);
     }
 
     @Test
@@ -174,32 +302,32 @@ class StaffControllerTest {
         Booking anotherPending = new Booking("Braga", LocalDate.now().plusDays(8), "morning");
         anotherPending.addBulkItem(new BulkItem("Desk", "Office desk", 1.5f, 2.0f));
 
-        when(bookingService.getBookingsByStatus(BookingStatus.RECEIVED))
-                .thenReturn(Arrays.asList(pendingBooking, anotherPending));
+        when(bookingService.getBookingsPage(null, BookingStatus.RECEIVED, null, BookingService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page(Arrays.asList(pendingBooking, anotherPending), false));
 
         mockMvc.perform(get("/api/staff/bookings/status/{status}", "RECEIVED"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].currentStatus").value("RECEIVED"))
-                .andExpect(jsonPath("$[1].currentStatus").value("RECEIVED"));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].currentStatus").value("RECEIVED"))
+                .andExpect(jsonPath("$.items[1].currentStatus").value("RECEIVED"));
     }
 
     @Test
     @DisplayName("GET /api/staff/bookings/municipality/{municipality}/status/{status} - Should filter by both criteria")
     void testGetBookingsByMunicipalityAndStatus_Success() throws Exception {
-        when(bookingService.getBookingsByMunicipalityAndStatus("Porto", BookingStatus.RECEIVED))
-                .thenReturn(List.of(pendingBooking));
+        when(bookingService.getBookingsPage("Porto", BookingStatus.RECEIVED, null, BookingService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page(List.of(pendingBooking), false));
 
         mockMvc.perform(get("/api/staff/bookings/municipality/{municipality}/status/{status}", 
                         "Porto", "RECEIVED"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].municipality").value("Porto"))
-                .andExpect(jsonPath("$[0].currentStatus").value("RECEIVED"));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].municipality").value("Porto"))
+                .andExpect(jsonPath("$.items[0].currentStatus").value("RECEIVED"));
 
-        verify(bookingService).getBookingsByMunicipalityAndStatus("Porto", BookingStatus.RECEIVED);
+        verify(bookingService).getBookingsPage("Porto", BookingStatus.RECEIVED, null, BookingService.DEFAULT_PAGE_SIZE);
     }
 
     @Test
@@ -318,4 +446,45 @@ class StaffControllerTest {
         mockMvc.perform(put("/api/staff/bookings/{id}/cancel", 999L))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("POST /api/staff/bookings/transitions - Should return per-item results in request order")
+    void testApplyTransitions() throws Exception {
+        when(bulkTransitionService.applyAll(List.of(
+                new BulkTransitionService.Command(1L, "assign"),
+                new BulkTransitionService.Command(3L, "assign"))))
+                .thenReturn(List.of(
+                        new BulkTransitionService.Result(1L, "assign", BookingStatus.ASSIGNED, null),
+                        new BulkTransitionService.Result(3L, "assign", BookingStatus.IN_PROGRESS,
+                                "Cannot perform action 'assign' in state 'IN_PROGRESS'")));
+
+        mockMvc.perform(post("/api/staff/bookings/transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transitions\":[{\"bookingId\":1,\"action\":\"assign\"},"
+                                + "{\"bookingId\":3,\"action\":\"assign\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results", hasSize(2)))
+                .andExpect(jsonPath("$.results[0].success").value(true))
+                .andExpect(jsonPath("$.results[0].status").value("ASSIGNED"))
+                .andExpect(jsonPath("$.results[1].success").value(false))
+                .andExpect(jsonPath("$.results[1].error").value("Cannot perform action 'assign' in state 'IN_PROGRESS'"));
+    }
+
+    @Test
+    @DisplayName("POST /api/staff/bookings/transitions - Should return 400 for an empty or malformed request")
+    void testApplyTransitions_Invalid() throws Exception {
+        mockMvc.perform(post("/api/staff/bookings/transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transitions\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/staff/bookings/transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transitions\":[{\"action\":\"assign\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(bulkTransitionService, never()).applyAll(anyList());
+    }
 }
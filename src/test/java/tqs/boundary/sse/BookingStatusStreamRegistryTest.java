@@ -0,0 +1,151 @@
+package tqs.boundary.sse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tqs.boundary.dto.StatusHistoryDTO;
+import tqs.data.BookingStatus;
+import tqs.service.BookingStatusChangedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingStatusStreamRegistry Tests")
+class BookingStatusStreamRegistryTest {
+
+    private static final int MAX_PER_BOOKING = 2;
+
+    @Mock
+    private ExecutorService senders;
+
+    private BookingStatusStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new BookingStatusStreamRegistry(Duration.ofMinutes(1), MAX_PER_BOOKING, senders);
+    }
+
+    @Test
+    @DisplayName("Should send a change only to the subscribers of that booking")
+    void testOnStatusChanged_FansOutToBooking() {
+        registry.subscribe(1L);
+        registry.subscribe(1L);
+        registry.subscribe(2L);
+
+        registry.onStatusChanged(new BookingStatusChangedEvent(1L, BookingStatus.ASSIGNED, LocalDateTime.now()));
+
+        assertThat(registry.getSubscriberCount()).isEqualTo(3);
+        verify(senders, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing for a booking nobody is watching")
+    void testOnStatusChanged_NoSubscribers() {
+        registry.subscribe(2L);
+
+        registry.onStatusChanged(new BookingStatusChangedEvent(1L, BookingStatus.ASSIGNED, LocalDateTime.now()));
+
+        verifyNoInteractions(senders);
+    }
+
+    @Test
+    @DisplayName("Should send chained changes to every stream in commit order on concurrent senders")
+    void testOnStatusChanged_OrderedPerStream() throws Exception {
+        List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+        ExecutorService concurrentSenders = Executors.newVirtualThreadPerTaskExecutor();
+        BookingStatusStreamRegistry ordered = new BookingStatusStreamRegistry(() -> {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }, MAX_PER_BOOKING, concurrentSenders);
+        ordered.subscribe(1L);
+        ordered.subscribe(1L);
+
+        // A bulk request chaining ASSIGN -> START -> COMPLETE publishes all three after one commit
+        for (BookingStatus status : List.of(BookingStatus.ASSIGNED, BookingStatus.IN_PROGRESS, BookingStatus.COMPLETED)) {
+            ordered.onStatusChanged(new BookingStatusChangedEvent(1L, status, LocalDateTime.now()));
+        }
+
+        for (RecordingEmitter emitter : emitters) {
+            assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(emitter.received).containsExactly("ASSIGNED", "IN_PROGRESS", "COMPLETED");
+        }
+        concurrentSenders.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reject streams beyond the per-booking limit")
+    void testSubscribe_LimitPerBooking() {
+        registry.subscribe(1L);
+        registry.subscribe(1L);
+
+        assertThatThrownBy(() -> registry.subscribe(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Too many open status streams for this booking");
+        assertThat(registry.getSubscriberCount()).isEqualTo(MAX_PER_BOOKING);
+        registry.subscribe(2L);
+    }
+
+    @Test
+    @DisplayName("Should send one keep-alive per open stream")
+    void testHeartbeat() {
+        registry.subscribe(1L);
+        registry.subscribe(2L);
+
+        registry.heartbeat();
+
+        verify(senders, times(2)).execute(any());
+    }
+
+    // Records the statuses sent; the first write is slow, so an unordered later one would overtake it
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (completed.getCount() == 0) {
+                throw new IllegalStateException("Emitter already completed");
+            }
+            if (received.isEmpty()) {
+                sleep();
+            }
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof StatusHistoryDTO entry) {
+                    received.add(entry.getStatus());
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        private static void sleep() {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package tqs.boundary.sse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tqs.boundary.dto.SummaryDeltaDTO;
+import tqs.data.BookingAggregate.AggregateDimension;
+import tqs.data.BookingAggregate.BookingAggregate;
+import tqs.service.BookingSummaryService;
+import tqs.service.SummaryChangedEvent;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SummaryStreamBroadcaster Tests")
+class SummaryStreamBroadcasterTest {
+
+    @Mock
+    private BookingSummaryService summaryService;
+
+    private SummaryStreamBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new SummaryStreamBroadcaster(summaryService, new ObjectMapper(), Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should send a snapshot to each new subscriber")
+    void testSubscribe_SendsSnapshot() {
+        broadcaster.subscribe();
+        broadcaster.subscribe();
+
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(2);
+        verify(summaryService, times(2)).getSummary();
+    }
+
+    @Test
+    @DisplayName("Should ignore changes and skip reads while nobody is subscribed")
+    void testFlush_NoSubscribers() {
+        broadcaster.onSummaryChanged(new SummaryChangedEvent(AggregateDimension.STATUS, "RECEIVED"));
+
+        broadcaster.flush();
+
+        verifyNoInteractions(summaryService);
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst of changes into one read shared by all subscribers")
+    void testFlush_CoalescesBurst() {
+        // Given - two dashboards and a burst of committed changes
+        broadcaster.subscribe();
+        broadcaster.subscribe();
+        when(summaryService.getStatusCounts()).thenReturn(List.of(
+                new BookingAggregate(AggregateDimension.STATUS, "RECEIVED", 3)));
+        when(summaryService.getMunicipalityCounts(anyCollection())).thenReturn(List.of(
+                new BookingAggregate(AggregateDimension.MUNICIPALITY, "Porto", 2)));
+        for (int i = 0; i < 3; i++) {
+            broadcaster.onSummaryChanged(new SummaryChangedEvent(AggregateDimension.STATUS, "RECEIVED"));
+        }
+        broadcaster.onSummaryChanged(new SummaryChangedEvent(AggregateDimension.MUNICIPALITY, "Porto"));
+        broadcaster.onSummaryChanged(new SummaryChangedEvent(AggregateDimension.MUNICIPALITY, "Braga"));
+        broadcaster.onSummaryChanged(new SummaryChangedEvent(AggregateDimension.MUNICIPALITY, "Porto"));
+
+        // When
+        broadcaster.flush();
+        broadcaster.flush();
+
+        // Then - one read for the burst, nothing for the quiet second flush
+        verify(summaryService, times(1)).getStatusCounts();
+        verify(summaryService, times(1)).getMunicipalityCounts(argThat(keys ->
+                keys.size() == 2 && keys.containsAll(List.of("Porto", "Braga"))));
+    }
+
+    @Test
+    @DisplayName("Should resend the full summary after a rebuild")
+    void testFlush_Rebuild() {
+        broadcaster.subscribe();
+        broadcaster.onSummaryChanged(SummaryChangedEvent.all());
+
+        broadcaster.flush();
+
+        verify(summaryService, times(2)).getSummary();
+        verify(summaryService, never()).getStatusCounts();
+    }
+
+    @Test
+    @DisplayName("Delta should carry current values and zero for municipalities that emptied")
+    void testDeltaFromAggregates() {
+        SummaryDeltaDTO delta = SummaryDeltaDTO.fromAggregates(
+                List.of(new BookingAggregate(AggregateDimension.STATUS, "RECEIVED", 2),
+                        new BookingAggregate(AggregateDimension.STATUS, "CANCELLED", 1)),
+                List.of(new BookingAggregate(AggregateDimension.MUNICIPALITY, "Porto", 3)),
+                List.of("Porto", "Braga"));
+
+        assertThat(delta.getTotal()).isEqualTo(3);
+        assertThat(delta.getByStatus()).containsEntry("RECEIVED", 2L).containsEntry("CANCELLED", 1L);
+        assertThat(delta.getByMunicipality()).containsEntry("Porto", 3L).containsEntry("Braga", 0L);
+    }
+}
@@ -0,0 +1,73 @@
+package tqs.config;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the cache mode each kind of transaction gets once the replica dialect is installed
+ * Runs without the test-managed transaction, so each template begins its own
+ */
+@DataJpaTest
+@Import(ReadOnlyCacheModeJpaDialectTest.DialectConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Read-Only Cache Mode Dialect Tests")
+class ReadOnlyCacheModeJpaDialectTest {
+
+    @TestConfiguration
+    static class DialectConfig {
+        @Bean
+        static BeanPostProcessor readOnlyCacheModeDialect() {
+            return ReadReplicaDataSourceConfig.readOnlyCacheModeDialect();
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should read the second-level cache without filling it")
+    void testReadOnly_GetOnly() {
+        CacheMode mode = readOnly.execute(status -> cacheMode());
+        assertThat(mode).isEqualTo(CacheMode.GET);
+    }
+
+    @Test
+    @DisplayName("Read-write transactions should use the cache normally")
+    void testReadWrite_Normal() {
+        CacheMode mode = readWrite.execute(status -> cacheMode());
+        assertThat(mode).isEqualTo(CacheMode.NORMAL);
+    }
+
+    private CacheMode cacheMode() {
+        return entityManager.unwrap(Session.class).getCacheMode();
+    }
+}
@@ -0,0 +1,71 @@
+package tqs.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that read-only transactions reach the replica and everything else the primary
+ * Each in-memory database holds a row naming it
+ */
+@DisplayName("Read/Write DataSource Routing Tests")
+class ReadReplicaDataSourceConfigTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource routing = ReadReplicaDataSourceConfig.readWriteRouting(primary, replica);
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("Read-only transactions should read from the replica")
+    void testReadOnlyGoesToReplica() {
+        String database = readOnly.execute(status -> whichDatabase());
+        assertThat(database).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Read-write transactions should use the primary")
+    void testReadWriteGoesToPrimary() {
+        String database = readWrite.execute(status -> whichDatabase());
+        assertThat(database).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Work outside a transaction should use the primary")
+    void testNoTransactionGoesToPrimary() {
+        assertThat(whichDatabase()).isEqualTo("primary");
+    }
+
+    private String whichDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM which_database", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS which_database (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM which_database");
+        jdbc.update("INSERT INTO which_database (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
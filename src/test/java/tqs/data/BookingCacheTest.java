@@ -0,0 +1,141 @@
+package tqs.data;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tqs.data.Booking.Booking;
+import tqs.data.Booking.BookingRepository;
+import tqs.data.BulkItem.BulkItem;
+import tqs.data.StatusHistory.StatusHistory;
+import tqs.data.StatusHistory.StatusHistoryRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that token lookups are served from the second-level cache and that transitions evict it
+ * Each step commits in its own transaction: READ_WRITE regions only take rows once they are committed
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Booking Second-Level Cache Tests")
+class BookingCacheTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private StatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+    private Statistics statistics;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        readWrite = new TransactionTemplate(transactionManager);
+        booking = new Booking("Porto", LocalDate.now().plusDays(3), "morning");
+        booking.addBulkItem(new BulkItem("Sofa", "Three-seater", 30f, 2f));
+        booking = readWrite.execute(status -> bookingRepository.save(booking));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM status_history");
+        jdbcTemplate.update("DELETE FROM bulk_items");
+        jdbcTemplate.update("DELETE FROM bookings");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("A repeated token lookup, items and history included, should not reach the database")
+    void testFindByAccessToken_ServedFromCache() {
+        lookUp();
+        statistics.clear();
+
+        Booking cached = lookUp();
+
+        assertThat(cached.getId()).isEqualTo(booking.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+        assertThat(statistics.getSecondLevelCacheMissCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("A transition should evict the booking and its history, so the next lookup sees it")
+    void testCompareAndSetStatus_EvictsBooking() {
+        lookUp();
+
+        readWrite.executeWithoutResult(status -> {
+            assertThat(bookingRepository.compareAndSetStatus(booking.getId(), BookingStatus.RECEIVED,
+                    booking.getVersion(), BookingStatus.ASSIGNED)).isEqualTo(1);
+            statusHistoryRepository.save(new StatusHistory(BookingStatus.ASSIGNED,
+                    bookingRepository.getReferenceById(booking.getId())));
+        });
+
+        Booking reloaded = lookUp();
+
+        assertThat(reloaded.getCurrentStatus()).isEqualTo(BookingStatus.ASSIGNED);
+        assertThat(reloaded.getVersion()).isEqualTo(booking.getVersion() + 1);
+        assertThat(reloaded.getStatusHistories())
+                .extracting(StatusHistory::getStatus)
+                .containsExactly(BookingStatus.RECEIVED, BookingStatus.ASSIGNED);
+    }
+
+    @Test
+    @DisplayName("Evicting bookings changed with plain SQL should drop only those bookings")
+    void testEvictFromCache() {
+        Booking other = readWrite.execute(status ->
+                bookingRepository.save(new Booking("Braga", LocalDate.now().plusDays(3), "evening")));
+        lookUp();
+        readWrite.execute(status -> bookingRepository.findByAccessToken(other.getAccessToken()).orElseThrow());
+
+        jdbcTemplate.update("UPDATE bookings SET current_status = 'CANCELLED', version = version + 1 WHERE id IN (?, ?)",
+                booking.getId(), other.getId());
+        bookingRepository.evictFromCache(List.of(booking.getId()));
+
+        assertThat(lookUp().getCurrentStatus()).isEqualTo(BookingStatus.CANCELLED);
+        // Not evicted, so still the cached state
+        BookingStatus otherStatus = readWrite.execute(status ->
+                bookingRepository.findByAccessToken(other.getAccessToken()).orElseThrow().getCurrentStatus());
+        assertThat(otherStatus).isEqualTo(BookingStatus.RECEIVED);
+    }
+
+    // What the citizen endpoints read: the booking by token, then both collections, in a transaction of its own
+    // Read-write, since read-only transactions do not fill the cache (see ReadOnlyCacheModeJpaDialect)
+    private Booking lookUp() {
+        return readWrite.execute(status -> {
+            Booking found = bookingRepository.findByAccessToken(booking.getAccessToken()).orElseThrow();
+            found.getBulkItems().size();
+            found.getStatusHistories().size();
+            return found;
+        });
+    }
+}
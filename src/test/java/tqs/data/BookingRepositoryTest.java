@@ -7,16 +7,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
 
 import tqs.data.Booking.Booking;
+import tqs.data.Booking.BookingCursor;
+import tqs.data.Booking.BookingSpecifications;
 import tqs.data.Booking.BookingRepository;
+import tqs.data.Booking.BookingStatusSnapshot;
 import tqs.data.BulkItem.BulkItem;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Integration tests for BookingRepository
@@ -71,7 +79,7 @@ class BookingRepositoryTest {
     @Test
     @DisplayName("Should find booking by access token")
     void testFindByAccessToken() {
-        String token = booking1.getAccessToken();
+        UUID token = booking1.getAccessToken();
 
         Optional<Booking> found = bookingRepository.findByAccessToken(token);
 
@@ -83,7 +91,7 @@ class BookingRepositoryTest {
     @Test
     @DisplayName("Should return empty when access token not found")
     void testFindByAccessTokenNotFound() {
-        Optional<Booking> found = bookingRepository.findByAccessToken("non-existent-token");
+        Optional<Booking> found = bookingRepository.findByAccessToken(UUID.randomUUID());
 
         assertThat(found).isEmpty();
     }
@@ -141,8 +149,8 @@ class BookingRepositoryTest {
     @Test
     @DisplayName("Should check if access token exists")
     void testExistsByAccessToken() {
-        String existingToken = booking1.getAccessToken();
-        String nonExistingToken = "non-existent-token";
+        UUID existingToken = booking1.getAccessToken();
+        UUID nonExistingToken = UUID.randomUUID();
 
         assertThat(bookingRepository.existsByAccessToken(existingToken)).isTrue();
         assertThat(bookingRepository.existsByAccessToken(nonExistingToken)).isFalse();
@@ -217,4 +225,87 @@ class BookingRepositoryTest {
         Booking retrieved = bookingRepository.findById(saved.getId()).orElseThrow();
         assertThat(retrieved.getBulkItems()).hasSize(2);
     }
+
+    @Test
+    @DisplayName("Should walk keyset pages in (collectionDate, id) order without gaps or duplicates")
+    void testKeysetPagination() {
+        for (int i = 0; i < 4; i++) {
+            entityManager.persist(new Booking("Porto", LocalDate.of(2025, 11, 15), "Morning"));
+        }
+        entityManager.flush();
+
+        List<Booking> walked = new ArrayList<>();
+        BookingCursor cursor = null;
+        List<Booking> page;
+        do {
+            Specification<Booking> spec = Specification.allOf(BookingSpecifications.after(cursor));
+            page = bookingRepository.findBy(spec,
+                    q -> q.sortBy(BookingSpecifications.KEYSET_ORDER).limit(2).all());
+            walked.addAll(page);
+            if (!page.isEmpty()) {
+                cursor = BookingCursor.of(page.get(page.size() - 1));
+            }
+        } while (page.size() == 2);
+
+        assertThat(walked).hasSize(7).doesNotHaveDuplicates();
+        assertThat(walked).isSortedAccordingTo(Comparator.comparing(Booking::getCollectionDate)
+                .thenComparing(Booking::getId));
+    }
+
+    @Test
+    @DisplayName("Should combine municipality and status filters with a keyset cursor")
+    void testKeysetPaginationWithFilters() {
+        Specification<Booking> spec = Specification.allOf(
+                BookingSpecifications.hasMunicipality("Porto"),
+                BookingSpecifications.hasStatus(BookingStatus.ASSIGNED),
+                BookingSpecifications.after(BookingCursor.of(booking1)));
+
+        List<Booking> result = bookingRepository.findBy(spec,
+                q -> q.sortBy(BookingSpecifications.KEYSET_ORDER).limit(10).all());
+
+        assertThat(result).extracting(Booking::getId).containsExactly(booking2.getId());
+    }
+
+    @Test
+    @DisplayName("Should round-trip a page cursor and reject malformed ones")
+    void testBookingCursorEncoding() {
+        BookingCursor cursor = new BookingCursor(LocalDate.of(2025, 11, 15), 42L);
+
+        assertThat(BookingCursor.decode(cursor.encode())).isEqualTo(cursor);
+        assertThat(BookingCursor.decode(null)).isNull();
+        assertThatThrownBy(() -> BookingCursor.decode("garbage"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should read a status snapshot by id and by access token")
+    void testFindStatusSnapshot() {
+        BookingStatusSnapshot byId = bookingRepository.findStatusSnapshotById(booking2.getId()).orElseThrow();
+        BookingStatusSnapshot byToken = bookingRepository.findStatusSnapshotByAccessToken(booking2.getAccessToken()).orElseThrow();
+
+        assertThat(byId).isEqualTo(byToken);
+        assertThat(byId.currentStatus()).isEqualTo(BookingStatus.ASSIGNED);
+        assertThat(byId.version()).isEqualTo(booking2.getVersion());
+        assertThat(byId.municipality()).isEqualTo("Porto");
+        assertThat(bookingRepository.findStatusSnapshotByAccessToken(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Compare-and-set should apply only against the expected status and version")
+    void testCompareAndSetStatus() {
+        Long id = booking1.getId();
+        Long version = booking1.getVersion();
+
+        // Wrong expected status or stale version: nothing changes
+        assertThat(bookingRepository.compareAndSetStatus(id, BookingStatus.ASSIGNED, version, BookingStatus.IN_PROGRESS)).isZero();
+        assertThat(bookingRepository.compareAndSetStatus(id, BookingStatus.RECEIVED, version + 1, BookingStatus.ASSIGNED)).isZero();
+
+        // Matching status and version: applied once, and the loser of a race sees 0
+        assertThat(bookingRepository.compareAndSetStatus(id, BookingStatus.RECEIVED, version, BookingStatus.ASSIGNED)).isEqualTo(1);
+        assertThat(bookingRepository.compareAndSetStatus(id, BookingStatus.RECEIVED, version, BookingStatus.CANCELLED)).isZero();
+
+        BookingStatusSnapshot after = bookingRepository.findStatusSnapshotById(id).orElseThrow();
+        assertThat(after.currentStatus()).isEqualTo(BookingStatus.ASSIGNED);
+        assertThat(after.version()).isEqualTo(version + 1);
+    }
 }
@@ -152,7 +152,7 @@ class BookingTest {
         
         assertThat(str).contains("Booking").contains("Porto");
         assertThat(str).contains("Morning");
-        assertThat(str).contains(booking.getAccessToken());
+        assertThat(str).contains(booking.getAccessToken().toString());
     }
 
     @Test
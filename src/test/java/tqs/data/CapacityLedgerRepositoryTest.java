@@ -0,0 +1,86 @@
+package tqs.data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import tqs.data.CapacityLedger.CapacityLedger;
+import tqs.data.CapacityLedger.CapacityLedgerRepository;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for CapacityLedgerRepository
+ */
+@DataJpaTest
+@DisplayName("CapacityLedgerRepository Integration Tests")
+class CapacityLedgerRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CapacityLedgerRepository ledgerRepository;
+
+    private final LocalDate date = LocalDate.of(2025, 11, 15);
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persistAndFlush(new CapacityLedger("Porto", date, 9));
+        entityManager.persistAndFlush(new CapacityLedger("Lisboa", date, 0));
+        entityManager.clear();
+    }
+
+    private int activeBookings(String municipality) {
+        entityManager.clear();
+        return ledgerRepository.findByMunicipalityAndCollectionDate(municipality, date)
+                .orElseThrow()
+                .getActiveBookings();
+    }
+
+    @Test
+    @DisplayName("Should take a slot while below capacity")
+    void testReserveSlot_BelowCapacity() {
+        assertThat(ledgerRepository.reserveSlot("Porto", date, 10)).isEqualTo(1);
+        assertThat(activeBookings("Porto")).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should refuse a slot once capacity is reached")
+    void testReserveSlot_AtCapacity() {
+        ledgerRepository.reserveSlot("Porto", date, 10);
+
+        assertThat(ledgerRepository.reserveSlot("Porto", date, 10)).isZero();
+        assertThat(activeBookings("Porto")).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should not reserve when no ledger row exists")
+    void testReserveSlot_MissingRow() {
+        assertThat(ledgerRepository.reserveSlot("Braga", date, 10)).isZero();
+        assertThat(ledgerRepository.existsByMunicipalityAndCollectionDate("Braga", date)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should release a slot without going below zero")
+    void testReleaseSlot() {
+        assertThat(ledgerRepository.releaseSlot("Porto", date)).isEqualTo(1);
+        assertThat(activeBookings("Porto")).isEqualTo(8);
+
+        assertThat(ledgerRepository.releaseSlot("Lisboa", date)).isZero();
+        assertThat(activeBookings("Lisboa")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should enforce one ledger row per municipality and date")
+    void testUniqueMunicipalityAndDate() {
+        assertThatThrownBy(() -> entityManager.persistAndFlush(new CapacityLedger("Porto", date, 0)))
+                .isInstanceOf(Exception.class);
+    }
+}
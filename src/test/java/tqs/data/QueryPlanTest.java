@@ -0,0 +1,142 @@
+package tqs.data;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the plans of the repository queries against the migrated schema, on a seeded dataset,
+ * so a query whose index goes missing (a sequential table scan) fails the build
+ * The SQL mirrors what Hibernate generates for each repository method
+ */
+@DataJpaTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Query Plan Tests")
+class QueryPlanTest {
+
+    private static final int MUNICIPALITIES = 50;
+    private static final int DAYS = 90;
+    private static final int BOOKINGS = 20_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID knownToken;
+
+    // Committed outside the per-test transactions, so it is seeded once and removed afterwards
+    @BeforeAll
+    void seed() {
+        List<Object[]> bookings = new ArrayList<>(BOOKINGS);
+        List<Object[]> items = new ArrayList<>(BOOKINGS * 2);
+        List<Object[]> history = new ArrayList<>(BOOKINGS * 2);
+        LocalDateTime created = FIRST_DAY.minusDays(30).atStartOfDay();
+        for (long id = 1; id <= BOOKINGS; id++) {
+            // Mostly finished bookings, with a small active queue, as in a system that has run for a while
+            BookingStatus status = switch ((int) (id % 20)) {
+                case 0, 1 -> BookingStatus.RECEIVED;
+                case 2 -> BookingStatus.ASSIGNED;
+                case 3 -> BookingStatus.IN_PROGRESS;
+                case 4, 5 -> BookingStatus.CANCELLED;
+                default -> BookingStatus.COMPLETED;
+            };
+            UUID token = UUID.randomUUID();
+            LocalDateTime at = created.plusMinutes(id * 3);
+            bookings.add(new Object[]{id, "Municipality " + (id % MUNICIPALITIES),
+                    Date.valueOf(FIRST_DAY.plusDays(id % DAYS)), "morning", token,
+                    Timestamp.valueOf(at), status.name()});
+            items.add(new Object[]{id * 2, "Sofa", 30f, 2f, id});
+            items.add(new Object[]{id * 2 + 1, "Table", 15f, 1f, id});
+            history.add(new Object[]{id * 2, BookingStatus.RECEIVED.name(), Timestamp.valueOf(at), id});
+            if (status != BookingStatus.RECEIVED) {
+                history.add(new Object[]{id * 2 + 1, status.name(), Timestamp.valueOf(at.plusDays(2)), id});
+            }
+            knownToken = token;
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, municipality, collection_date, time_slot, access_token, "
+                + "created_at, current_status, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO bulk_items (id, name, weight, volume, booking_id) VALUES (?, ?, ?, ?, ?)",
+                items);
+        jdbcTemplate.batchUpdate("INSERT INTO status_history (id, status, datetime, booking_id) VALUES (?, ?, ?, ?)",
+                history);
+        jdbcTemplate.update("INSERT INTO capacity_ledger (municipality, collection_date, active_bookings) "
+                + "SELECT municipality, collection_date, COUNT(*) FROM bookings GROUP BY municipality, collection_date");
+        jdbcTemplate.update("INSERT INTO booking_aggregates (dimension, dimension_key, booking_count) "
+                + "SELECT 'MUNICIPALITY', municipality, COUNT(*) FROM bookings GROUP BY municipality");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM status_history");
+        jdbcTemplate.update("DELETE FROM bulk_items");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM capacity_ledger");
+        jdbcTemplate.update("DELETE FROM booking_aggregates");
+    }
+
+    Stream<Arguments> hotQueries() {
+        String date = "DATE '" + FIRST_DAY.plusDays(10) + "'";
+        return Stream.of(
+                Arguments.of("BookingRepository.findByAccessToken",
+                        "SELECT * FROM bookings WHERE access_token = CAST('" + knownToken + "' AS UUID)"),
+                Arguments.of("BookingRepository.findByMunicipality",
+                        "SELECT * FROM bookings WHERE municipality = 'Municipality 7'"),
+                Arguments.of("BookingRepository.findByCurrentStatus",
+                        "SELECT * FROM bookings WHERE current_status = 'RECEIVED'"),
+                Arguments.of("BookingRepository.findByMunicipalityAndCurrentStatus",
+                        "SELECT * FROM bookings WHERE municipality = 'Municipality 7' AND current_status = 'RECEIVED'"),
+                Arguments.of("BookingRepository.findByCollectionDate",
+                        "SELECT * FROM bookings WHERE collection_date = " + date),
+                Arguments.of("BookingRepository.findByMunicipalityAndCollectionDate",
+                        "SELECT * FROM bookings WHERE municipality = 'Municipality 7' AND collection_date = " + date),
+                Arguments.of("BookingRepository.countByMunicipalityAndCollectionDateAndCurrentStatusIn",
+                        "SELECT COUNT(id) FROM bookings WHERE municipality = 'Municipality 7' AND collection_date = "
+                                + date + " AND current_status IN ('RECEIVED', 'ASSIGNED', 'IN_PROGRESS')"),
+                Arguments.of("BookingService.getBookingsPage (municipality and status)",
+                        "SELECT * FROM bookings WHERE municipality = 'Municipality 7' AND current_status = 'RECEIVED' "
+                                + "ORDER BY collection_date, id LIMIT 51"),
+                Arguments.of("BulkItemRepository.findByBookingId",
+                        "SELECT * FROM bulk_items WHERE booking_id = 42"),
+                Arguments.of("StatusHistoryRepository.findByBookingIdOrderByDatetimeAsc",
+                        "SELECT * FROM status_history WHERE booking_id = 42 ORDER BY datetime"),
+                Arguments.of("StatusHistoryRepository.findByStatus",
+                        "SELECT * FROM status_history WHERE status = 'CANCELLED'"),
+                Arguments.of("StatusHistoryRepository.findByDatetimeBetween",
+                        "SELECT * FROM status_history WHERE datetime BETWEEN TIMESTAMP '2026-01-01 00:00:00' "
+                                + "AND TIMESTAMP '2026-01-02 00:00:00'"),
+                Arguments.of("CapacityLedgerRepository.findByMunicipalityAndCollectionDate",
+                        "SELECT * FROM capacity_ledger WHERE municipality = 'Municipality 7' AND collection_date = "
+                                + date),
+                Arguments.of("BookingAggregateRepository.addToCount",
+                        "SELECT * FROM booking_aggregates WHERE dimension = 'MUNICIPALITY' "
+                                + "AND dimension_key = 'Municipality 7' AND shard = 3"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    @DisplayName("Hot queries should be served by an index, not a table scan")
+    void testHotQueryUsesIndex(String method, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        assertThat(plan).as("plan of %s", method).doesNotContainIgnoringCase("tableScan");
+    }
+}
@@ -110,4 +110,25 @@ class BookingStateFactoryTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Booking and status cannot be null");
     }
+
+    @Test
+    @DisplayName("Should return the same shared state instance for bookings with the same status")
+    void testStatesAreShared() {
+        // Given
+        Booking first = new Booking("Porto", LocalDate.now().plusDays(3), "morning");
+        Booking second = new Booking("Lisboa", LocalDate.now().plusDays(4), "afternoon");
+
+        // When/Then
+        assertThat(BookingStateFactory.getState(first)).isSameAs(BookingStateFactory.getState(second));
+        assertThat(BookingStateFactory.forStatus(BookingStatus.RECEIVED)).isSameAs(ReceivedState.INSTANCE);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when looking up a null status")
+    void testNullStatusLookup() {
+        // When/Then
+        assertThatThrownBy(() -> BookingStateFactory.forStatus(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Status cannot be null");
+    }
 }
@@ -32,15 +32,11 @@ class BookingStateTransitionsTest {
         BookingState state = BookingStateFactory.getState(booking);
 
         // When
-        switch (action) {
-            case "assign" -> state.assign();
-            case "start" -> state.start();
-            case "complete" -> state.complete();
-            case "cancel" -> state.cancel();
-        }
+        BookingStatus reached = state.apply(transition(action));
 
         // Then
-        assertThat(booking.getCurrentStatus()).isEqualTo(toStatus);
+        assertThat(reached).isEqualTo(toStatus);
+        assertThat(state.allows(transition(action))).isTrue();
     }
 
     /**
@@ -56,14 +52,8 @@ class BookingStateTransitionsTest {
         BookingState state = BookingStateFactory.getState(booking);
 
         // When/Then
-        assertThatThrownBy(() -> {
-            switch (action) {
-                case "assign" -> state.assign();
-                case "start" -> state.start();
-                case "complete" -> state.complete();
-                case "cancel" -> state.cancel();
-            }
-        })
+        assertThat(state.allows(transition(action))).isFalse();
+        assertThatThrownBy(() -> state.apply(transition(action)))
         .isInstanceOf(InvalidStateTransitionException.class)
         .hasMessageContaining("Cannot perform action '" + action + "' in state '" + currentStatus + "'");
     }
@@ -86,6 +76,10 @@ class BookingStateTransitionsTest {
         assertThat(state.getStateName()).isEqualTo(expectedName);
     }
 
+    private static BookingTransition transition(String action) {
+        return BookingTransition.fromAction(action).orElseThrow();
+    }
+
     // ==================== Test Data Providers ====================
 
     /**
@@ -0,0 +1,82 @@
+package tqs.data.state;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import tqs.data.BookingStatus;
+import tqs.data.Booking.Booking;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the BookingTransition table
+ */
+class BookingTransitionTest {
+
+    @Test
+    @DisplayName("Transition table should agree with the state objects for every status and action")
+    void testTableMatchesStatePattern() {
+        for (BookingStatus from : BookingStatus.values()) {
+            for (BookingTransition transition : BookingTransition.values()) {
+                Booking booking = new Booking("Porto", LocalDate.now().plusDays(3), "morning");
+                booking.setCurrentStatus(from);
+
+                boolean allowedByState;
+                try {
+                    apply(booking, transition);
+                    allowedByState = true;
+                } catch (InvalidStateTransitionException e) {
+                    allowedByState = false;
+                }
+
+                assertThat(transition.isAllowedFrom(from))
+                        .as("%s from %s", transition, from)
+                        .isEqualTo(allowedByState);
+                if (allowedByState) {
+                    assertThat(booking.getCurrentStatus()).isEqualTo(transition.getTarget());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the target status for a legal transition")
+    void testApply_Legal() {
+        assertThat(BookingTransition.START.apply(BookingStatus.ASSIGNED)).isEqualTo(BookingStatus.IN_PROGRESS);
+        assertThat(BookingTransition.CANCEL.apply(BookingStatus.IN_PROGRESS)).isEqualTo(BookingStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Should reject an illegal transition with the same error as the state objects")
+    void testApply_Illegal() {
+        assertThatThrownBy(() -> BookingTransition.ASSIGN.apply(BookingStatus.COMPLETED))
+                .isInstanceOf(InvalidStateTransitionException.class)
+                .hasMessage("Cannot perform action 'assign' in state 'COMPLETED'");
+    }
+
+    @Test
+    @DisplayName("Should reuse one pre-built rejection without a stack trace for each illegal move")
+    void testRejectionIsPreallocated() {
+        InvalidStateTransitionException first = catchThrowableOfType(
+                InvalidStateTransitionException.class, () -> BookingTransition.START.apply(BookingStatus.RECEIVED));
+        InvalidStateTransitionException second = catchThrowableOfType(
+                InvalidStateTransitionException.class, () -> BookingTransition.START.apply(BookingStatus.RECEIVED));
+
+        assertThat(first).isSameAs(second);
+        assertThat(first.getStackTrace()).isEmpty();
+        assertThat(BookingStateFactory.forStatus(BookingStatus.RECEIVED).rejection(BookingTransition.START))
+                .isSameAs(first);
+        assertThat(BookingStateFactory.forStatus(BookingStatus.RECEIVED).rejection(BookingTransition.ASSIGN)).isNull();
+    }
+
+    private static void apply(Booking booking, BookingTransition transition) {
+        switch (transition) {
+            case ASSIGN -> booking.assign();
+            case START -> booking.start();
+            case COMPLETE -> booking.complete();
+            case CANCEL -> booking.cancel();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package tqs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import tqs.data.Booking.Booking;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A fresh index per test: the first build changes how later adds are kept
+@DataJpaTest
+@DisplayName("AccessTokenIndex Tests")
+class AccessTokenIndexTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AccessTokenIndex tokenIndex;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        booking = new Booking("Porto", LocalDate.now().plusDays(3), "morning");
+        entityManager.persistAndFlush(booking);
+        tokenIndex = new AccessTokenIndex(jdbcTemplate, transactionManager, true);
+    }
+
+    @Test
+    @DisplayName("Should resolve the tokens of existing bookings once rebuilt")
+    void testRebuild() {
+        assertThat(tokenIndex.isReady()).isFalse();
+
+        tokenIndex.rebuild();
+
+        assertThat(tokenIndex.isReady()).isTrue();
+        assertThat(tokenIndex.find(booking.getAccessToken())).hasValue(booking.getId());
+    }
+
+    @Test
+    @DisplayName("Should find nothing for tokens that were never issued")
+    void testFind_Unknown() {
+        tokenIndex.rebuild();
+
+        assertThat(tokenIndex.find(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep bookings added before the first build")
+    void testAdd_BeforeRebuild() {
+        UUID token = UUID.randomUUID();
+        tokenIndex.add(token, 1_000_000L);
+
+        tokenIndex.rebuild();
+
+        assertThat(tokenIndex.find(token)).hasValue(1_000_000L);
+    }
+
+    @Test
+    @DisplayName("Should keep every added token as the table grows, and no others")
+    void testAdd_Growth() {
+        tokenIndex.rebuild();
+        Map<UUID, Long> added = new HashMap<>();
+        for (long id = 1_000_000; id < 1_010_000; id++) {
+            UUID token = UUID.randomUUID();
+            tokenIndex.add(token, id);
+            added.put(token, id);
+        }
+
+        added.forEach((token, id) -> assertThat(tokenIndex.find(token)).hasValue(id));
+        assertThat(tokenIndex.find(booking.getAccessToken())).hasValue(booking.getId());
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(tokenIndex.find(UUID.randomUUID())).isEmpty();
+        }
+    }
+}
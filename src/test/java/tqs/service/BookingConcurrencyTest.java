@@ -0,0 +1,141 @@
+package tqs.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tqs.data.Booking.Booking;
+import tqs.data.BookingAggregate.BookingAggregate;
+import tqs.data.BulkItem.BulkItem;
+import tqs.data.CapacityLedger.CapacityLedger;
+import tqs.data.CapacityLedger.CapacityLedgerRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs bookings and cancellations for the same municipality and date at the same time
+ * Both take the capacity ledger row and dashboard counter rows, so they must take them in the same order,
+ * and the first bookings for a date race to create its ledger row
+ * Each call commits its own transaction, as in production (no test-managed transaction)
+ */
+@DataJpaTest
+@Import({BookingService.class, AccessTokenIndex.class, BookingValidationService.class, CapacityLedgerService.class,
+        BookingSummaryService.class, BookingMetrics.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Booking Concurrency Tests")
+class BookingConcurrencyTest {
+
+    private static final int ROUNDS = 40;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingSummaryService summaryService;
+
+    @Autowired
+    private CapacityLedgerRepository ledgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate futureDate = LocalDate.now().plusDays(5);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM status_history");
+        jdbcTemplate.update("DELETE FROM bulk_items");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM capacity_ledger");
+        jdbcTemplate.update("DELETE FROM booking_aggregates");
+    }
+
+    @Test
+    @DisplayName("Concurrent create and cancel on the same date should neither deadlock nor lose counts")
+    void testConcurrentCreateAndCancel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Long previous = create().getId();
+            for (int round = 0; round < ROUNDS; round++) {
+                // Each round books a new slot while cancelling the booking from the round before
+                CountDownLatch start = new CountDownLatch(1);
+                Long toCancel = previous;
+                Future<Booking> created = executor.submit(() -> {
+                    start.await();
+                    return create();
+                });
+                Future<Booking> cancelled = executor.submit(() -> {
+                    start.await();
+                    return bookingService.cancelBooking(toCancel);
+                });
+                start.countDown();
+
+                previous = created.get(30, TimeUnit.SECONDS).getId();
+                cancelled.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(activeBookings()).isEqualTo(1);
+        assertThat(summaryService.getSummary())
+                .extracting(BookingAggregate::getDimensionKey, BookingAggregate::getBookingCount)
+                .containsExactlyInAnyOrder(
+                        tuple("RECEIVED", 1L),
+                        tuple("CANCELLED", (long) ROUNDS),
+                        tuple("Porto", ROUNDS + 1L));
+    }
+
+    @Test
+    @DisplayName("Concurrent first bookings for a date should all be admitted against one ledger row")
+    void testConcurrentFirstBookings() throws Exception {
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Booking>> created = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                created.add(executor.submit(() -> {
+                    start.await();
+                    return create();
+                }));
+            }
+            start.countDown();
+            for (Future<Booking> booking : created) {
+                booking.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ledgerRepository.count()).isEqualTo(1);
+        assertThat(activeBookings()).isEqualTo(threads);
+    }
+
+    private int activeBookings() {
+        return ledgerRepository.findByMunicipalityAndCollectionDate("Porto", futureDate)
+                .map(CapacityLedger::getActiveBookings)
+                .orElseThrow();
+    }
+
+    private Booking create() {
+        return bookingService.createBooking("Porto", futureDate, "morning",
+                List.of(new BulkItem("Sofa", "Old sofa", 30.0f, 2.0f)));
+    }
+}
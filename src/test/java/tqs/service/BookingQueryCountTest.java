@@ -0,0 +1,252 @@
+package tqs.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionEventListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import tqs.boundary.controller.StaffController;
+import tqs.boundary.dto.BookingDetailedResponseDTO;
+import tqs.boundary.dto.BookingPageDTO;
+import tqs.boundary.sse.SummaryStreamBroadcaster;
+import tqs.data.Booking.Booking;
+import tqs.data.BookingStatus;
+import tqs.data.BulkItem.BulkItem;
+import tqs.data.StatusHistory.StatusHistory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements issued by BookingService read and transition paths,
+ * so a regression back to table scans or N+1 loading fails the build
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.auto=tqs.service.BookingQueryCountTest$JdbcRoundTrips"})
+@Import({StaffController.class, BookingService.class, AccessTokenIndex.class, BookingValidationService.class,
+        BulkTransitionService.class, CapacityLedgerService.class, BookingSummaryService.class, BookingMetrics.class,
+        SimpleMeterRegistry.class})
+@DisplayName("BookingService Query Count Tests")
+class BookingQueryCountTest {
+
+    private static final int BOOKINGS = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private StaffController staffController;
+
+    // Needs the web layer's ObjectMapper; not part of what this test counts
+    @MockitoBean
+    private SummaryStreamBroadcaster summaryStream;
+
+    private Statistics statistics;
+    private Long targetId;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate date = LocalDate.now().plusDays(5);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking(i % 2 == 0 ? "Porto" : "Lisboa", date, "morning");
+            booking.addBulkItem(new BulkItem("Sofa", "Large sofa", 2.5f, 3.0f));
+            booking.addBulkItem(new BulkItem("Table", "Wooden table", 1.2f, 1.5f));
+            if (i % 3 != 0) {
+                booking.assign();
+            }
+            entityManager.persist(booking);
+            targetId = booking.getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JdbcRoundTrips.clear();
+    }
+
+    @Test
+    @DisplayName("Booking details should load in two statements regardless of table size")
+    void testFindBookingDetails_BoundedQueries() {
+        Booking booking = bookingService.findBookingDetails(targetId).orElseThrow();
+        BookingDetailedResponseDTO dto = BookingDetailedResponseDTO.fromEntity(booking);
+
+        assertThat(dto.getItems()).hasSize(2);
+        assertThat(dto.getStatusHistory()).hasSize(booking.getCurrentStatus() == BookingStatus.ASSIGNED ? 2 : 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Missing booking details should cost a single statement")
+    void testFindBookingDetails_NotFound() {
+        assertThat(bookingService.findBookingDetails(-1L)).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // Each staff listing: one keyset query for the page plus one fetch-join for its items
+
+    @Test
+    @DisplayName("GET /api/staff/bookings should load a page in two statements")
+    void testListAll_TwoStatements() {
+        BookingPageDTO page = staffController.getBookings(null, null, null, 20).getBody();
+
+        assertItemsLoaded(page, 20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /api/staff/bookings/municipality/{m} should load a page in two statements")
+    void testListByMunicipality_TwoStatements() {
+        BookingPageDTO page = staffController.getBookingsByMunicipality("Porto", null, 50).getBody();
+
+        assertItemsLoaded(page, BOOKINGS / 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /api/staff/bookings/status/{s} should load a page in two statements")
+    void testListByStatus_TwoStatements() {
+        BookingPageDTO page = staffController.getBookingsByStatus(BookingStatus.ASSIGNED, null, 50).getBody();
+
+        assertItemsLoaded(page, BOOKINGS * 2 / 3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /api/staff/bookings/municipality/{m}/status/{s} should load a page in two statements")
+    void testListByMunicipalityAndStatus_TwoStatements() {
+        BookingPageDTO page = staffController
+                .getBookingsByMunicipalityAndStatus("Lisboa", BookingStatus.RECEIVED, null, 50).getBody();
+
+        assertItemsLoaded(page, 5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A following page should also cost two statements")
+    void testListNextPage_TwoStatements() {
+        String cursor = staffController.getBookings(null, null, null, 10).getBody().getNextCursor();
+        entityManager.clear();
+        statistics.clear();
+
+        BookingPageDTO page = staffController.getBookings(null, null, cursor, 10).getBody();
+
+        assertItemsLoaded(page, 10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Unpaged lists with history should batch-load collections instead of one query per booking")
+    void testUnpagedListWithHistory_BatchFetch() {
+        var dtos = bookingService.getBookingsByMunicipality("Porto").stream()
+                .map(BookingDetailedResponseDTO::fromEntity)
+                .toList();
+
+        assertThat(dtos).hasSize(BOOKINGS / 2);
+        // bookings + one batch of items + one batch of histories
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("A transition should update the row in place without loading and saving the entity")
+    void testTransition_CompareAndSet() {
+        Long version = entityManager.find(Booking.class, targetId).getVersion();
+        entityManager.clear();
+        statistics.clear();
+
+        Booking cancelled = bookingService.cancelBooking(targetId);
+        entityManager.flush();
+
+        assertThat(cancelled.getCurrentStatus()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(cancelled.getVersion()).isEqualTo(version + 1);
+        // No dirty-checked entity UPDATE, just the conditional one
+        assertThat(statistics.getEntityStatistics(Booking.class.getName()).getUpdateCount()).isZero();
+        assertThat(statistics.getEntityStatistics(StatusHistory.class.getName()).getInsertCount()).isEqualTo(1);
+        assertThat(statistics.getOptimisticFailureCount()).isZero();
+        assertThat(cancelled.getStatusHistories())
+                .extracting(StatusHistory::getStatus)
+                .containsExactly(BookingStatus.RECEIVED, BookingStatus.ASSIGNED, BookingStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Creating a booking should send its 7 inserted rows in one batch per table")
+    void testCreateBooking_BatchedInserts() {
+        LocalDate date = LocalDate.now().plusDays(10);
+        // Warm up: creates the ledger/summary rows and gets every pooled sequence past its initial value
+        bookingService.createBooking("Braga", date, "morning", items(5));
+        bookingService.createBooking("Braga", date, "evening", items(5));
+        entityManager.flush();
+        statistics.clear();
+        JdbcRoundTrips.clear();
+
+        Booking booking = bookingService.createBooking("Braga", date, "afternoon", items(5));
+        entityManager.flush();
+
+        assertThat(booking.getId()).isNotNull();
+        assertThat(statistics.getEntityStatistics(Booking.class.getName()).getInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(BulkItem.class.getName()).getInsertCount()).isEqualTo(5);
+        assertThat(statistics.getEntityStatistics(StatusHistory.class.getName()).getInsertCount()).isEqualTo(1);
+        // booking, its 5 items and its first history row: 3 batches instead of 7 single-row inserts
+        // (a batch holds one table's statement), with no sequence calls inside an allocated block
+        assertThat(JdbcRoundTrips.batches.get()).isEqualTo(3);
+        // ledger check + slot reservation + 2 counter updates, none of them inserts
+        assertThat(JdbcRoundTrips.statements.get()).isEqualTo(4);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+    }
+
+    private void assertItemsLoaded(BookingPageDTO page, int expectedRows) {
+        assertThat(page).isNotNull();
+        assertThat(page.getItems()).hasSize(expectedRows);
+        assertThat(page.getItems()).allSatisfy(b -> assertThat(b.getItems()).hasSize(2));
+    }
+
+    private static List<BulkItem> items(int count) {
+        List<BulkItem> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new BulkItem("Item " + i, "Bulk waste item", 1.0f, 1.0f));
+        }
+        return items;
+    }
+
+    /**
+     * JDBC executions of every session, as Hibernate reports them; a batch is one round trip whatever its size
+     */
+    public static class JdbcRoundTrips implements SessionEventListener {
+        static final AtomicInteger batches = new AtomicInteger();
+        static final AtomicInteger statements = new AtomicInteger();
+
+        static void clear() {
+            batches.set(0);
+            statements.set(0);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batches.incrementAndGet();
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            statements.incrementAndGet();
+        }
+    }
+}
@@ -4,18 +4,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import tqs.data.Booking.Booking;
+import tqs.data.Booking.BookingCursor;
 import tqs.data.Booking.BookingRepository;
+import tqs.data.Booking.BookingStatusSnapshot;
 import tqs.data.BookingStatus;
 import tqs.data.BulkItem.BulkItem;
 import tqs.data.StatusHistory.StatusHistoryRepository;
+import tqs.data.state.BookingTransition;
+import tqs.data.state.InvalidStateTransitionException;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,6 +47,21 @@ class BookingServiceTest {
     @Mock
     private BookingValidationService validationService;
 
+    @Mock
+    private CapacityLedgerService capacityLedgerService;
+
+    @Mock
+    private BookingSummaryService summaryService;
+
+    @Mock
+    private BookingMetrics metrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AccessTokenIndex tokenIndex;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -58,7 +84,7 @@ class BookingServiceTest {
         
         when(validationService.validateBulkItems(items)).thenReturn(true);
         when(validationService.validateBookingDate(futureDate)).thenReturn(true);
-        when(validationService.canAcceptBooking("Porto", futureDate)).thenReturn(true);
+        when(validationService.reserveCapacity("Porto", futureDate)).thenReturn(true);
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
 
         // When
@@ -72,7 +98,11 @@ class BookingServiceTest {
         verify(bookingRepository).save(any(Booking.class));
         verify(validationService).validateBulkItems(items);
         verify(validationService).validateBookingDate(futureDate);
-        verify(validationService).canAcceptBooking("Porto", futureDate);
+        verify(validationService).reserveCapacity("Porto", futureDate);
+        verify(summaryService).recordCreated("Porto");
+        verify(metrics).bookingCreated();
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof AccessTokenIssuedEvent issued
+                && issued.accessToken().equals(testBooking.getAccessToken())));
     }
 
     //Reject booking with no items
@@ -87,6 +117,7 @@ class BookingServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("At least one bulk item is required");
         verify(bookingRepository, never()).save(any());
+        verifyNoInteractions(summaryService);
     }
 
     // Test 2: Create booking with invalid date
@@ -106,6 +137,7 @@ class BookingServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("date");
         verify(bookingRepository, never()).save(any());
+        verifyNoInteractions(summaryService);
     }
 
     // Test 3: Create booking when capacity exceeded
@@ -118,13 +150,16 @@ class BookingServiceTest {
         
         when(validationService.validateBulkItems(items)).thenReturn(true);
         when(validationService.validateBookingDate(futureDate)).thenReturn(true);
-        when(validationService.canAcceptBooking("Porto", futureDate)).thenReturn(false);
+        when(validationService.reserveCapacity("Porto", futureDate)).thenReturn(false);
 
         // When/Then
         assertThatThrownBy(() -> bookingService.createBooking("Porto", futureDate, "morning", items))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("capacity");
         verify(bookingRepository, never()).save(any());
+        verifyNoInteractions(summaryService);
+        verify(metrics).rejectedByCapacity();
+        verify(metrics, never()).bookingCreated();
     }
 
     // Test 5: Find booking by access token
@@ -132,7 +167,7 @@ class BookingServiceTest {
     @DisplayName("Should find booking by access token")
     void testFindByAccessToken_Found() {
         // Given
-        String token = "TEST-TOKEN-123";
+        UUID token = UUID.randomUUID();
         when(bookingRepository.findByAccessToken(token)).thenReturn(Optional.of(testBooking));
 
         // When
@@ -149,14 +184,71 @@ class BookingServiceTest {
     @DisplayName("Should return empty when token not found")
     void testFindByAccessToken_NotFound() {
         // Given
-        when(bookingRepository.findByAccessToken(anyString())).thenReturn(Optional.empty());
+        UUID unknown = UUID.randomUUID();
+        when(bookingRepository.findByAccessToken(any())).thenReturn(Optional.empty());
 
         // When
-        Optional<Booking> found = bookingService.findByAccessToken("INVALID-TOKEN");
+        Optional<Booking> found = bookingService.findByAccessToken(unknown);
 
         // Then
         assertThat(found).isEmpty();
-        verify(bookingRepository).findByAccessToken("INVALID-TOKEN");
+        verify(bookingRepository).findByAccessToken(unknown);
+    }
+
+    @Test
+    @DisplayName("Should resolve a token through the index and load the booking by id")
+    void testFindByAccessToken_ThroughIndex() {
+        UUID token = testBooking.getAccessToken();
+        when(tokenIndex.find(token)).thenReturn(OptionalLong.of(42L));
+        when(bookingRepository.findById(42L)).thenReturn(Optional.of(testBooking));
+
+        Optional<Booking> found = bookingService.findByAccessToken(token);
+
+        assertThat(found).contains(testBooking);
+        verify(bookingRepository, never()).findByAccessToken(any());
+    }
+
+    @Test
+    @DisplayName("Should query by token when the index does not know it, since another instance may have issued it")
+    void testFindByAccessToken_MissFallsBackToQuery() {
+        UUID token = testBooking.getAccessToken();
+        when(tokenIndex.find(token)).thenReturn(OptionalLong.empty());
+        when(bookingRepository.findByAccessToken(token)).thenReturn(Optional.of(testBooking));
+
+        assertThat(bookingService.findByAccessToken(token)).contains(testBooking);
+        verify(bookingRepository, never()).findById(any());
+    }
+
+    // Test: Find booking details by id
+    @Test
+    @DisplayName("Should load booking details with both fetch plans by primary key")
+    void testFindBookingDetails_Found() {
+        // Given
+        when(bookingRepository.findWithBulkItemsById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.findWithStatusHistoriesById(1L)).thenReturn(Optional.of(testBooking));
+
+        // When
+        Optional<Booking> found = bookingService.findBookingDetails(1L);
+
+        // Then
+        assertThat(found).contains(testBooking);
+        verify(bookingRepository).findWithStatusHistoriesById(1L);
+        verify(bookingRepository, never()).findAll();
+    }
+
+    // Test: Find booking details by id - not found
+    @Test
+    @DisplayName("Should return empty details without a second query when id not found")
+    void testFindBookingDetails_NotFound() {
+        // Given
+        when(bookingRepository.findWithBulkItemsById(999L)).thenReturn(Optional.empty());
+
+        // When
+        Optional<Booking> found = bookingService.findBookingDetails(999L);
+
+        // Then
+        assertThat(found).isEmpty();
+        verify(bookingRepository, never()).findWithStatusHistoriesById(any());
     }
 
     // Test 7: Get bookings by municipality
@@ -178,20 +270,26 @@ class BookingServiceTest {
 
     // Test 8: Update booking status - assign
     @Test
-    @DisplayName("Should assign booking successfully")
+    @DisplayName("Should assign booking with a compare-and-set update")
     void testAssignBooking() {
         // Given
         Long bookingId = 1L;
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        stubTransition(bookingId, BookingStatus.RECEIVED, BookingStatus.ASSIGNED);
 
         // When
         Booking updated = bookingService.assignBooking(bookingId);
 
         // Then
         assertThat(updated.getCurrentStatus()).isEqualTo(BookingStatus.ASSIGNED);
-        verify(bookingRepository).findById(bookingId);
-        verify(bookingRepository).save(testBooking);
+        verify(bookingRepository).compareAndSetStatus(bookingId, BookingStatus.RECEIVED, 3L, BookingStatus.ASSIGNED);
+        verify(statusHistoryRepository).save(argThat(h -> h.getStatus() == BookingStatus.ASSIGNED));
+        verify(capacityLedgerService, never()).release(anyString(), any());
+        verify(summaryService).recordTransition(BookingStatus.RECEIVED, BookingStatus.ASSIGNED);
+        verify(metrics).transitionApplied(BookingTransition.ASSIGN);
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof BookingStatusChangedEvent changed
+                && changed.bookingId().equals(bookingId) && changed.status() == BookingStatus.ASSIGNED));
+        verify(bookingRepository, never()).findById(any());
+        verify(bookingRepository, never()).save(any());
     }
 
     // Test 9: Update booking status - start
@@ -200,16 +298,15 @@ class BookingServiceTest {
     void testStartBooking() {
         // Given
         Long bookingId = 1L;
-        testBooking.setCurrentStatus(BookingStatus.ASSIGNED);
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        stubTransition(bookingId, BookingStatus.ASSIGNED, BookingStatus.IN_PROGRESS);
 
         // When
         Booking updated = bookingService.startBooking(bookingId);
 
         // Then
         assertThat(updated.getCurrentStatus()).isEqualTo(BookingStatus.IN_PROGRESS);
-        verify(bookingRepository).save(testBooking);
+        verify(bookingRepository).compareAndSetStatus(bookingId, BookingStatus.ASSIGNED, 3L, BookingStatus.IN_PROGRESS);
+        verify(summaryService).recordTransition(BookingStatus.ASSIGNED, BookingStatus.IN_PROGRESS);
     }
 
     // Test 10: Update booking status - complete
@@ -218,16 +315,15 @@ class BookingServiceTest {
     void testCompleteBooking() {
         // Given
         Long bookingId = 1L;
-        testBooking.setCurrentStatus(BookingStatus.IN_PROGRESS);
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        stubTransition(bookingId, BookingStatus.IN_PROGRESS, BookingStatus.COMPLETED);
 
         // When
         Booking updated = bookingService.completeBooking(bookingId);
 
         // Then
         assertThat(updated.getCurrentStatus()).isEqualTo(BookingStatus.COMPLETED);
-        verify(bookingRepository).save(testBooking);
+        verify(summaryService).recordTransition(BookingStatus.IN_PROGRESS, BookingStatus.COMPLETED);
+        verify(capacityLedgerService).release("Porto", futureDate);
     }
 
     // Test 11: Update booking status - cancel
@@ -236,15 +332,80 @@ class BookingServiceTest {
     void testCancelBooking() {
         // Given
         Long bookingId = 1L;
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(testBooking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        stubTransition(bookingId, BookingStatus.RECEIVED, BookingStatus.CANCELLED);
 
         // When
         Booking updated = bookingService.cancelBooking(bookingId);
 
         // Then
         assertThat(updated.getCurrentStatus()).isEqualTo(BookingStatus.CANCELLED);
-        verify(bookingRepository).save(testBooking);
+        // Ledger row before counter rows, the same order as createBooking
+        InOrder inOrder = inOrder(capacityLedgerService, summaryService);
+        inOrder.verify(capacityLedgerService).release("Porto", futureDate);
+        inOrder.verify(summaryService).recordTransition(BookingStatus.RECEIVED, BookingStatus.CANCELLED);
+    }
+
+    // Test: Cancel by token - single snapshot read keyed on the token
+    @Test
+    @DisplayName("Should cancel booking by access token without a separate lookup")
+    void testCancelBookingByToken() {
+        // Given
+        UUID token = testBooking.getAccessToken();
+        when(bookingRepository.findStatusSnapshotByAccessToken(token))
+                .thenReturn(Optional.of(snapshot(1L, BookingStatus.ASSIGNED)));
+        when(bookingRepository.compareAndSetStatus(1L, BookingStatus.ASSIGNED, 3L, BookingStatus.CANCELLED)).thenReturn(1);
+        testBooking.setCurrentStatus(BookingStatus.CANCELLED);
+        when(bookingRepository.findWithBulkItemsById(1L)).thenReturn(Optional.of(testBooking));
+
+        // When
+        Booking updated = bookingService.cancelBookingByToken(token);
+
+        // Then
+        assertThat(updated.getCurrentStatus()).isEqualTo(BookingStatus.CANCELLED);
+        verify(bookingRepository, never()).findByAccessToken(any());
+        verify(capacityLedgerService).release("Porto", futureDate);
+    }
+
+    // Test: Cancel by token - not found
+    @Test
+    @DisplayName("Should throw exception when cancelling an unknown token")
+    void testCancelBookingByToken_NotFound() {
+        UUID missing = UUID.randomUUID();
+        when(bookingRepository.findStatusSnapshotByAccessToken(missing)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> bookingService.cancelBookingByToken(missing))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Booking not found with token: " + missing);
+    }
+
+    // Test: Illegal transition is rejected from the snapshot, without an update
+    @Test
+    @DisplayName("Should reject an illegal transition without updating the row")
+    void testTransition_Illegal() {
+        // Given
+        when(bookingRepository.findStatusSnapshotById(1L)).thenReturn(Optional.of(snapshot(1L, BookingStatus.COMPLETED)));
+
+        // When/Then
+        assertThatThrownBy(() -> bookingService.cancelBooking(1L))
+                .isInstanceOf(InvalidStateTransitionException.class)
+                .hasMessageContaining("COMPLETED");
+        verify(bookingRepository, never()).compareAndSetStatus(any(), any(), any(), any());
+        verifyNoInteractions(statusHistoryRepository, summaryService, capacityLedgerService, metrics);
+    }
+
+    // Test: Lost compare-and-set race
+    @Test
+    @DisplayName("Should reject a transition that lost a concurrent race")
+    void testTransition_ConcurrentConflict() {
+        // Given - another request moved the booking on after our snapshot was read
+        when(bookingRepository.findStatusSnapshotById(1L)).thenReturn(Optional.of(snapshot(1L, BookingStatus.RECEIVED)));
+        when(bookingRepository.compareAndSetStatus(1L, BookingStatus.RECEIVED, 3L, BookingStatus.ASSIGNED)).thenReturn(0);
+
+        // When/Then
+        assertThatThrownBy(() -> bookingService.assignBooking(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("modified concurrently");
+        verifyNoInteractions(statusHistoryRepository, summaryService, capacityLedgerService, metrics);
     }
 
     // Test 12: Update booking status - not found
@@ -252,13 +413,14 @@ class BookingServiceTest {
     @DisplayName("Should throw exception when booking not found for status update")
     void testUpdateStatus_NotFound() {
         // Given
-        when(bookingRepository.findById(999L)).thenReturn(Optional.empty());
+        when(bookingRepository.findStatusSnapshotById(999L)).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> bookingService.assignBooking(999L))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("not found");
-        verify(bookingRepository, never()).save(any());
+        verify(bookingRepository, never()).compareAndSetStatus(any(), any(), any(), any());
+        verifyNoInteractions(summaryService);
     }
 
     // Test 13: Get bookings by municipality and status
@@ -310,5 +472,54 @@ class BookingServiceTest {
         assertThat(bookings.get(0).getCurrentStatus()).isEqualTo(BookingStatus.RECEIVED);
         verify(bookingRepository).findByCurrentStatus(BookingStatus.RECEIVED);
     }
-    
+
+    // Test 16: Keyset page - size capped and next page detected
+    @Test
+    @DisplayName("Should cap the page size and report a further page")
+    @SuppressWarnings("unchecked")
+    void testGetBookingsPage_CappedSize() {
+        // Given - repository returns the one extra row the service asks for
+        List<Booking> rows = new ArrayList<>();
+        for (int i = 0; i <= BookingService.MAX_PAGE_SIZE; i++) {
+            rows.add(new Booking("Porto", futureDate, "morning"));
+        }
+        when(bookingRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        // When
+        Slice<Booking> page = bookingService.getBookingsPage("Porto", null, null, 10_000);
+
+        // Then
+        assertThat(page.getContent()).hasSize(BookingService.MAX_PAGE_SIZE);
+        assertThat(page.getSize()).isEqualTo(BookingService.MAX_PAGE_SIZE);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    // Test 17: Keyset page - last page
+    @Test
+    @DisplayName("Should report the last page when fewer rows than requested")
+    @SuppressWarnings("unchecked")
+    void testGetBookingsPage_LastPage() {
+        // Given
+        when(bookingRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testBooking));
+
+        // When
+        Slice<Booking> page = bookingService.getBookingsPage(null, BookingStatus.RECEIVED,
+                new BookingCursor(futureDate, 5L), 20);
+
+        // Then
+        assertThat(page.getContent()).containsExactly(testBooking);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    private BookingStatusSnapshot snapshot(Long id, BookingStatus status) {
+        return new BookingStatusSnapshot(id, status, 3L, "Porto", futureDate);
+    }
+
+    // Snapshot in the given status at version 3, a winning update, and the reloaded booking in the target status
+    private void stubTransition(Long bookingId, BookingStatus from, BookingStatus to) {
+        when(bookingRepository.findStatusSnapshotById(bookingId)).thenReturn(Optional.of(snapshot(bookingId, from)));
+        when(bookingRepository.compareAndSetStatus(bookingId, from, 3L, to)).thenReturn(1);
+        testBooking.setCurrentStatus(to);
+        when(bookingRepository.findWithBulkItemsById(bookingId)).thenReturn(Optional.of(testBooking));
+    }
 }
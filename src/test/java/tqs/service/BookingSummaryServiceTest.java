@@ -0,0 +1,161 @@
+package tqs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ConnectionCallback;
+import tqs.data.Booking.BookingRepository;
+import tqs.data.BookingAggregate.AggregateDimension;
+import tqs.data.BookingAggregate.BookingAggregate;
+import tqs.data.BookingAggregate.BookingAggregateRepository;
+import tqs.data.BookingStatus;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingSummaryService Tests")
+class BookingSummaryServiceTest {
+
+    @Mock
+    private BookingAggregateRepository aggregateRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BookingSummaryService summaryService;
+
+    @BeforeEach
+    void setUp() {
+        // One shard, so every update targets shard 0
+        summaryService = new BookingSummaryService(aggregateRepository, bookingRepository, jdbcTemplate,
+                eventPublisher, 1);
+    }
+
+    @Test
+    @DisplayName("Should increment status and municipality counters on creation")
+    void testRecordCreated() {
+        when(aggregateRepository.addToCount(any(), anyString(), anyInt(), anyLong())).thenReturn(1);
+
+        summaryService.recordCreated("Porto");
+
+        verify(aggregateRepository).addToCount(AggregateDimension.STATUS, "RECEIVED", 0, 1);
+        verify(aggregateRepository).addToCount(AggregateDimension.MUNICIPALITY, "Porto", 0, 1);
+        verifyNoInteractions(jdbcTemplate);
+        verify(eventPublisher).publishEvent(new SummaryChangedEvent(AggregateDimension.STATUS, "RECEIVED"));
+        verify(eventPublisher).publishEvent(new SummaryChangedEvent(AggregateDimension.MUNICIPALITY, "Porto"));
+    }
+
+    @Test
+    @DisplayName("Should insert a missing counter shard holding the delta")
+    void testRecordCreated_NewMunicipality() {
+        when(aggregateRepository.addToCount(AggregateDimension.STATUS, "RECEIVED", 0, 1)).thenReturn(1);
+        when(aggregateRepository.addToCount(AggregateDimension.MUNICIPALITY, "Braga", 0, 1)).thenReturn(0);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+
+        summaryService.recordCreated("Braga");
+
+        verify(jdbcTemplate).execute(any(ConnectionCallback.class));
+        verify(aggregateRepository).addToCount(AggregateDimension.MUNICIPALITY, "Braga", 0, 1);
+    }
+
+    @Test
+    @DisplayName("Should add to a counter shard created concurrently by another transaction")
+    void testRecordCreated_ShardCreatedConcurrently() {
+        when(aggregateRepository.addToCount(AggregateDimension.STATUS, "RECEIVED", 0, 1)).thenReturn(1);
+        when(aggregateRepository.addToCount(AggregateDimension.MUNICIPALITY, "Braga", 0, 1)).thenReturn(0, 1);
+        // The insert lost the race: the shard exists now, so the update is retried
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+
+        summaryService.recordCreated("Braga");
+
+        verify(aggregateRepository, times(2)).addToCount(AggregateDimension.MUNICIPALITY, "Braga", 0, 1);
+    }
+
+    @Test
+    @DisplayName("Should move one booking between status counters in a fixed order")
+    void testRecordTransition() {
+        when(aggregateRepository.addToCount(any(), anyString(), anyInt(), anyLong())).thenReturn(1);
+
+        summaryService.recordTransition(BookingStatus.IN_PROGRESS, BookingStatus.ASSIGNED);
+
+        InOrder inOrder = inOrder(aggregateRepository);
+        inOrder.verify(aggregateRepository).addToCount(AggregateDimension.STATUS, "ASSIGNED", 0, 1);
+        inOrder.verify(aggregateRepository).addToCount(AggregateDimension.STATUS, "IN_PROGRESS", 0, -1);
+    }
+
+    @Test
+    @DisplayName("Should ignore transitions that did not change the status")
+    void testRecordTransition_NoChange() {
+        summaryService.recordTransition(BookingStatus.ASSIGNED, BookingStatus.ASSIGNED);
+
+        verifyNoInteractions(aggregateRepository);
+    }
+
+    @Test
+    @DisplayName("Should apply net status deltas in a fixed order, skipping zeros")
+    void testRecordTransitions() {
+        when(aggregateRepository.addToCount(any(), anyString(), anyInt(), anyLong())).thenReturn(1);
+
+        summaryService.recordTransitions(Map.of(
+                BookingStatus.IN_PROGRESS, 3L, BookingStatus.RECEIVED, -5L, BookingStatus.ASSIGNED, 2L,
+                BookingStatus.CANCELLED, 0L));
+
+        InOrder inOrder = inOrder(aggregateRepository);
+        inOrder.verify(aggregateRepository).addToCount(AggregateDimension.STATUS, "RECEIVED", 0, -5);
+        inOrder.verify(aggregateRepository).addToCount(AggregateDimension.STATUS, "ASSIGNED", 0, 2);
+        inOrder.verify(aggregateRepository).addToCount(AggregateDimension.STATUS, "IN_PROGRESS", 0, 3);
+        verify(aggregateRepository, never()).addToCount(AggregateDimension.STATUS, "CANCELLED", 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should rebuild every counter from grouped booking counts")
+    void testRebuild() {
+        when(bookingRepository.countGroupedByStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{BookingStatus.RECEIVED, 3L}, new Object[]{BookingStatus.COMPLETED, 1L}));
+        when(bookingRepository.countGroupedByMunicipality()).thenReturn(List.<Object[]>of(
+                new Object[]{"Porto", 4L}));
+        when(aggregateRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<BookingAggregate> rebuilt = summaryService.rebuild();
+
+        verify(aggregateRepository).deleteAllRows();
+        assertThat(rebuilt).extracting(BookingAggregate::getDimensionKey, BookingAggregate::getBookingCount)
+                .containsExactly(
+                        tuple("RECEIVED", 3L),
+                        tuple("COMPLETED", 1L),
+                        tuple("Porto", 4L));
+        verify(eventPublisher).publishEvent(SummaryChangedEvent.all());
+    }
+
+    @Test
+    @DisplayName("Should rebuild on startup only when bookings exist without aggregates")
+    void testInitializeIfEmpty() {
+        when(aggregateRepository.count()).thenReturn(5L);
+
+        summaryService.initializeIfEmpty();
+
+        verify(aggregateRepository, never()).deleteAllRows();
+    }
+}
@@ -7,13 +7,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import tqs.data.Booking.Booking;
-import tqs.data.Booking.BookingRepository;
 import tqs.data.BulkItem.BulkItem;
-import tqs.data.BookingStatus;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -24,7 +20,7 @@ import static org.mockito.Mockito.*;
 class BookingValidationServiceTest {
 
     @Mock
-    private BookingRepository bookingRepository;
+    private CapacityLedgerService capacityLedgerService;
 
     @InjectMocks
     private BookingValidationService validationService;
@@ -91,110 +87,25 @@ class BookingValidationServiceTest {
         assertThat(result).isTrue();
     }
 
-    // Test 7: Can accept booking - no existing bookings
+    // Test 7: Reserve capacity - slot available
     @Test
-    @DisplayName("Should accept booking when no existing bookings")
-    void testCanAcceptBooking_NoExistingBookings() {
-        when(bookingRepository.findByMunicipality("Porto")).thenReturn(List.of());
-        boolean result = validationService.canAcceptBooking("Porto", futureDate);
-        assertThat(result).isTrue();
-        verify(bookingRepository).findByMunicipality("Porto");
-    }
-
-    // Test 8: Can accept booking - capacity available
-    @Test
-    @DisplayName("Should accept booking when capacity available")
-    void testCanAcceptBooking_CapacityAvailable() {
-        // Given - 5 bookings for the same date (under capacity of 10)
-        List<Booking> existingBookings = new ArrayList<>();
-        for (int i = 0; i < 5; i++) {
-            Booking booking = new Booking("Porto", futureDate, "morning");
-            booking.setCurrentStatus(BookingStatus.RECEIVED);
-            existingBookings.add(booking);
-        }
-        when(bookingRepository.findByMunicipality("Porto")).thenReturn(existingBookings);
-
-        boolean result = validationService.canAcceptBooking("Porto", futureDate);
-        assertThat(result).isTrue();
-    }
-
-    // Test 9: Can accept booking - capacity exceeded
-    @Test
-    @DisplayName("Should reject booking when daily capacity exceeded")
-    void testCanAcceptBooking_CapacityExceeded() {
-        // Given - 10 bookings for the same date (at capacity limit)
-        List<Booking> existingBookings = new ArrayList<>();
-        for (int i = 0; i < 10; i++) {
-            Booking booking = new Booking("Porto", futureDate, "morning");
-            booking.setCurrentStatus(BookingStatus.ASSIGNED);
-            existingBookings.add(booking);
-        }
-        when(bookingRepository.findByMunicipality("Porto")).thenReturn(existingBookings);
-
-        boolean result = validationService.canAcceptBooking("Porto", futureDate);
-        assertThat(result).isFalse();
-        verify(bookingRepository).findByMunicipality("Porto");
-    }
+    @DisplayName("Should reserve capacity against the daily limit")
+    void testReserveCapacity_SlotAvailable() {
+        when(capacityLedgerService.tryReserve("Porto", futureDate, 10)).thenReturn(true);
 
-    // Test 10: Can accept booking - ignore cancelled bookings
-    @Test
-    @DisplayName("Should not count cancelled bookings toward capacity")
-    void testCanAcceptBooking_IgnoreCancelled() {
-        // Given - 8 active bookings + 5 cancelled bookings for same date
-        List<Booking> existingBookings = new ArrayList<>();
-        for (int i = 0; i < 8; i++) {
-            Booking booking = new Booking("Porto", futureDate, "morning");
-            booking.setCurrentStatus(BookingStatus.RECEIVED);
-            existingBookings.add(booking);
-        }
-        for (int i = 0; i < 5; i++) {
-            Booking booking = new Booking("Porto", futureDate, "morning");
-            booking.setCurrentStatus(BookingStatus.CANCELLED);
-            existingBookings.add(booking);
-        }
-        when(bookingRepository.findByMunicipality("Porto")).thenReturn(existingBookings);
-
-        boolean result = validationService.canAcceptBooking("Porto", futureDate);
+        boolean result = validationService.reserveCapacity("Porto", futureDate);
         assertThat(result).isTrue();
+        verify(capacityLedgerService).tryReserve("Porto", futureDate, 10);
     }
 
-    // Test 11: Can accept booking - ignore completed bookings
+    // Test 8: Reserve capacity - date full
     @Test
-    @DisplayName("Should not count completed bookings toward capacity")
-    void testCanAcceptBooking_IgnoreCompleted() {
-        // Given - 9 active bookings + 3 completed bookings for same date
-        List<Booking> existingBookings = new ArrayList<>();
-        for (int i = 0; i < 9; i++) {
-            Booking booking = new Booking("Porto", futureDate, "morning");
-            booking.setCurrentStatus(BookingStatus.IN_PROGRESS);
-            existingBookings.add(booking);
-        }
-        for (int i = 0; i < 3; i++) {
-            Booking booking = new Booking("Porto", futureDate, "morning");
-            booking.setCurrentStatus(BookingStatus.COMPLETED);
-            existingBookings.add(booking);
-        }
-        when(bookingRepository.findByMunicipality("Porto")).thenReturn(existingBookings);
-
-        boolean result = validationService.canAcceptBooking("Porto", futureDate);
-        assertThat(result).isTrue();
-    }
+    @DisplayName("Should refuse reservation when the ledger is full")
+    void testReserveCapacity_Full() {
+        when(capacityLedgerService.tryReserve("Porto", futureDate, 10)).thenReturn(false);
 
-    // Test 12: Can accept booking - only count bookings for same date
-    @Test
-    @DisplayName("Should only count bookings for the same date")
-    void testCanAcceptBooking_OnlySameDate() {
-        // Given - 10 bookings but for different dates
-        List<Booking> existingBookings = new ArrayList<>();
-        for (int i = 0; i < 10; i++) {
-            Booking booking = new Booking("Porto", futureDate.plusDays(i), "morning");
-            booking.setCurrentStatus(BookingStatus.RECEIVED);
-            existingBookings.add(booking);
-        }
-        when(bookingRepository.findByMunicipality("Porto")).thenReturn(existingBookings);
-
-        boolean result = validationService.canAcceptBooking("Porto", futureDate);
-        assertThat(result).isTrue();
+        boolean result = validationService.reserveCapacity("Porto", futureDate);
+        assertThat(result).isFalse();
     }
 
     // Test: Validate bulk items - valid list
@@ -0,0 +1,245 @@
+package tqs.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import tqs.data.Booking.Booking;
+import tqs.data.BookingAggregate.AggregateDimension;
+import tqs.data.BookingAggregate.BookingAggregate;
+import tqs.data.BookingAggregate.BookingAggregateRepository;
+import tqs.data.BookingStatus;
+import tqs.data.CapacityLedger.CapacityLedger;
+import tqs.data.CapacityLedger.CapacityLedgerRepository;
+import tqs.data.StatusHistory.StatusHistory;
+import tqs.data.StatusHistory.StatusHistoryRepository;
+import tqs.service.BulkTransitionService.Command;
+import tqs.service.BulkTransitionService.Result;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Integration tests for BulkTransitionService against the real schema
+ */
+@DataJpaTest
+@Import({BulkTransitionService.class, BookingSummaryService.class, CapacityLedgerService.class, BookingMetrics.class,
+        SimpleMeterRegistry.class})
+@RecordApplicationEvents
+@DisplayName("BulkTransitionService Integration Tests")
+class BulkTransitionServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BulkTransitionService bulkTransitionService;
+
+    @Autowired
+    private StatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private BookingAggregateRepository aggregateRepository;
+
+    @Autowired
+    private CapacityLedgerRepository ledgerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    // Real counters, with a failure injected where a test needs one
+    @MockitoSpyBean
+    private BookingSummaryService summaryService;
+
+    private LocalDate date;
+    private Booking received;
+    private Booking assigned;
+
+    @BeforeEach
+    void setUp() {
+        date = LocalDate.now().plusDays(5);
+        received = entityManager.persist(new Booking("Porto", date, "morning"));
+        assigned = new Booking("Porto", date, "afternoon");
+        assigned.assign();
+        entityManager.persist(assigned);
+        entityManager.persist(new CapacityLedger("Porto", date, 2));
+        entityManager.persist(new BookingAggregate(AggregateDimension.STATUS, "RECEIVED", 1));
+        entityManager.persist(new BookingAggregate(AggregateDimension.STATUS, "ASSIGNED", 1));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should apply each transition and report results in request order")
+    void testApplyAll_Success() {
+        List<Result> results = bulkTransitionService.applyAll(List.of(
+                new Command(received.getId(), "assign"),
+                new Command(assigned.getId(), "start")));
+
+        assertThat(results).extracting(Result::bookingId, Result::status, Result::error)
+                .containsExactly(
+                        tuple(received.getId(), BookingStatus.ASSIGNED, null),
+                        tuple(assigned.getId(), BookingStatus.IN_PROGRESS, null));
+        assertThat(reload(received).getCurrentStatus()).isEqualTo(BookingStatus.ASSIGNED);
+        assertThat(reload(assigned).getCurrentStatus()).isEqualTo(BookingStatus.IN_PROGRESS);
+        assertThat(statusHistoryRepository.findByBookingIdOrderByDatetimeAsc(received.getId()))
+                .extracting(StatusHistory::getStatus)
+                .containsExactly(BookingStatus.RECEIVED, BookingStatus.ASSIGNED);
+        assertThat(meterRegistry.get(BookingMetrics.BOOKING_TRANSITIONS).tag("action", "assign").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get(BookingMetrics.BOOKING_TRANSITIONS).tag("action", "start").counter().count())
+                .isEqualTo(1.0);
+        assertThat(events.stream(BookingStatusChangedEvent.class))
+                .extracting(BookingStatusChangedEvent::bookingId, BookingStatusChangedEvent::status)
+                .containsExactly(
+                        tuple(received.getId(), BookingStatus.ASSIGNED),
+                        tuple(assigned.getId(), BookingStatus.IN_PROGRESS));
+    }
+
+    @Test
+    @DisplayName("Later commands on the same booking should see earlier ones")
+    void testApplyAll_ChainedOnSameBooking() {
+        Long version = reload(received).getVersion();
+
+        List<Result> results = bulkTransitionService.applyAll(List.of(
+                new Command(received.getId(), "assign"),
+                new Command(received.getId(), "start"),
+                new Command(received.getId(), "complete")));
+
+        assertThat(results).allMatch(Result::isSuccess);
+        Booking completed = reload(received);
+        assertThat(completed.getCurrentStatus()).isEqualTo(BookingStatus.COMPLETED);
+        assertThat(completed.getVersion()).isEqualTo(version + 3);
+        assertThat(statusHistoryRepository.findByBookingIdOrderByDatetimeAsc(received.getId())).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Failed items should be reported without affecting the others")
+    void testApplyAll_PerItemFailures() {
+        List<Result> results = bulkTransitionService.applyAll(List.of(
+                new Command(received.getId(), "complete"),
+                new Command(-1L, "assign"),
+                new Command(assigned.getId(), "teleport"),
+                new Command(assigned.getId(), "cancel")));
+
+        assertThat(results).extracting(Result::isSuccess).containsExactly(false, false, false, true);
+        assertThat(results.get(0).error()).isEqualTo("Cannot perform action 'complete' in state 'RECEIVED'");
+        assertThat(results.get(0).status()).isEqualTo(BookingStatus.RECEIVED);
+        assertThat(results.get(1).error()).isEqualTo("Booking not found with id: -1");
+        assertThat(results.get(2).error()).isEqualTo("Unknown action: teleport");
+        assertThat(reload(received).getCurrentStatus()).isEqualTo(BookingStatus.RECEIVED);
+        assertThat(reload(assigned).getCurrentStatus()).isEqualTo(BookingStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Should update dashboard counters and release capacity once per group")
+    void testApplyAll_CountersAndCapacity() {
+        bulkTransitionService.applyAll(List.of(
+                new Command(received.getId(), "cancel"),
+                new Command(assigned.getId(), "cancel")));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(aggregateRepository.findTotalsGreaterThan(0))
+                .extracting(BookingAggregate::getDimensionKey, BookingAggregate::getBookingCount)
+                .containsExactly(tuple("CANCELLED", 2L));
+        assertThat(ledgerRepository.findByMunicipalityAndCollectionDate("Porto", date))
+                .get().extracting(CapacityLedger::getActiveBookings).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should process requests larger than one chunk")
+    void testApplyAll_MultipleChunks() {
+        List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < BulkTransitionService.CHUNK_SIZE + 5; i++) {
+            Booking booking = entityManager.persist(new Booking("Braga", date, "morning"));
+            commands.add(new Command(booking.getId(), "assign"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Result> results = bulkTransitionService.applyAll(commands);
+        entityManager.flush();
+
+        assertThat(results).hasSize(commands.size()).allMatch(Result::isSuccess);
+        assertThat(statusHistoryRepository.findByStatus(BookingStatus.ASSIGNED)).hasSize(commands.size() + 1);
+    }
+
+    @Test
+    @DisplayName("Commands listed out of id order should still apply in request order per booking")
+    void testApplyAll_OutOfIdOrder() {
+        List<Result> results = bulkTransitionService.applyAll(List.of(
+                new Command(assigned.getId(), "start"),
+                new Command(received.getId(), "assign"),
+                new Command(assigned.getId(), "complete"),
+                new Command(received.getId(), "start")));
+
+        assertThat(results).extracting(Result::bookingId, Result::status, Result::error)
+                .containsExactly(
+                        tuple(assigned.getId(), BookingStatus.IN_PROGRESS, null),
+                        tuple(received.getId(), BookingStatus.ASSIGNED, null),
+                        tuple(assigned.getId(), BookingStatus.COMPLETED, null),
+                        tuple(received.getId(), BookingStatus.IN_PROGRESS, null));
+        assertThat(reload(received).getCurrentStatus()).isEqualTo(BookingStatus.IN_PROGRESS);
+        assertThat(reload(assigned).getCurrentStatus()).isEqualTo(BookingStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("A failed chunk should fail only its own items")
+    void testApplyAll_ChunkFailure() {
+        List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < BulkTransitionService.CHUNK_SIZE * 3; i++) {
+            Booking booking = entityManager.persist(new Booking("Braga", date, "morning"));
+            commands.add(new Command(booking.getId(), "assign"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // The second chunk's transaction fails, e.g. chosen as a deadlock victim
+        doCallRealMethod()
+                .doThrow(new CannotAcquireLockException("Deadlock detected"))
+                .doCallRealMethod()
+                .when(summaryService).recordTransitions(anyMap());
+        double assignedBefore = assignCount();
+
+        List<Result> results = bulkTransitionService.applyAll(commands);
+
+        int chunk = BulkTransitionService.CHUNK_SIZE;
+        assertThat(results.subList(0, chunk)).allMatch(Result::isSuccess);
+        assertThat(results.subList(chunk, 2 * chunk)).allSatisfy(result -> {
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.status()).isNull();
+        });
+        assertThat(results.subList(2 * chunk, 3 * chunk)).allMatch(Result::isSuccess);
+        // Only the chunks that committed are counted
+        assertThat(assignCount() - assignedBefore).isEqualTo(2.0 * chunk);
+    }
+
+    private double assignCount() {
+        return meterRegistry.get(BookingMetrics.BOOKING_TRANSITIONS).tag("action", "assign").counter().count();
+    }
+
+    // Flushes what the chunk transaction would have committed, then reads the row back
+    private Booking reload(Booking booking) {
+        entityManager.flush();
+        entityManager.clear();
+        return entityManager.find(Booking.class, booking.getId());
+    }
+}
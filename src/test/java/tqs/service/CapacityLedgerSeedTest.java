@@ -0,0 +1,108 @@
+package tqs.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tqs.data.Booking.Booking;
+import tqs.data.Booking.BookingRepository;
+import tqs.data.BookingStatus;
+import tqs.data.CapacityLedger.CapacityLedger;
+import tqs.data.CapacityLedger.CapacityLedgerRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks which existing bookings count toward capacity when the ledger row is seeded from them
+ * The bookings are committed before the row is seeded, as in production (no test-managed transaction)
+ */
+@DataJpaTest
+@Import({CapacityLedgerService.class, BookingValidationService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Capacity Ledger Seeding Tests")
+class CapacityLedgerSeedTest {
+
+    @Autowired
+    private BookingValidationService validationService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CapacityLedgerRepository ledgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate futureDate = LocalDate.now().plusDays(7);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM capacity_ledger");
+        jdbcTemplate.update("DELETE FROM status_history");
+        jdbcTemplate.update("DELETE FROM bulk_items");
+        jdbcTemplate.update("DELETE FROM bookings");
+    }
+
+    @Test
+    @DisplayName("Should not count cancelled bookings toward capacity")
+    void testIgnoreCancelled() {
+        // Given - 8 active bookings + 5 cancelled bookings for same date
+        seed(futureDate, BookingStatus.RECEIVED, 8);
+        seed(futureDate, BookingStatus.CANCELLED, 5);
+
+        assertThat(validationService.reserveCapacity("Porto", futureDate)).isTrue();
+        assertThat(activeBookings()).isEqualTo(9);
+        assertThat(validationService.reserveCapacity("Porto", futureDate)).isTrue();
+        assertThat(validationService.reserveCapacity("Porto", futureDate)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not count completed bookings toward capacity")
+    void testIgnoreCompleted() {
+        // Given - 9 active bookings + 3 completed bookings for same date
+        seed(futureDate, BookingStatus.IN_PROGRESS, 9);
+        seed(futureDate, BookingStatus.COMPLETED, 3);
+
+        assertThat(validationService.reserveCapacity("Porto", futureDate)).isTrue();
+        assertThat(activeBookings()).isEqualTo(10);
+        assertThat(validationService.reserveCapacity("Porto", futureDate)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should only count bookings for the same date")
+    void testOnlySameDate() {
+        // Given - 10 bookings but for different dates
+        for (int i = 1; i <= 10; i++) {
+            seed(futureDate.plusDays(i), BookingStatus.RECEIVED, 1);
+        }
+
+        assertThat(validationService.reserveCapacity("Porto", futureDate)).isTrue();
+        assertThat(activeBookings()).isEqualTo(1);
+    }
+
+    private void seed(LocalDate date, BookingStatus status, int count) {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Booking booking = new Booking("Porto", date, "morning");
+            booking.setCurrentStatus(status);
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    private int activeBookings() {
+        return ledgerRepository.findByMunicipalityAndCollectionDate("Porto", futureDate)
+                .map(CapacityLedger::getActiveBookings)
+                .orElseThrow();
+    }
+}
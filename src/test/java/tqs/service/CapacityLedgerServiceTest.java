@@ -0,0 +1,96 @@
+package tqs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tqs.data.Booking.BookingRepository;
+import tqs.data.CapacityLedger.CapacityLedgerRepository;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CapacityLedgerService Tests")
+class CapacityLedgerServiceTest {
+
+    @Mock
+    private CapacityLedgerRepository ledgerRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CapacityLedgerService ledgerService;
+    private LocalDate futureDate;
+
+    @BeforeEach
+    void setUp() {
+        ledgerService = new CapacityLedgerService(ledgerRepository, bookingRepository, jdbcTemplate);
+        futureDate = LocalDate.now().plusDays(7);
+    }
+
+    @Test
+    @DisplayName("Should reserve with a single conditional update when the ledger row exists")
+    void testTryReserve_ExistingRow() {
+        when(ledgerRepository.existsByMunicipalityAndCollectionDate("Porto", futureDate)).thenReturn(true);
+        when(ledgerRepository.reserveSlot("Porto", futureDate, 10)).thenReturn(1);
+
+        assertThat(ledgerService.tryReserve("Porto", futureDate, 10)).isTrue();
+        verifyNoInteractions(bookingRepository, jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should refuse reservation when the conditional update matches no row")
+    void testTryReserve_Full() {
+        when(ledgerRepository.existsByMunicipalityAndCollectionDate("Porto", futureDate)).thenReturn(true);
+        when(ledgerRepository.reserveSlot("Porto", futureDate, 10)).thenReturn(0);
+
+        assertThat(ledgerService.tryReserve("Porto", futureDate, 10)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should create the ledger row seeded from existing active bookings")
+    void testTryReserve_SeedsMissingRow() {
+        when(ledgerRepository.existsByMunicipalityAndCollectionDate("Porto", futureDate)).thenReturn(false);
+        when(bookingRepository.countByMunicipalityAndCollectionDateAndCurrentStatusIn(
+                "Porto", futureDate, CapacityLedgerService.ACTIVE_STATUSES)).thenReturn(4L);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(ledgerRepository.reserveSlot("Porto", futureDate, 10)).thenReturn(1);
+
+        assertThat(ledgerService.tryReserve("Porto", futureDate, 10)).isTrue();
+        // Inserted on the caller's connection, not through a second transaction
+        verify(jdbcTemplate).execute(any(ConnectionCallback.class));
+        verify(ledgerRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should tolerate a ledger row created concurrently by another instance")
+    void testTryReserve_ConcurrentCreation() {
+        when(ledgerRepository.existsByMunicipalityAndCollectionDate("Porto", futureDate)).thenReturn(false);
+        // The insert lost the race, so the other instance's row is used
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+        when(ledgerRepository.reserveSlot("Porto", futureDate, 10)).thenReturn(1);
+
+        assertThat(ledgerService.tryReserve("Porto", futureDate, 10)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should release a slot through a conditional update")
+    void testRelease() {
+        when(ledgerRepository.releaseSlot("Porto", futureDate)).thenReturn(1);
+
+        ledgerService.release("Porto", futureDate);
+
+        verify(ledgerRepository).releaseSlot("Porto", futureDate);
+    }
+}
@@ -0,0 +1,116 @@
+package tqs.service;
+
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tqs.service.jfr.BookingTransitionEvent;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FlightRecordingService Tests")
+class FlightRecordingServiceTest {
+
+    private FlightRecordingService recordingService;
+
+    @BeforeEach
+    void setUp() {
+        recordingService = new FlightRecordingService("default", Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        try {
+            recordingService.getCurrent().close();
+        } catch (IllegalArgumentException e) {
+            // Nothing was started
+        }
+    }
+
+    @Test
+    @DisplayName("Should start a named recording")
+    void testStart() {
+        // When
+        Recording recording = recordingService.start();
+
+        // Then
+        assertThat(recording.getState()).isEqualTo(RecordingState.RUNNING);
+        assertThat(recording.getName()).isEqualTo(FlightRecordingService.RECORDING_NAME);
+        assertThat(recordingService.getCurrent()).isSameAs(recording);
+    }
+
+    @Test
+    @DisplayName("Should refuse to start a second recording while one is running")
+    void testStart_AlreadyRunning() {
+        // Given
+        recordingService.start();
+
+        // When/Then
+        assertThatThrownBy(() -> recordingService.start())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already running");
+    }
+
+    @Test
+    @DisplayName("Should stop the recording and allow a new one afterwards")
+    void testStopThenRestart() {
+        // Given
+        Recording first = recordingService.start();
+
+        // When
+        RecordingState afterStop = recordingService.stop().getState();
+        Recording second = recordingService.start();
+
+        // Then
+        assertThat(afterStop).isEqualTo(RecordingState.STOPPED);
+        assertThat(first.getState()).isEqualTo(RecordingState.CLOSED);
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getState()).isEqualTo(RecordingState.RUNNING);
+    }
+
+    @Test
+    @DisplayName("Should dump the domain events recorded so far")
+    void testDump_ContainsDomainEvents() throws Exception {
+        // Given
+        recordingService.start();
+        BookingTransitionEvent event = new BookingTransitionEvent();
+        event.bookingId = 42L;
+        event.from = "RECEIVED";
+        event.to = "ASSIGNED";
+        event.commit();
+
+        // When
+        Path file = recordingService.dump();
+
+        // Then
+        try {
+            List<RecordedEvent> transitions = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("tqs.BookingTransition"))
+                    .toList();
+            assertThat(transitions).hasSize(1);
+            assertThat(transitions.get(0).getLong("bookingId")).isEqualTo(42L);
+            assertThat(transitions.get(0).getString("to")).isEqualTo("ASSIGNED");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a missing recording when nothing was started")
+    void testNoRecording() {
+        assertThatThrownBy(() -> recordingService.stop())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No flight recording");
+        assertThatThrownBy(() -> recordingService.dump())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
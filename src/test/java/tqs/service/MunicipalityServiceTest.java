@@ -1,5 +1,6 @@
 package tqs.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,7 +9,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -22,15 +25,18 @@ class MunicipalityServiceTest {
     private RestTemplate restTemplate;
 
     private MunicipalityService municipalityService;
+    private SimpleMeterRegistry meterRegistry;
 
     private static final String API_URL = "https://json.geoapi.pt/municipios";
+    private static final Duration REFRESH_INTERVAL = Duration.ofHours(6);
     private static final String[] MOCK_MUNICIPALITIES = {
         "Lisboa", "Porto", "Coimbra", "Braga", "Faro", "Aveiro"
     };
 
     @BeforeEach
     void setUp() {
-        municipalityService = new MunicipalityService(restTemplate, API_URL);
+        meterRegistry = new SimpleMeterRegistry();
+        municipalityService = new MunicipalityService(restTemplate, meterRegistry, API_URL, REFRESH_INTERVAL);
     }
 
     @Test
@@ -40,6 +46,7 @@ class MunicipalityServiceTest {
                 .thenReturn(MOCK_MUNICIPALITIES);
 
         // When
+        municipalityService.refreshCatalog();
         List<String> municipalities = municipalityService.getAvailableMunicipalities();
 
         // Then
@@ -55,6 +62,7 @@ class MunicipalityServiceTest {
                 .thenReturn(null);
 
         // When
+        municipalityService.refreshCatalog();
         List<String> municipalities = municipalityService.getAvailableMunicipalities();
 
         // Then
@@ -69,6 +77,7 @@ class MunicipalityServiceTest {
                 .thenReturn(new String[0]);
 
         // When
+        municipalityService.refreshCatalog();
         List<String> municipalities = municipalityService.getAvailableMunicipalities();
 
         // Then
@@ -83,6 +92,7 @@ class MunicipalityServiceTest {
                 .thenThrow(new RestClientException("Network timeout"));
 
         // When
+        municipalityService.refreshCatalog();
         List<String> municipalities = municipalityService.getAvailableMunicipalities();
 
         // Then
@@ -97,6 +107,7 @@ class MunicipalityServiceTest {
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         // When
+        municipalityService.refreshCatalog();
         List<String> municipalities = municipalityService.getAvailableMunicipalities();
 
         // Then - Service should handle all exceptions gracefully
@@ -109,6 +120,7 @@ class MunicipalityServiceTest {
         // Given
         when(restTemplate.getForObject(API_URL, String[].class))
                 .thenReturn(MOCK_MUNICIPALITIES);
+        municipalityService.refreshCatalog();
 
         // When
         boolean isValid = municipalityService.isValidMunicipality("Lisboa");
@@ -122,6 +134,7 @@ class MunicipalityServiceTest {
         // Given
         when(restTemplate.getForObject(API_URL, String[].class))
                 .thenReturn(MOCK_MUNICIPALITIES);
+        municipalityService.refreshCatalog();
 
         // When
         boolean isValid = municipalityService.isValidMunicipality("LISBOA");
@@ -135,6 +148,7 @@ class MunicipalityServiceTest {
         // Given
         when(restTemplate.getForObject(API_URL, String[].class))
                 .thenReturn(MOCK_MUNICIPALITIES);
+        municipalityService.refreshCatalog();
 
         // When
         boolean isValid = municipalityService.isValidMunicipality("  Porto  ");
@@ -148,6 +162,7 @@ class MunicipalityServiceTest {
         // Given
         when(restTemplate.getForObject(API_URL, String[].class))
                 .thenReturn(MOCK_MUNICIPALITIES);
+        municipalityService.refreshCatalog();
 
         // When
         boolean isValid = municipalityService.isValidMunicipality("InvalidCity");
@@ -188,15 +203,88 @@ class MunicipalityServiceTest {
 
     @Test
     void testIsValidMunicipality_ApiFailure_AllowsBooking() {
-        // Given - API fails
+        // Given - API fails, so the catalog was never loaded
         when(restTemplate.getForObject(API_URL, String[].class))
                 .thenThrow(new RestClientException("API unavailable"));
+        municipalityService.refreshCatalog();
 
         // When
         boolean isValid = municipalityService.isValidMunicipality("Lisboa");
 
         // Then - Should return true to allow booking when API is down
         assertThat(isValid).isTrue();
+        verify(restTemplate, times(1)).getForObject(API_URL, String[].class);
+    }
+
+    @Test
+    void testRequestPath_NeverCallsApi() {
+        // When - reads before any background load
+        List<String> municipalities = municipalityService.getAvailableMunicipalities();
+        boolean isValid = municipalityService.isValidMunicipality("Lisboa");
+
+        // Then - nothing blocks on the external API
+        assertThat(municipalities).isEmpty();
+        assertThat(isValid).isTrue();
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testRefreshCatalog_FailureKeepsLastGoodSnapshot() {
+        // Given - one good load, then the API goes down
+        when(restTemplate.getForObject(API_URL, String[].class))
+                .thenReturn(MOCK_MUNICIPALITIES)
+                .thenThrow(new RestClientException("API unavailable"));
+        assertThat(municipalityService.refreshCatalog()).isTrue();
+
+        // When
+        boolean refreshed = municipalityService.refreshCatalog();
+
+        // Then
+        assertThat(refreshed).isFalse();
+        assertThat(municipalityService.getAvailableMunicipalities()).hasSize(6);
+        assertThat(municipalityService.isValidMunicipality("InvalidCity")).isFalse();
+    }
+
+    @Test
+    void testRefreshIfStale_LoadsEmptyCatalog() {
+        // Given
+        when(restTemplate.getForObject(API_URL, String[].class))
+                .thenReturn(MOCK_MUNICIPALITIES);
+
+        // When
+        municipalityService.refreshIfStale();
+
+        // Then
+        assertThat(municipalityService.getAvailableMunicipalities()).hasSize(6);
+    }
+
+    @Test
+    void testRefreshIfStale_SkipsFreshCatalog() {
+        // Given
+        when(restTemplate.getForObject(API_URL, String[].class))
+                .thenReturn(MOCK_MUNICIPALITIES);
+        municipalityService.refreshCatalog();
+
+        // When
+        municipalityService.refreshIfStale();
+
+        // Then - still only the initial load
+        verify(restTemplate, times(1)).getForObject(API_URL, String[].class);
+    }
+
+    @Test
+    void testRefreshIfStale_RefreshesExpiredCatalog() {
+        // Given - refresh interval of zero makes every catalog stale
+        MunicipalityService eagerService = new MunicipalityService(restTemplate, meterRegistry, API_URL, Duration.ZERO);
+        when(restTemplate.getForObject(API_URL, String[].class))
+                .thenReturn(MOCK_MUNICIPALITIES);
+        eagerService.refreshCatalog();
+
+        // When
+        eagerService.refreshIfStale();
+
+        // Then
+        verify(restTemplate, times(2)).getForObject(API_URL, String[].class);
     }
 
     @Test
@@ -212,7 +300,7 @@ class MunicipalityServiceTest {
     void testCustomApiUrl() {
         // Given
         String customUrl = "https://custom.api.com/municipalities";
-        MunicipalityService customService = new MunicipalityService(restTemplate, customUrl);
+        MunicipalityService customService = new MunicipalityService(restTemplate, meterRegistry, customUrl, REFRESH_INTERVAL);
 
         // When
         String url = customService.getApiUrl();
@@ -220,4 +308,132 @@ class MunicipalityServiceTest {
         // Then
         assertThat(url).isEqualTo(customUrl);
     }
+
+    @Test
+    void testResolveMunicipality_FoldsAccentsCaseAndWhitespace() {
+        // Given
+        when(restTemplate.getForObject(API_URL, String[].class))
+                .thenReturn(new String[]{"Setúbal", "Évora", "Vila Nova de Gaia"});
+        municipalityService.refreshCatalog();
+
+        // When / Then - every spelling maps to the canonical name
+        assertThat(municipalityService.resolveMunicipality("Setubal")).contains("Setúbal");
+        assertThat(municipalityService.resolveMunicipality("SETÚBAL")).contains("Setúbal");
+        assertThat(municipalityService.resolveMunicipality("evora")).contains("Évora");
+        assertThat(municipalityService.resolveMunicipality("  vila   nova de\tgaia ")).contains("Vila Nova de Gaia");
+    }
+
+    @Test
+    void testResolveMunicipality_Unknown() {
+        // Given
+        when(restTemplate.getForObject(API_URL, String[].class))
+                .thenReturn(MOCK_MUNICIPALITIES);
+        municipalityService.refreshCatalog();
+
+        // When / Then
+        assertThat(municipalityService.resolveMunicipality("Lisbon")).isEmpty();
+        assertThat(municipalityService.resolveMunicipality("   ")).isEmpty();
+    }
+
+    @Test
+    void testResolveMunicipality_CatalogNotLoaded_ReturnsTrimmedInput() {
+        // When
+        Optional<String> resolved = municipalityService.resolveMunicipality(" Porto ");
+
+        // Then
+        assertThat(resolved).contains("Porto");
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testSuggestMunicipalities_PrefixMatchesInAlphabeticalOrder() {
+        // Given
+        when(restTemplate.getForObject(API_URL, String[].class))
+                .thenReturn(new String[]{"Setúbal", "Sesimbra", "Seixal", "Serpa", "Porto"});
+        municipalityService.refreshCatalog();
+
+        // When
+        List<String> suggestions = municipalityService.suggestMunicipalities("Se", 10);
+
+        // Then
+        assertThat(suggestions).containsExactly("Seixal", "Serpa", "Sesimbra", "Setúbal");
+    }
+
+    @Test
+    void testSuggestMunicipalities_IgnoresAccentsAndRespectsLimit() {
+        // Given
+        when(restTemplate.getForObject(API_URL, String[].class))
+                .thenReturn(new String[]{"Évora", "Espinho", "Esposende", "Estarreja"});
+        municipalityService.refreshCatalog();
+
+        // When / Then
+        assertThat(municipalityService.suggestMunicipalities("ev", 10)).containsExactly("Évora");
+        assertThat(municipalityService.suggestMunicipalities("es", 2)).containsExactly("Espinho", "Esposende");
+    }
+
+    @Test
+    void testSuggestMunicipalities_ToleratesTypos() {
+        // Given
+        when(restTemplate.getForObject(API_URL, String[].class))
+                .thenReturn(MOCK_MUNICIPALITIES);
+        municipalityService.refreshCatalog();
+
+        // When / Then - one substitution, one transposed pair
+        assertThat(municipalityService.suggestMunicipalities("Lisb0", 10)).containsExactly("Lisboa");
+        assertThat(municipalityService.suggestMunicipalities("Coimbar", 10)).containsExactly("Coimbra");
+        // Too short for fuzzy matching
+        assertThat(municipalityService.suggestMunicipalities("Px", 10)).isEmpty();
+    }
+
+    @Test
+    void testSuggestMunicipalities_BlankQuery() {
+        // Given
+        when(restTemplate.getForObject(API_URL, String[].class))
+                .thenReturn(MOCK_MUNICIPALITIES);
+        municipalityService.refreshCatalog();
+
+        // When / Then
+        assertThat(municipalityService.suggestMunicipalities("  ", 10)).isEmpty();
+        assertThat(municipalityService.suggestMunicipalities(null, 10)).isEmpty();
+    }
+
+    @Test
+    void testMetrics_ApiCallsTimedByOutcome() {
+        // Given
+        when(restTemplate.getForObject(API_URL, String[].class))
+                .thenReturn(MOCK_MUNICIPALITIES)
+                .thenThrow(new RestClientException("API down"));
+
+        // When
+        municipalityService.refreshCatalog();
+        municipalityService.refreshCatalog();
+
+        // Then
+        assertThat(meterRegistry.get(MunicipalityService.API_REQUESTS).tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(MunicipalityService.API_REQUESTS).tag("outcome", "failure").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testMetrics_CatalogLookupsCountedAsHitMissOrBypass() {
+        // Given - nothing loaded yet, so the name is accepted unchecked
+        municipalityService.resolveMunicipality("Porto");
+        when(restTemplate.getForObject(API_URL, String[].class)).thenReturn(MOCK_MUNICIPALITIES);
+        municipalityService.refreshCatalog();
+
+        // When
+        municipalityService.resolveMunicipality("porto");
+        municipalityService.resolveMunicipality("Lisboa");
+        municipalityService.resolveMunicipality("Atlantis");
+
+        // Then
+        assertThat(lookups("bypass")).isEqualTo(1.0);
+        assertThat(lookups("hit")).isEqualTo(2.0);
+        assertThat(lookups("miss")).isEqualTo(1.0);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get(MunicipalityService.CATALOG_LOOKUPS).tag("result", result).counter().count();
+    }
 }
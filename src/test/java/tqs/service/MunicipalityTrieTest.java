@@ -0,0 +1,46 @@
+package tqs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MunicipalityTrie Tests")
+class MunicipalityTrieTest {
+
+    private MunicipalityTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        // "liboa" is one insertion away from "lisb"; "lisboa" starts with it
+        trie = new MunicipalityTrie(Map.of(
+                "liboa", "Liboa",
+                "lisboa", "Lisboa",
+                "loures", "Loures",
+                "porto", "Porto"));
+    }
+
+    @Test
+    @DisplayName("Should rank an exact prefix match ahead of an earlier name one edit away")
+    void testWithFuzzyPrefix_ExactPrefixBeatsOneEdit() {
+        assertThat(trie.withFuzzyPrefix("lisb", 1, 1)).containsExactly("Lisboa");
+        assertThat(trie.withFuzzyPrefix("lisb", 1, 10)).containsExactly("Lisboa", "Liboa");
+    }
+
+    @Test
+    @DisplayName("Should rank names by their closest prefix when the query is within the edit limit of every name")
+    void testWithFuzzyPrefix_ShortQuery() {
+        assertThat(trie.withFuzzyPrefix("p", 1, 1)).containsExactly("Porto");
+        assertThat(trie.withFuzzyPrefix("p", 1, 10)).containsExactly("Porto", "Liboa", "Lisboa", "Loures");
+    }
+
+    @Test
+    @DisplayName("Should leave out names with no prefix within the edit limit")
+    void testWithFuzzyPrefix_OutOfReach() {
+        assertThat(trie.withFuzzyPrefix("lou", 1, 10)).containsExactly("Loures");
+        assertThat(trie.withFuzzyPrefix("xyz", 1, 10)).isEmpty();
+    }
+}